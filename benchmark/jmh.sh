@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+# Runs the JMH benchmarks (benchmark/jmh) with the GC profiler and compares them to a saved baseline.
+#
+# Installs the application as a plain jar (not repackaged), builds benchmark/jmh/target/benchmarks.jar,
+# runs it with -prof gc and writes benchmark/jmh/results.json. If benchmark/jmh/baseline.json exists,
+# every benchmark is compared with it on time per operation and allocated bytes per operation
+# (gc.alloc.rate.norm); changes above THRESHOLD percent are flagged and make the script exit 1.
+# Baselines are only comparable on the same machine and JDK.
+#
+# Requirements: JDK 21, Maven, jq.
+#
+# Usage:
+#   ./benchmark/jmh.sh                       # all benchmarks, compare with the baseline
+#   ./benchmark/jmh.sh --save-baseline       # all benchmarks, store the results as the new baseline
+#   ./benchmark/jmh.sh RssBenchmark -p itemsPerTender=20   # any other arguments go to JMH
+#
+# Tunables: THRESHOLD (default 10), MVN (default mvn).
+set -euo pipefail
+
+MVN=${MVN:-mvn}
+THRESHOLD=${THRESHOLD:-10}
+DIR=benchmark/jmh
+RESULTS=${DIR}/results.json
+BASELINE=${DIR}/baseline.json
+
+SAVE_BASELINE=false
+if [[ "${1:-}" == "--save-baseline" ]]; then
+    SAVE_BASELINE=true
+    shift
+fi
+
+command -v jq >/dev/null || { echo "jq not found on PATH" >&2; exit 1; }
+
+"${MVN}" -q -B install -DskipTests -Dspring-boot.repackage.skip=true
+"${MVN}" -q -B -f "${DIR}/pom.xml" package
+
+java -jar "${DIR}/target/benchmarks.jar" -prof gc -rf json -rff "${RESULTS}" "$@"
+
+if [[ "${SAVE_BASELINE}" == true ]]; then
+    cp "${RESULTS}" "${BASELINE}"
+    echo "Baseline saved to ${BASELINE}"
+    exit 0
+fi
+
+if [[ ! -f "${BASELINE}" ]]; then
+    echo "No baseline at ${BASELINE}; run with --save-baseline to create one"
+    exit 0
+fi
+
+echo
+echo "=== Compared with ${BASELINE} (threshold ${THRESHOLD}%) ==="
+jq -r -n --slurpfile base "${BASELINE}" --slurpfile current "${RESULTS}" --argjson threshold "${THRESHOLD}" '
+    def name: (.benchmark | split(".") | .[-2:] | join("."))
+        + (if .params then " [" + (.params | to_entries | map("\(.key)=\(.value)") | join(",")) + "]" else "" end);
+    def alloc: ([.secondaryMetrics | to_entries[] | select(.key | endswith("gc.alloc.rate.norm")) | .value.score] | first);
+    def delta($from; $to): if $from == null or $to == null or $from == 0 then 0 else ($to - $from) * 100 / $from end;
+    def pct: (. * 10 | round / 10 | tostring) + "%";
+
+    ($base[0] | map({key: name, value: {score: .primaryMetric.score, alloc: alloc}}) | from_entries) as $baseline
+    | ["benchmark", "unit", "baseline", "current", "time", "B/op baseline", "B/op current", "alloc", ""],
+      ($current[0][] | name as $name | select($baseline[$name] != null)
+        | $baseline[$name] as $b
+        | delta($b.score; .primaryMetric.score) as $time
+        | delta($b.alloc; alloc) as $allocated
+        | [$name, .primaryMetric.scoreUnit,
+           ($b.score * 100 | round / 100), (.primaryMetric.score * 100 | round / 100), ($time | pct),
+           ($b.alloc // 0 | round), (alloc // 0 | round), ($allocated | pct),
+           (if $time > $threshold or $allocated > $threshold then "REGRESSION" else "" end)])
+    | @tsv' > "${DIR}/comparison.txt"
+
+if command -v column >/dev/null; then
+    column -t -s $'\t' "${DIR}/comparison.txt"
+else
+    cat "${DIR}/comparison.txt"
+fi
+
+if grep -q REGRESSION "${DIR}/comparison.txt"; then
+    exit 1
+fi
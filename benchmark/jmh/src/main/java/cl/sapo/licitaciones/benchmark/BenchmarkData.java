@@ -0,0 +1,119 @@
+package cl.sapo.licitaciones.benchmark;
+
+import cl.sapo.licitaciones.dto.CompradorDTO;
+import cl.sapo.licitaciones.dto.FechasDTO;
+import cl.sapo.licitaciones.dto.ItemDTO;
+import cl.sapo.licitaciones.dto.ItemsContainerDTO;
+import cl.sapo.licitaciones.dto.LicitacionDTO;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic Mercado Publico tenders shaped like the API responses: long Spanish
+ * descriptions with the occasional markup, accented buyer and region names, and
+ * timestamps with 0, 2 or 3 fractional digits. Seeded, so every run sees the same data.
+ */
+public final class BenchmarkData {
+
+    private static final DateTimeFormatter API_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final LocalDateTime BASE = LocalDateTime.now().plusDays(1).withNano(0);
+
+    private static final String[] WORDS = {
+            "adquisición", "servicio", "suministro", "mantención", "reparación", "contratación", "de", "para",
+            "la", "el", "los", "del", "en", "con", "según", "bases", "técnicas", "administrativas", "equipos",
+            "computacionales", "mobiliario", "oficina", "insumos", "médicos", "hospital", "municipalidad",
+            "región", "licitación", "pública", "convenio", "arriendo", "vehículos", "combustible", "alimentación",
+            "escolar", "construcción", "obras", "civiles", "consultoría", "asesoría", "capacitación", "funcionarios",
+            "señalética", "iluminación", "limpieza", "dependencias", "seguridad", "vigilancia", "año", "período",
+            "2025", "unidad", "requirente", "plazo", "entrega", "días", "hábiles", "garantía", "cumplimiento"
+    };
+    private static final String[] MARKUP = {
+            " <b>importante</b>", " & ", " \"según anexo\"", " <br/>", " <script>alert(1)</script>",
+            " <a href='#' onclick=\"x()\">ver</a>", " ]]> "
+    };
+    private static final String[] BUYERS = {
+            "Ilustre Municipalidad de Ñuñoa", "Hospital Clínico Regional de Valdivia", "Servicio de Salud Araucanía Sur",
+            "Junta Nacional de Auxilio Escolar y Becas", "Dirección de Compras y Contratación Pública",
+            "Gobierno Regional del Biobío", "Universidad de Magallanes", "Carabineros de Chile"
+    };
+    private static final String[] REGIONS = {
+            "Región Metropolitana de Santiago", "Región de Valparaíso", "Región del Bío-Bío",
+            "Región de La Araucanía", "Región de Los Lagos", "Región de Antofagasta"
+    };
+    private static final String[] UNITS = {"Unidad", "Caja", "Kilogramo", "Litro", "Global", "Mes"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Tenders with the given number of items each, as the detail endpoint returns them.
+     */
+    public static List<LicitacionDTO> tenders(long seed, int count, int itemsPerTender) {
+        Random random = new Random(seed);
+        List<LicitacionDTO> tenders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tenders.add(tender(random, i, itemsPerTender));
+        }
+        return tenders;
+    }
+
+    public static LicitacionDTO tender(Random random, int index, int itemCount) {
+        List<ItemDTO> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new ItemDTO(
+                    String.valueOf(43000000 + random.nextInt(9_000_000)),
+                    text(random, 3, 8),
+                    text(random, 10, 60),
+                    1 + random.nextInt(500),
+                    UNITS[random.nextInt(UNITS.length)]));
+        }
+        String cierre = timestamp(random, BASE.plusMinutes(random.nextInt(60 * 24 * 60)));
+        String publicacion = timestamp(random, BASE.minusMinutes(random.nextInt(60 * 24 * 30)));
+        return new LicitacionDTO(
+                "1000-" + index + "-LE25",
+                text(random, 6, 16),
+                text(random, 80, 400),
+                5,
+                cierre,
+                publicacion,
+                new FechasDTO(null, cierre, null, null, null, null, null, publicacion,
+                        null, null, null, null, null, null, null, null),
+                new CompradorDTO("6" + random.nextInt(10_000_000) + "-" + random.nextInt(10),
+                        BUYERS[random.nextInt(BUYERS.length)], REGIONS[random.nextInt(REGIONS.length)]),
+                new ItemsContainerDTO(itemCount, items));
+    }
+
+    /**
+     * Timestamps as the API sends them: no fraction, or 2 or 3 millisecond digits.
+     */
+    public static String timestamp(Random random, LocalDateTime time) {
+        String base = time.format(API_FORMAT);
+        return switch (random.nextInt(3)) {
+            case 0 -> base;
+            case 1 -> base + "." + (10 + random.nextInt(90));
+            default -> base + "." + (100 + random.nextInt(900));
+        };
+    }
+
+    /**
+     * Spanish text of min to max words, with markup and XML special characters now and then.
+     */
+    public static String text(Random random, int minWords, int maxWords) {
+        int words = minWords + random.nextInt(maxWords - minWords + 1);
+        StringBuilder text = new StringBuilder(words * 10);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+            if (random.nextInt(40) == 0) {
+                text.append(MARKUP[random.nextInt(MARKUP.length)]);
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package cl.sapo.licitaciones.benchmark;
+
+import cl.sapo.licitaciones.dto.LicitacionDTO;
+import cl.sapo.licitaciones.service.TenderMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tender ingestion work of a sync: close date validation and DTO to entity
+ * mapping (tender plus items). Scores are per tender.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class IngestionBenchmark {
+
+    private static final int TENDERS = 256;
+
+    @Param({"1", "20", "300"})
+    int itemsPerTender;
+
+    private final TenderMapper mapper = new TenderMapper();
+    private List<LicitacionDTO> tenders;
+
+    @Setup
+    public void setUp() {
+        tenders = BenchmarkData.tenders(42, TENDERS, itemsPerTender);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TENDERS)
+    public void isValidTender(Blackhole blackhole) {
+        for (LicitacionDTO tender : tenders) {
+            blackhole.consume(mapper.isValidTender(tender));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TENDERS)
+    public void toEntity(Blackhole blackhole) {
+        for (LicitacionDTO tender : tenders) {
+            blackhole.consume(mapper.toEntity(tender));
+        }
+    }
+
+    /**
+     * What Phase 1 does per listed tender: validate and map in one pass.
+     */
+    @Benchmark
+    @OperationsPerInvocation(TENDERS)
+    public void validateAndMap(Blackhole blackhole) {
+        LocalDateTime now = LocalDateTime.now();
+        for (LicitacionDTO tender : tenders) {
+            blackhole.consume(mapper.toValidEntity(tender, now));
+        }
+    }
+}
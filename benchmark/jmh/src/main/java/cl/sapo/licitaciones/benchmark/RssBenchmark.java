@@ -0,0 +1,73 @@
+package cl.sapo.licitaciones.benchmark;
+
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.service.RssFeedWriter;
+import cl.sapo.licitaciones.service.TenderMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RSS rendering: a whole feed (scored per feed) and the escaping and sanitizing
+ * it applies to every title and description (scored per string).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class RssBenchmark {
+
+    private static final int FEED_SIZE = 50;
+
+    @Param({"1", "20", "300"})
+    int itemsPerTender;
+
+    private final RssFeedWriter writer = new RssFeedWriter();
+    private List<Licitacion> feed;
+    private List<String> titles;
+    private List<String> descriptions;
+
+    @Setup
+    public void setUp() {
+        TenderMapper mapper = new TenderMapper();
+        feed = BenchmarkData.tenders(7, FEED_SIZE, itemsPerTender).stream().map(mapper::toEntity).toList();
+        titles = feed.stream().map(Licitacion::getNombre).toList();
+        descriptions = feed.stream().map(Licitacion::getDescripcion).toList();
+    }
+
+    @Benchmark
+    public String generateRssFeed() {
+        return writer.write(feed, "servicio de limpieza", "Región de Valparaíso", null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FEED_SIZE)
+    public void escapeXml(Blackhole blackhole) {
+        for (String title : titles) {
+            blackhole.consume(writer.escapeXml(title));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FEED_SIZE)
+    public void sanitizeHtml(Blackhole blackhole) {
+        for (String description : descriptions) {
+            blackhole.consume(writer.sanitizeHtml(description));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package cl.sapo.licitaciones.benchmark;
+
+import cl.sapo.licitaciones.service.TenderMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of API timestamps with mixed millisecond precision. Scores are per timestamp.
+ * formatterParse is the previous implementation (substring, then DateTimeFormatter),
+ * kept as a reference for time and gc.alloc.rate.norm.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class TimestampBenchmark {
+
+    private static final int TIMESTAMPS = 1024;
+
+    private static final DateTimeFormatter API_DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final TenderMapper mapper = new TenderMapper();
+    private String[] timestamps;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        timestamps = new String[TIMESTAMPS];
+        for (int i = 0; i < TIMESTAMPS; i++) {
+            timestamps[i] = BenchmarkData.timestamp(random, base.plusMinutes(random.nextInt(100_000)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TIMESTAMPS)
+    public void parseDateTime(Blackhole blackhole) {
+        for (String timestamp : timestamps) {
+            blackhole.consume(mapper.parseDateTime(timestamp));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TIMESTAMPS)
+    public void formatterParse(Blackhole blackhole) {
+        for (String timestamp : timestamps) {
+            String normalized = timestamp.contains(".")
+                    ? timestamp.substring(0, timestamp.indexOf("."))
+                    : timestamp;
+            blackhole.consume(LocalDateTime.parse(normalized, API_DATETIME_FORMATTER));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+// Mixed read traffic at a fixed arrival rate (k6, https://k6.io), driven by benchmark/load-test.sh.
+//
+// Requests start at RATE per second whatever the response times (open model), so a
+// saturated server shows up as growing latencies and dropped_iterations instead of
+// silently lowering the load. Every request is tagged with its endpoint, and the
+// summary reports latency percentiles per endpoint and the achieved throughput.
+//
+// Usage: k6 run -e BASE_URL=http://localhost:8090 -e RATE=100 -e DURATION=2m benchmark/load/read-paths.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8090';
+const RATE = parseInt(__ENV.RATE || '100', 10);
+const DURATION = __ENV.DURATION || '2m';
+
+const QUERIES = ['servicio', 'limpieza', 'equipos computacionales', 'insumos médicos', 'alimentación escolar',
+    'mantención', 'vehículos', 'construcción', 'licencias de software', 'señalética'];
+// Weighted towards the regions that hold most tenders, like real traffic
+const REGIONS = ['metropolitana', 'metropolitana', 'metropolitana', 'valparaiso', 'biobio', 'araucania',
+    'maule', 'los lagos', 'nuble', 'aysen'];
+const PRODUCTS = ['43', '4321', '432115', '42131606', '50', '72'];
+const SORTS = ['close_date', 'creation_date'];
+
+// Share of each kind of request (sums to 1)
+const MIX = [
+    ['page', 0.20, () => '/'],
+    ['search', 0.25, () => `/?q=${encodeURIComponent(pick(QUERIES))}&sortBy=${pick(SORTS)}`],
+    ['region', 0.20, () => `/api/tenders?region=${encodeURIComponent(pick(REGIONS))}&limit=50`],
+    ['product', 0.10, () => `/api/tenders?product=${pick(PRODUCTS)}&limit=50`],
+    ['feed', 0.25, () => `/rss?q=${encodeURIComponent(pick(QUERIES))}&region=${encodeURIComponent(pick(REGIONS))}`],
+];
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'constant-arrival-rate',
+            rate: RATE,
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: Math.max(10, RATE),
+            maxVUs: Math.max(50, RATE * 10),
+        },
+    },
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+    // Thresholds on the tagged sub-metrics make k6 report each endpoint separately
+    thresholds: Object.assign(
+        { http_req_failed: ['rate<0.01'] },
+        ...MIX.map(([name]) => ({
+            [`http_req_duration{endpoint:${name}}`]: ['p(99)<5000'],
+            [`http_reqs{endpoint:${name}}`]: ['count>=0'],
+        })),
+    ),
+};
+
+function pick(values) {
+    return values[Math.floor(Math.random() * values.length)];
+}
+
+export default function () {
+    let r = Math.random();
+    let entry = MIX[MIX.length - 1];
+    for (const candidate of MIX) {
+        r -= candidate[1];
+        if (r < 0) {
+            entry = candidate;
+            break;
+        }
+    }
+    const [name, , path] = entry;
+    const response = http.get(BASE_URL + path(), { tags: { endpoint: name } });
+    check(response, { 'status 200': (res) => res.status === 200 });
+}
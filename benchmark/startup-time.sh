@@ -0,0 +1,118 @@
+#!/usr/bin/env bash
+# Measures how long the application takes to become healthy in each startup mode.
+#
+# Extracts the packaged jar (as the Docker image does), creates a CDS archive with a training run,
+# then starts the application RUNS times per mode and records the time from launch until
+# /actuator/health answers, and the startup time reported by Spring Boot:
+#   default      regular start: Hibernate schema update, partition checks, all beans eager
+#   fast-start   fast-start profile: pre-validated schema, lazy non-critical beans
+#   aot-cds      fast-start profile + Spring AOT bean definitions + CDS archive
+# The default mode runs first and migrates the schema that the fast-start modes assume.
+#
+# Requirements: ./mvnw -Pfast-start package -DskipTests (the AOT mode is skipped for a jar built
+# without the profile), a reachable PostgreSQL, jar (JDK) and curl on PATH.
+#
+# Usage:
+#   SPRING_DATASOURCE_URL=jdbc:postgresql://localhost:5432/licitaciones_db \
+#   MERCADOPUBLICO_API_TICKET=... ./benchmark/startup-time.sh
+#
+# Tunables: RUNS per mode (default 5), PORT (default 8090).
+set -euo pipefail
+
+JAR=${JAR:-$(ls target/licitaciones-sapo-*.jar 2>/dev/null | grep -v original | head -n 1)}
+PORT=${PORT:-8090}
+RUNS=${RUNS:-5}
+WORK_DIR=target/startup
+APP_JAR="${WORK_DIR}/application/app.jar"
+ARCHIVE="${WORK_DIR}/application.jsa"
+
+if [[ -z "${JAR}" || ! -f "${JAR}" ]]; then
+    echo "Application jar not found; run ./mvnw -Pfast-start package -DskipTests first" >&2
+    exit 1
+fi
+
+rm -rf "${WORK_DIR}"
+mkdir -p "${WORK_DIR}"
+java -Djarmode=tools -jar "${JAR}" extract --destination "${WORK_DIR}/application"
+
+aot=false
+if jar tf "${APP_JAR}" | grep -q '__ApplicationContextInitializer'; then
+    aot=true
+    echo "=== Training run for the CDS archive ==="
+    java -XX:ArchiveClassesAtExit="${ARCHIVE}" \
+        -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true \
+        -Dspring.profiles.active=fast-start -Dspring.main.lazy-initialization=false \
+        -Dspring.data.jpa.repositories.bootstrap-mode=default \
+        -jar "${APP_JAR}" >"${WORK_DIR}/training.log" 2>&1
+else
+    echo "Jar built without -Pfast-start: skipping the aot-cds mode" >&2
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# Launches the application once and prints "<ms until healthy> <seconds reported by Spring Boot>"
+start_once() {
+    local log=$1
+    shift
+    local start
+    start=$(now_ms)
+    SERVER_PORT=${PORT} java "$@" >"${log}" 2>&1 &
+    local pid=$!
+    trap 'kill ${pid} 2>/dev/null || true' EXIT
+
+    local healthy=""
+    for _ in $(seq 1 1200); do
+        if curl -fs "http://localhost:${PORT}/actuator/health" >/dev/null; then
+            healthy=$(( $(now_ms) - start ))
+            break
+        fi
+        if ! kill -0 "${pid}" 2>/dev/null; then
+            break
+        fi
+        sleep 0.1
+    done
+
+    kill "${pid}" 2>/dev/null || true
+    wait "${pid}" 2>/dev/null || true
+    trap - EXIT
+
+    if [[ -z "${healthy}" ]]; then
+        echo "Application did not become healthy, see ${log}" >&2
+        return 1
+    fi
+    local reported
+    reported=$(grep -oE 'Started [A-Za-z]+ in [0-9.]+ seconds' "${log}" | grep -oE '[0-9.]+' | head -n 1)
+    echo "${healthy} ${reported:--}"
+}
+
+run_mode() {
+    local mode=$1
+    shift
+    local healthy=()
+    local reported=()
+
+    for run in $(seq 1 "${RUNS}"); do
+        local result
+        result=$(start_once "${WORK_DIR}/${mode}-${run}.log" "$@")
+        read -r ms seconds <<<"${result}"
+        healthy+=("${ms}")
+        reported+=("${seconds}")
+    done
+
+    local sorted
+    sorted=$(printf '%s\n' "${healthy[@]}" | sort -n)
+    printf '%-12s healthy after: min %6s ms, median %6s ms   spring boot: %s s\n' "${mode}" \
+        "$(echo "${sorted}" | head -n 1)" \
+        "$(echo "${sorted}" | sed -n "$(( (RUNS + 1) / 2 ))p")" \
+        "${reported[*]}"
+}
+
+echo "=== ${RUNS} starts per mode ==="
+run_mode default -jar "${APP_JAR}"
+run_mode fast-start -Dspring.profiles.active=fast-start -jar "${APP_JAR}"
+if [[ "${aot}" == true ]]; then
+    run_mode aot-cds -XX:SharedArchiveFile="${ARCHIVE}" -Dspring.aot.enabled=true \
+        -Dspring.profiles.active=fast-start -jar "${APP_JAR}"
+fi
@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# Compares platform thread pools with virtual threads under concurrent read load.
+#
+# Starts the packaged application twice against the same database, once per mode,
+# and runs the same load with `hey` (https://github.com/rakyll/hey) against the
+# read endpoints. The database should already contain synced tenders.
+#
+# Requirements: ./mvnw package -DskipTests, a reachable PostgreSQL, hey on PATH.
+#
+# Usage:
+#   SPRING_DATASOURCE_URL=jdbc:postgresql://localhost:5432/licitaciones_db \
+#   MERCADOPUBLICO_API_TICKET=... ./benchmark/thread-modes.sh
+#
+# Tunables: CONCURRENCY (default 200), REQUESTS per endpoint (default 20000), PORT (default 8090).
+# Set LICITACIONES_READ_MODEL_ENABLED=false to measure the database path instead of the snapshot.
+set -euo pipefail
+
+JAR=${JAR:-$(ls target/licitaciones-sapo-*.jar 2>/dev/null | grep -v original | head -n 1)}
+PORT=${PORT:-8090}
+CONCURRENCY=${CONCURRENCY:-200}
+REQUESTS=${REQUESTS:-20000}
+ENDPOINTS=(
+    "/"
+    "/rss?q=servicio"
+    "/api/tenders?region=metropolitana&limit=50"
+)
+
+if [[ -z "${JAR}" || ! -f "${JAR}" ]]; then
+    echo "Application jar not found; run ./mvnw package -DskipTests first" >&2
+    exit 1
+fi
+command -v hey >/dev/null || { echo "hey not found on PATH" >&2; exit 1; }
+
+wait_for_health() {
+    for _ in $(seq 1 60); do
+        if curl -fs "http://localhost:${PORT}/actuator/health" >/dev/null; then
+            return 0
+        fi
+        sleep 2
+    done
+    echo "Application did not become healthy" >&2
+    return 1
+}
+
+run_mode() {
+    local virtual=$1
+    local log="benchmark/thread-modes-${virtual}.log"
+
+    echo "=== spring.threads.virtual.enabled=${virtual} ==="
+    VIRTUAL_THREADS_ENABLED=${virtual} SERVER_PORT=${PORT} java -jar "${JAR}" >"${log}" 2>&1 &
+    local pid=$!
+    trap 'kill ${pid} 2>/dev/null || true' EXIT
+
+    wait_for_health
+    # Warm-up: JIT, read model, search cache
+    hey -n 2000 -c 20 "http://localhost:${PORT}/" >/dev/null
+
+    for endpoint in "${ENDPOINTS[@]}"; do
+        echo "--- ${endpoint}"
+        hey -n "${REQUESTS}" -c "${CONCURRENCY}" "http://localhost:${PORT}${endpoint}" \
+            | grep -E "Requests/sec|Average|Slowest|99%|Status code distribution|\[[0-9]{3}\]"
+    done
+
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode false
+run_mode true
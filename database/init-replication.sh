@@ -0,0 +1,9 @@
+#!/bin/bash
+# Permite conexiones de replicación (docker-compose.replica.yml)
+# Se ejecuta solo la primera vez que se crea el contenedor
+
+set -e
+
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
+
+echo "✅ Replicación habilitada en pg_hba.conf"
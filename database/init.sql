@@ -20,36 +20,106 @@ CREATE EXTENSION IF NOT EXISTS unaccent;
 
 /*
 CREATE TABLE tenders (
-    external_code VARCHAR(255) PRIMARY KEY NOT NULL,
+    external_code VARCHAR(255) NOT NULL,
     name VARCHAR(500) NOT NULL,
     description TEXT,
     status_code INTEGER NOT NULL,
-    close_date TIMESTAMP,
+    close_date TIMESTAMP NOT NULL,
     publication_date TIMESTAMP,
     region VARCHAR(255),
+    region_id INTEGER,
     buyer_name VARCHAR(500),
     buyer_rut VARCHAR(50),
     created_at TIMESTAMP NOT NULL,
-    updated_at TIMESTAMP
-);
+    updated_at TIMESTAMP,
+    CONSTRAINT pk_tenders PRIMARY KEY (external_code, close_date)
+) PARTITION BY RANGE (close_date);
+
+-- Particiones semanales (lunes a lunes), creadas por TenderPartitionService
+CREATE TABLE tenders_default PARTITION OF tenders DEFAULT;
 
 CREATE TABLE tender_items (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
     product_code VARCHAR(255),
+    product_segment INTEGER,
+    product_family INTEGER,
+    product_class INTEGER,
     product_name VARCHAR(500) NOT NULL,
     description TEXT,
     quantity INTEGER,
     unit_of_measure VARCHAR(100),
     tender_code VARCHAR(255) NOT NULL,
-    FOREIGN KEY (tender_code) REFERENCES tenders(external_code) ON DELETE CASCADE
+    close_date TIMESTAMP NOT NULL,
+    CONSTRAINT pk_tender_items PRIMARY KEY (id, close_date),
+    CONSTRAINT fk_tender_items_tender FOREIGN KEY (tender_code, close_date)
+        REFERENCES tenders (external_code, close_date)
+        ON UPDATE CASCADE ON DELETE CASCADE
+        DEFERRABLE INITIALLY DEFERRED
+) PARTITION BY RANGE (close_date);
+
+CREATE TABLE tender_items_default PARTITION OF tender_items DEFAULT;
+
+CREATE TABLE buyers (
+    rut VARCHAR(50) PRIMARY KEY NOT NULL,
+    name VARCHAR(500),
+    region_id INTEGER,
+    open_tender_count BIGINT NOT NULL,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE subscriptions (
+    id VARCHAR(36) PRIMARY KEY NOT NULL,
+    search_query VARCHAR(200),
+    region VARCHAR(100),
+    product_code VARCHAR(8),
+    created_at TIMESTAMP NOT NULL
 );
 
+CREATE TABLE subscription_matches (
+    id BIGSERIAL PRIMARY KEY,
+    subscription_id VARCHAR(36) NOT NULL,
+    tender_code VARCHAR(255) NOT NULL,
+    matched_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_subscription_match UNIQUE (subscription_id, tender_code)
+);
+
+-- Archivo de licitaciones cerradas (TenderArchiveService), ítems embebidos en JSON
+CREATE SCHEMA IF NOT EXISTS archive;
+
+CREATE TABLE archive.tenders (
+    external_code VARCHAR(255) PRIMARY KEY NOT NULL,
+    name VARCHAR(500) NOT NULL,
+    description TEXT,
+    status_code INTEGER NOT NULL,
+    close_date TIMESTAMP NOT NULL,
+    publication_date TIMESTAMP,
+    region VARCHAR(255),
+    region_id INTEGER,
+    buyer_name VARCHAR(255),
+    buyer_rut VARCHAR(255),
+    items JSONB,
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_archive_close_date ON archive.tenders(close_date);
+CREATE INDEX idx_archive_buyer_rut ON archive.tenders(buyer_rut);
+
 -- Índices para mejorar performance
 CREATE INDEX idx_tender_code ON tenders(external_code);
 CREATE INDEX idx_tender_status ON tenders(status_code);
 CREATE INDEX idx_tender_region ON tenders(region);
+CREATE INDEX idx_tender_region_id ON tenders(region_id);
+CREATE INDEX idx_tender_buyer_rut ON tenders(buyer_rut);
+CREATE INDEX idx_buyer_open_count ON buyers(open_tender_count);
+CREATE INDEX idx_match_subscription_time ON subscription_matches(subscription_id, matched_at);
+CREATE INDEX idx_match_tender_code ON subscription_matches(tender_code);
 CREATE INDEX idx_tender_close_date ON tenders(close_date);
-CREATE INDEX idx_tender_items_tender_code ON tender_items(tender_code);
+CREATE INDEX idx_tender_items_tender_code ON tender_items(tender_code, close_date);
+CREATE INDEX idx_item_product_code ON tender_items(product_code);
+CREATE INDEX idx_item_product_segment ON tender_items(product_segment);
+CREATE INDEX idx_item_product_family ON tender_items(product_family);
+CREATE INDEX idx_item_product_class ON tender_items(product_class);
 
 -- Índices para búsqueda de texto (ILIKE es más eficiente con índices GIN)
 CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -1,13 +1,14 @@
 -- Consultas útiles para análisis y monitoreo
 
--- 1. Contar licitaciones por región
+-- 1. Contar licitaciones por región (region_id = número oficial de la región)
 SELECT 
-    region,
+    region_id,
+    MIN(region) as region,
     COUNT(*) as total_tenders,
     COUNT(DISTINCT EXTRACT(YEAR FROM close_date)) as years
 FROM tenders
 WHERE status_code = 5
-GROUP BY region
+GROUP BY region_id
 ORDER BY total_tenders DESC;
 
 -- 2. Licitaciones próximas a cerrar (próximos 7 días)
@@ -44,16 +45,15 @@ WHERE status_code = 5
 GROUP BY TO_CHAR(publication_date, 'YYYY-MM')
 ORDER BY month DESC;
 
--- 5. Compradores más activos
+-- 5. Compradores más activos (contador mantenido por la sincronización)
 SELECT 
-    buyer_name,
-    COUNT(*) as total_tenders,
-    region
-FROM tenders
-WHERE status_code = 5
-  AND buyer_name IS NOT NULL
-GROUP BY buyer_name, region
-ORDER BY total_tenders DESC
+    rut,
+    name,
+    region_id,
+    open_tender_count
+FROM buyers
+WHERE open_tender_count > 0
+ORDER BY open_tender_count DESC
 LIMIT 20;
 
 -- 6. Búsqueda de texto (ejemplo con ILIKE)
@@ -0,0 +1,27 @@
+package cl.sapo.licitaciones.config;
+
+import cl.sapo.licitaciones.service.ApiTicketPool;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint exposing the API ticket pool at /actuator/apitickets: rotation state,
+ * calls today against the daily quota and error counts per ticket.
+ * Read-only, and tickets are shown by position only (the endpoint is public).
+ */
+@Component
+@Endpoint(id = "apitickets")
+@RequiredArgsConstructor
+public class ApiTicketsEndpoint {
+
+    private final ApiTicketPool apiTicketPool;
+
+    @ReadOperation
+    public List<ApiTicketPool.TicketStatus> tickets() {
+        return apiTicketPool.status();
+    }
+}
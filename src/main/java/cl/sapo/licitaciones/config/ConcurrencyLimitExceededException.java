@@ -0,0 +1,11 @@
+package cl.sapo.licitaciones.config;
+
+/**
+ * Thrown when a guarded resource (database, upstream API) has no permit available in time.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,110 @@
+package cl.sapo.licitaciones.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Explicit concurrency limits for blocking resources.
+ * With virtual threads (spring.threads.virtual.enabled) web requests, @Async methods and
+ * scheduled jobs are no longer bounded by thread pool sizes, so the scarce resources are
+ * guarded by semaphores instead:
+ * - database: one less than the write pool size (at least 1), so batch work never queues
+ *   more connection requests than the pool can serve. The spare connection is for the
+ *   commit listeners that open their own transaction (SubscriptionService matching,
+ *   TenderChangeNotifier) while the committing work still holds its connection. Work
+ *   holding a database permit is routed to the write pool for all its connections
+ *   (ReadWriteRoutingDataSource.onWritePool)
+ * - upstream: concurrent calls to the Mercado Publico API; its rate limit is per ticket, so
+ *   the default is one permit per configured ticket (ApiTicketPool picks the ticket)
+ * Semaphores are fair and work the same on platform threads.
+ */
+@Component
+@Slf4j
+public class ConcurrencyLimits {
+
+    private final Semaphore database;
+    private final Semaphore upstream;
+    private final Duration acquireTimeout;
+
+    public ConcurrencyLimits(
+            @Value("${licitaciones.concurrency.database-permits:0}") int databasePermits,
+            @Value("${licitaciones.datasource.write.hikari.maximum-pool-size:10}") int writePoolSize,
+            @Value("${licitaciones.concurrency.upstream-permits:0}") int upstreamPermits,
+            @Value("${licitaciones.concurrency.acquire-timeout:30s}") Duration acquireTimeout,
+            MercadoPublicoProperties mercadoPublicoProperties) {
+        if (databasePermits <= 0) {
+            databasePermits = Math.max(1, writePoolSize - 1);
+        }
+        if (upstreamPermits <= 0) {
+            upstreamPermits = Math.max(1, mercadoPublicoProperties.getTickets().size());
+        }
+        this.database = new Semaphore(databasePermits, true);
+        this.upstream = new Semaphore(upstreamPermits, true);
+        this.acquireTimeout = acquireTimeout;
+        log.info("Concurrency limits: {} database permits, {} upstream permits", databasePermits, upstreamPermits);
+    }
+
+    /**
+     * Runs a database-bound task on the write pool while holding a database permit.
+     */
+    public <T> T withDatabase(Supplier<T> task) {
+        return call(database, "database", acquireTimeout, () -> ReadWriteRoutingDataSource.onWritePool(task));
+    }
+
+    public void runWithDatabase(Runnable task) {
+        withDatabase(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a call to the Mercado Publico API while holding an upstream permit.
+     */
+    public <T> T withUpstream(Supplier<T> task) {
+        return withUpstream(task, acquireTimeout);
+    }
+
+    /**
+     * Same, waiting at most maxWait for the permit (web requests that can do without the call).
+     */
+    public <T> T withUpstream(Supplier<T> task, Duration maxWait) {
+        return call(upstream, "upstream", maxWait, task);
+    }
+
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public int availableDatabasePermits() {
+        return database.availablePermits();
+    }
+
+    public int availableUpstreamPermits() {
+        return upstream.availablePermits();
+    }
+
+    private <T> T call(Semaphore semaphore, String name, Duration timeout, Supplier<T> task) {
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyLimitExceededException(name + " permit wait interrupted");
+        }
+        if (!acquired) {
+            throw new ConcurrencyLimitExceededException("No " + name + " permit available after " + timeout);
+        }
+        try {
+            return task.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+}
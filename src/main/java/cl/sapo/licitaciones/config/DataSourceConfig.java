@@ -0,0 +1,80 @@
+package cl.sapo.licitaciones.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Two connection pools (bulkheads) on the same database:
+ * - write: SyncService, enrichment, cleanup and every read-write transaction.
+ *   Sized for batch work and allowed to wait for a connection.
+ * - read: read-only transactions and non-transactional reads (web pages, RSS, API).
+ *   Short connection timeout so that an overloaded read side fails fast with a 503
+ *   (GlobalExceptionHandler) instead of queueing behind batch writes.
+ * A burst of feed polls can no longer stall sync, and a long sync can no longer starve page loads.
+ * Each pool is configured under licitaciones.datasource.{read,write}.hikari.* and exposes
+ * its own hikaricp_* metrics (tag pool=read|write).
+ * Optional read replicas (licitaciones.datasource.replica.urls) take over the read side and
+ * reuse the read pool settings (pools replica-1, replica-2...); see ReplicaPool.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("licitaciones.datasource.write.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("write");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("licitaciones.datasource.read.hikari")
+    public HikariDataSource readDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("read");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(ReplicaProperties properties,
+                                   @Qualifier("readDataSource") HikariDataSource readDataSource,
+                                   MeterRegistry meterRegistry) {
+        return new ReplicaPool(properties, readDataSource, meterRegistry);
+    }
+
+    /**
+     * The partitioned tables must exist before Hibernate's schema update looks at them.
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor partitionedTablesBeforeJpa() {
+        return new EntityManagerFactoryDependsOnPostProcessor("tenderPartitionService");
+    }
+
+    /**
+     * The DataSource used by JPA and JdbcTemplate.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource,
+                                 ReplicaPool replicaPool) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaPool);
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.WRITE, writeDataSource,
+                ReadWriteRoutingDataSource.Route.READ, readDataSource));
+        routing.setDefaultTargetDataSource(writeDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -1,8 +1,12 @@
 package cl.sapo.licitaciones.config;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -11,6 +15,8 @@ import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
+import java.sql.SQLTransientConnectionException;
+
 /**
  * Global exception handler to prevent stack trace exposure.
  * Implements secure error handling following DevSecOps best practices.
@@ -41,6 +47,40 @@ public class GlobalExceptionHandler {
         return mav;
     }
 
+    /**
+     * Handles load shedding: the read pool had no free connection within its short
+     * timeout, or a concurrency limit was reached. Answers 503 with Retry-After so
+     * clients (feed readers, API consumers) back off instead of piling up.
+     */
+    @ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class,
+            ConcurrencyLimitExceededException.class})
+    public ModelAndView handleOverload(Exception ex, HttpServletRequest request, HttpServletResponse response) {
+        if (!(ex instanceof ConcurrencyLimitExceededException) && !isConnectionTimeout(ex)) {
+            return handleGenericException(ex, request);
+        }
+
+        log.warn("Shedding request to {}: {}", request.getRequestURI(), ex.getMessage());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+
+        ModelAndView mav = new ModelAndView("error");
+        mav.addObject("errorCode", "503");
+        mav.addObject("errorTitle", "Servicio Sobrecargado");
+        mav.addObject("errorMessage", "El servicio está recibiendo demasiadas solicitudes. Por favor, intente en unos segundos.");
+        mav.addObject("showDetails", false);
+        mav.setStatus(HttpStatus.SERVICE_UNAVAILABLE);
+
+        return mav;
+    }
+
+    private static boolean isConnectionTimeout(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Handles generic unexpected exceptions.
      * Logs full stack trace but returns generic error to user.
@@ -3,6 +3,9 @@ package cl.sapo.licitaciones.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Configuration properties for Mercado Publico API.
  */
@@ -28,4 +31,18 @@ public class MercadoPublicoProperties {
     public void setTicket(String ticket) {
         this.ticket = ticket;
     }
+
+    /**
+     * The ticket property may list several tickets separated by commas (see ApiTicketPool).
+     */
+    public List<String> getTickets() {
+        if (ticket == null) {
+            return List.of();
+        }
+        return Arrays.stream(ticket.split(","))
+                .map(String::trim)
+                .filter(t -> !t.isEmpty())
+                .distinct()
+                .toList();
+    }
 }
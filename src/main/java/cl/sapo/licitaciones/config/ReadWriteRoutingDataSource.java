@@ -0,0 +1,102 @@
+package cl.sapo.licitaciones.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * Routes connections to the read or the write pool.
+ * - Read-write transactions use the write pool.
+ * - Read-only transactions and non-transactional reads use a healthy read replica
+ *   (ReplicaPool), or the primary's read pool when there is none.
+ * - Code running inside onWritePool() always uses the write pool (sync batch work, so that
+ *   its reads never compete with web traffic or get shed by the read pool).
+ * - Code running inside onPrimary() reads from the primary's read pool: reads whose result
+ *   outlives the request (commit hooks, read model, search cache) must not see replica lag.
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction's read-only flag is
+ * only known once the transaction has started, after JPA asked for its connection.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        READ,
+        WRITE
+    }
+
+    private static final ThreadLocal<Boolean> FORCE_WRITE = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final ReplicaPool replicaPool;
+
+    public ReadWriteRoutingDataSource(ReplicaPool replicaPool) {
+        this.replicaPool = replicaPool;
+    }
+
+    /**
+     * Runs a task with every connection it opens routed to the write pool.
+     */
+    public static <T> T onWritePool(Supplier<T> task) {
+        return with(FORCE_WRITE, task);
+    }
+
+    /**
+     * Runs a task with its reads routed to the primary instead of a replica.
+     */
+    public static <T> T onPrimary(Supplier<T> task) {
+        return with(FORCE_PRIMARY, task);
+    }
+
+    private static <T> T with(ThreadLocal<Boolean> flag, Supplier<T> task) {
+        Boolean previous = flag.get();
+        flag.set(Boolean.TRUE);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                flag.remove();
+            } else {
+                flag.set(previous);
+            }
+        }
+    }
+
+    public static Route currentRoute() {
+        if (Boolean.TRUE.equals(FORCE_WRITE.get())) {
+            return Route.WRITE;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.WRITE;
+        }
+        return Route.READ;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection replica = replicaConnection();
+        return replica != null ? replica : super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection replica = replicaConnection();
+        return replica != null ? replica : super.getConnection(username, password);
+    }
+
+    private Connection replicaConnection() {
+        if (replicaPool.isEmpty()
+                || currentRoute() != Route.READ
+                || Boolean.TRUE.equals(FORCE_PRIMARY.get())) {
+            return null;
+        }
+        return replicaPool.getConnection();
+    }
+}
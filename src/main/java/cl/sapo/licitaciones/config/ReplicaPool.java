@@ -0,0 +1,170 @@
+package cl.sapo.licitaciones.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection pools to the read replicas, handed out round-robin among healthy ones.
+ * A background check measures every replica's replay lag; a replica is ejected when it
+ * can't be reached or lags more than max-lag, and rejoins once it is back within bounds.
+ * A replica that fails to give a connection is ejected at once. With no healthy replica,
+ * ReadWriteRoutingDataSource reads from the primary's read pool.
+ * Replicas only join once the application is ready: until then every connection comes from
+ * the primary, so startup work that writes through a non-transactional connection (Hibernate's
+ * ddl-auto schema update) never lands on a read-only standby.
+ */
+@Slf4j
+public class ReplicaPool implements DisposableBean {
+
+    // Zero when the replica has replayed everything it received (an idle primary
+    // would otherwise make pg_last_xact_replay_timestamp() look like growing lag)
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final long maxLagSeconds;
+    private final long healthCheckIntervalMillis;
+    private ScheduledExecutorService healthChecker;
+
+    private static final class Replica {
+        final String name;
+        final HikariDataSource dataSource;
+        volatile boolean healthy;
+        volatile double lagSeconds;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    public ReplicaPool(ReplicaProperties properties, HikariConfig readPoolConfig, MeterRegistry meterRegistry) {
+        this.maxLagSeconds = properties.getMaxLag().toSeconds();
+        this.healthCheckIntervalMillis = properties.getHealthCheckInterval().toMillis();
+
+        for (int i = 0; i < properties.getUrls().size(); i++) {
+            HikariConfig config = new HikariConfig();
+            readPoolConfig.copyStateTo(config);
+            config.setPoolName("replica-" + (i + 1));
+            config.setJdbcUrl(properties.getUrls().get(i));
+            if (properties.getUsername() != null) {
+                config.setUsername(properties.getUsername());
+            }
+            if (properties.getPassword() != null) {
+                config.setPassword(properties.getPassword());
+            }
+            config.setReadOnly(true);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            // Don't fail startup when a replica is down: it is ejected until the health check passes
+            config.setInitializationFailTimeout(-1);
+
+            Replica replica = new Replica(config.getPoolName(), new HikariDataSource(config));
+            replicas.add(replica);
+            Gauge.builder("licitaciones.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("pool", replica.name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("licitaciones.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("pool", replica.name)
+                    .register(meterRegistry);
+        }
+
+        if (!replicas.isEmpty()) {
+            log.info("Read replicas configured: {} (max lag {}s)", replicas.size(), maxLagSeconds);
+        }
+    }
+
+    /**
+     * Starts the health check, which puts replicas in rotation. Replicas start out of rotation.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (replicas.isEmpty() || healthChecker != null) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, healthCheckIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEmpty() {
+        return replicas.isEmpty();
+    }
+
+    /**
+     * Connection from the next healthy replica, or null when none is available.
+     */
+    public Connection getConnection() {
+        int size = replicas.size();
+        for (int attempt = 0; attempt < size; attempt++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), size));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                eject(replica, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                replica.lagSeconds = rs.getDouble(1);
+                if (replica.lagSeconds > maxLagSeconds) {
+                    eject(replica, "replay lag " + Math.round(replica.lagSeconds) + "s");
+                } else if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Replica {} in rotation (lag {}s)", replica.name, Math.round(replica.lagSeconds));
+                }
+            } catch (SQLException | RuntimeException e) {
+                eject(replica, e.getMessage());
+            }
+        }
+    }
+
+    private void eject(Replica replica, String reason) {
+        if (replica.healthy) {
+            log.warn("Replica {} ejected: {}", replica.name, reason);
+        }
+        replica.healthy = false;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+}
@@ -0,0 +1,71 @@
+package cl.sapo.licitaciones.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for read replicas (see ReplicaPool).
+ * Replicas use the read pool settings and, unless set here, the primary's credentials.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "licitaciones.datasource.replica")
+public class ReplicaProperties {
+
+    /**
+     * JDBC URLs of the replicas. Empty: all reads go to the primary.
+     */
+    private List<String> urls = new ArrayList<>();
+    private String username;
+    private String password;
+
+    /**
+     * Replicas whose replay lag exceeds this are not used until they catch up.
+     */
+    private Duration maxLag = Duration.ofSeconds(30);
+
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public Duration getHealthCheckInterval() {
+        return healthCheckInterval;
+    }
+
+    public void setHealthCheckInterval(Duration healthCheckInterval) {
+        this.healthCheckInterval = healthCheckInterval;
+    }
+}
@@ -1,5 +1,6 @@
 package cl.sapo.licitaciones.config;
 
+import cl.sapo.licitaciones.jfr.UpstreamCallRecorder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,12 +15,18 @@ public class RestClientConfig {
     @Value("${mercadopublico.api.base-url}")
     private String baseUrl;
 
+    /**
+     * Built from the auto-configured builder so that every call is recorded in
+     * http.client.requests, tagged by URI template (never the expanded ticket) and status.
+     * Each call is also a JFR event (UpstreamCallRecorder) when a recording is running.
+     */
     @Bean
-    public RestClient mercadoPublicoRestClient() {
-        return RestClient.builder()
+    public RestClient mercadoPublicoRestClient(RestClient.Builder builder) {
+        return builder
                 .baseUrl(baseUrl)
                 .defaultHeader("Accept", "application/json")
                 .defaultHeader("Content-Type", "application/json")
+                .requestInterceptor(new UpstreamCallRecorder())
                 .build();
     }
 }
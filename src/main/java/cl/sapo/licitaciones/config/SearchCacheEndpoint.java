@@ -0,0 +1,37 @@
+package cl.sapo.licitaciones.config;
+
+import cl.sapo.licitaciones.service.SearchResultCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing search cache statistics at /actuator/searchcache.
+ * Read-only: the cache is invalidated by sync commits, not by HTTP calls.
+ */
+@Component
+@Endpoint(id = "searchcache")
+@RequiredArgsConstructor
+public class SearchCacheEndpoint {
+
+    private final SearchResultCache searchResultCache;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        CacheStats stats = searchResultCache.stats();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", searchResultCache.size());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("generation", searchResultCache.currentGeneration());
+        return result;
+    }
+}
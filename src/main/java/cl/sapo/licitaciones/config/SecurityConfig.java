@@ -6,6 +6,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.csrf.CsrfTokenRequestAttributeHandler;
 import org.springframework.security.web.header.writers.XXssProtectionHeaderWriter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -20,16 +21,23 @@ public class SecurityConfig {
 
     /**
      * Main security filter chain configuration.
-     * - CSRF protection enabled for all POST requests
+     * - CSRF protection enabled for all POST/DELETE requests, /api/subscriptions included:
+     *   JSON clients echo the XSRF-TOKEN cookie in the X-XSRF-TOKEN header
      * - Security headers (XSS, Frame Options, CSP)
      * - Public access to RSS and health endpoints
      */
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        // Plain (unmasked) token: the header carries the cookie value as is. No request
+        // attribute name: the token is loaded on every request, so the cookie is always issued
+        CsrfTokenRequestAttributeHandler csrfTokenHandler = new CsrfTokenRequestAttributeHandler();
+        csrfTokenHandler.setCsrfRequestAttributeName(null);
+
         http
             // CSRF Protection with cookie repository
             .csrf(csrf -> csrf
                 .csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse())
+                .csrfTokenRequestHandler(csrfTokenHandler)
                 .ignoringRequestMatchers("/actuator/**") // Actuator endpoints excluded
             )
             
@@ -76,6 +84,11 @@ public class SecurityConfig {
                         .allowedOrigins("*") // RSS feeds are public
                         .allowedMethods("GET", "HEAD")
                         .maxAge(3600);
+
+                registry.addMapping("/rss/subscriptions/**")
+                        .allowedOrigins("*")
+                        .allowedMethods("GET", "HEAD")
+                        .maxAge(3600);
                 
                 // Allow sync endpoint from same origin
                 registry.addMapping("/sync")
@@ -0,0 +1,36 @@
+package cl.sapo.licitaciones.config;
+
+import cl.sapo.licitaciones.service.TenderDumpService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint describing the warm start dump at /actuator/tenderdump: the file currently
+ * on disk and what was loaded from it at startup. Read-only: dumps are written on schedule.
+ */
+@Component
+@Endpoint(id = "tenderdump")
+@RequiredArgsConstructor
+public class TenderDumpEndpoint {
+
+    private final TenderDumpService tenderDumpService;
+
+    @ReadOperation
+    public Map<String, Object> dump() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("path", tenderDumpService.getPath() != null ? tenderDumpService.getPath().toString() : null);
+        try {
+            result.put("file", tenderDumpService.readInfo());
+        } catch (IOException | RuntimeException e) {
+            result.put("error", e.getMessage());
+        }
+        result.put("lastImport", tenderDumpService.getLastImport());
+        return result;
+    }
+}
@@ -0,0 +1,55 @@
+package cl.sapo.licitaciones.controller;
+
+import cl.sapo.licitaciones.dto.ArchivePageDTO;
+import cl.sapo.licitaciones.dto.ArchivedTenderDTO;
+import cl.sapo.licitaciones.entity.LicitacionArchivada;
+import cl.sapo.licitaciones.service.TenderArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * JSON API over the archive of closed tenders.
+ * - GET /api/archive/tenders?from=2025-01-01&to=2025-01-31: tenders closed in a date range (inclusive)
+ * - GET /api/archive/tenders/{code}: lookup by code
+ */
+@RestController
+@RequestMapping("/api/archive/tenders")
+@RequiredArgsConstructor
+public class ArchiveController {
+
+    private final TenderArchiveService tenderArchiveService;
+
+    @GetMapping
+    public ResponseEntity<ArchivePageDTO> search(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+
+        if (to.isBefore(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Slice<LicitacionArchivada> slice = tenderArchiveService.findArchived(from, to, page, size);
+        return ResponseEntity.ok(new ArchivePageDTO(
+                slice.getContent().stream().map(ArchivedTenderDTO::from).toList(),
+                slice.getNumber(),
+                slice.hasNext()));
+    }
+
+    @GetMapping("/{code}")
+    public ResponseEntity<ArchivedTenderDTO> tender(@PathVariable String code) {
+        return tenderArchiveService.findArchived(code)
+                .map(archived -> ResponseEntity.ok(ArchivedTenderDTO.from(archived)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
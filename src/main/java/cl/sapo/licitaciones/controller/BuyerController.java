@@ -0,0 +1,54 @@
+package cl.sapo.licitaciones.controller;
+
+import cl.sapo.licitaciones.dto.BuyerSummaryDTO;
+import cl.sapo.licitaciones.dto.TenderSummaryDTO;
+import cl.sapo.licitaciones.service.CompradorService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * JSON endpoints over the buyer dimension.
+ */
+@RestController
+@RequestMapping("/api/buyers")
+@RequiredArgsConstructor
+@Slf4j
+public class BuyerController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final CompradorService compradorService;
+
+    /**
+     * Buyers ranked by number of open tenders.
+     */
+    @GetMapping
+    public List<BuyerSummaryDTO> topBuyers(@RequestParam(defaultValue = "20") int limit) {
+        int safeLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return compradorService.getTopBuyers(safeLimit);
+    }
+
+    /**
+     * Open tenders of one buyer.
+     */
+    @GetMapping("/{rut}/tenders")
+    public ResponseEntity<List<TenderSummaryDTO>> buyerTenders(@PathVariable String rut) {
+        if (compradorService.getBuyer(rut).isEmpty()) {
+            log.debug("Buyer not found: {}", rut);
+            return ResponseEntity.notFound().build();
+        }
+
+        List<TenderSummaryDTO> tenders = compradorService.getOpenTenders(rut).stream()
+                .map(TenderSummaryDTO::from)
+                .toList();
+        return ResponseEntity.ok(tenders);
+    }
+}
@@ -0,0 +1,59 @@
+package cl.sapo.licitaciones.controller;
+
+import cl.sapo.licitaciones.dto.ProductCategoryDTO;
+import cl.sapo.licitaciones.dto.TenderSummaryDTO;
+import cl.sapo.licitaciones.entity.Unspsc;
+import cl.sapo.licitaciones.service.LicitacionService;
+import cl.sapo.licitaciones.service.ProductCategoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * JSON endpoints over UNSPSC product codes.
+ * A code is a full 8-digit product code or a 2/4/6-digit segment, family or class prefix.
+ */
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductController {
+
+    private final LicitacionService licitacionService;
+    private final ProductCategoryService productCategoryService;
+
+    /**
+     * Category rollup: children of the given prefix (segments when omitted) with tender counts.
+     */
+    @GetMapping("/categories")
+    public ResponseEntity<List<ProductCategoryDTO>> categories(@RequestParam(required = false) String parent) {
+        if (parent != null && !Unspsc.isValidPrefix(parent)) {
+            log.debug("Invalid UNSPSC prefix: {}", parent);
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(productCategoryService.getChildCategories(parent));
+    }
+
+    /**
+     * Published tenders with at least one item under the given code, furthest close date first.
+     */
+    @GetMapping("/{code}/tenders")
+    public ResponseEntity<List<TenderSummaryDTO>> tenders(@PathVariable String code) {
+        if (!Unspsc.isValidPrefix(code)) {
+            log.debug("Invalid UNSPSC code: {}", code);
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<TenderSummaryDTO> tenders = licitacionService.searchTenders(null, null, code, "close_date").stream()
+                .map(TenderSummaryDTO::from)
+                .toList();
+        return ResponseEntity.ok(tenders);
+    }
+}
@@ -0,0 +1,66 @@
+package cl.sapo.licitaciones.controller;
+
+import cl.sapo.licitaciones.dto.SearchRequestDTO;
+import cl.sapo.licitaciones.service.TenderStreamService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events stream of tenders as they are synced, with the same filters as /rss.
+ * Events are named "upserted" (Phase 1) or "enriched" (Phase 2) and carry a TenderSummaryDTO.
+ * Browsers' EventSource resends Last-Event-ID on reconnect to resume from the replay buffer.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class StreamController {
+
+    private final TenderStreamService tenderStreamService;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @Valid @ModelAttribute SearchRequestDTO searchRequest,
+            BindingResult bindingResult,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        if (bindingResult.hasErrors()) {
+            log.warn("Invalid stream parameters: {}", bindingResult.getAllErrors());
+            return ResponseEntity.badRequest().build();
+        }
+
+        SseEmitter emitter = tenderStreamService.subscribe(
+                searchRequest.getQueryOrDefault(),
+                searchRequest.getRegionOrDefault(),
+                searchRequest.getProductOrDefault(),
+                parseEventId(lastEventId));
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok()
+                // Disable proxy buffering (nginx) so events are delivered immediately
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed Last-Event-ID: {}", lastEventId);
+            return null;
+        }
+    }
+}
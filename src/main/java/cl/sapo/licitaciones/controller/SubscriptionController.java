@@ -0,0 +1,86 @@
+package cl.sapo.licitaciones.controller;
+
+import cl.sapo.licitaciones.dto.SubscriptionDTO;
+import cl.sapo.licitaciones.dto.SubscriptionRequestDTO;
+import cl.sapo.licitaciones.dto.TenderSummaryDTO;
+import cl.sapo.licitaciones.entity.Suscripcion;
+import cl.sapo.licitaciones.service.SubscriptionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * JSON endpoints for saved searches. The RSS feed of a subscription is served by RssController.
+ */
+@RestController
+@RequestMapping("/api/subscriptions")
+@RequiredArgsConstructor
+@Slf4j
+public class SubscriptionController {
+
+    private final SubscriptionService subscriptionService;
+
+    @PostMapping
+    public ResponseEntity<SubscriptionDTO> create(@Valid @RequestBody SubscriptionRequestDTO request,
+                                                  BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            log.warn("Invalid subscription request: {}", bindingResult.getAllErrors());
+            return ResponseEntity.badRequest().build();
+        }
+
+        Suscripcion suscripcion = subscriptionService.create(
+                request.getQueryOrDefault(), request.getRegionOrDefault(), request.getProductOrDefault());
+        return ResponseEntity.status(HttpStatus.CREATED).body(toDto(suscripcion));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<SubscriptionDTO> get(@PathVariable String id) {
+        return subscriptionService.getSubscription(id)
+                .map(s -> ResponseEntity.ok(toDto(s)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        return subscriptionService.delete(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Matched tenders of a subscription, most recent match first.
+     */
+    @GetMapping("/{id}/matches")
+    public ResponseEntity<List<TenderSummaryDTO>> matches(@PathVariable String id) {
+        if (subscriptionService.getSubscription(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(subscriptionService.getFeed(id).stream()
+                .map(TenderSummaryDTO::from)
+                .toList());
+    }
+
+    static String feedUrl(String id) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/rss/subscriptions/{id}")
+                .buildAndExpand(id)
+                .toUriString();
+    }
+
+    private SubscriptionDTO toDto(Suscripcion suscripcion) {
+        return SubscriptionDTO.from(suscripcion, feedUrl(suscripcion.getId()));
+    }
+}
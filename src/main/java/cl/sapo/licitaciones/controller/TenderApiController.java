@@ -0,0 +1,148 @@
+package cl.sapo.licitaciones.controller;
+
+import cl.sapo.licitaciones.dto.SearchRequestDTO;
+import cl.sapo.licitaciones.dto.TenderField;
+import cl.sapo.licitaciones.dto.TenderItemDTO;
+import cl.sapo.licitaciones.dto.TenderPageDTO;
+import cl.sapo.licitaciones.service.LicitacionService;
+import cl.sapo.licitaciones.service.TenderCursor;
+import cl.sapo.licitaciones.service.TenderExportService;
+import cl.sapo.licitaciones.service.TenderInterest;
+import cl.sapo.licitaciones.service.TenderPage;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON API over LicitacionService.
+ * - GET /api/tenders: search with cursor pagination (same filters as /rss)
+ * - GET /api/tenders/{code}: lookup by code
+ * - GET /api/tenders/{code}/items: items of a tender
+ * - GET /api/tenders/export: streaming NDJSON or CSV export of all published tenders
+ * The fields= parameter (comma separated) selects the returned fields, e.g. fields=codigoExterno,nombre.
+ */
+@RestController
+@RequestMapping("/api/tenders")
+@RequiredArgsConstructor
+@Slf4j
+public class TenderApiController {
+
+    private static final int MAX_LIMIT = 500;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final LicitacionService licitacionService;
+    private final TenderExportService tenderExportService;
+    private final TenderInterest tenderInterest;
+
+    @GetMapping
+    public ResponseEntity<TenderPageDTO> search(
+            @Valid @ModelAttribute SearchRequestDTO searchRequest,
+            BindingResult bindingResult,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String fields) {
+
+        if (bindingResult.hasErrors()) {
+            log.warn("Invalid API search parameters: {}", bindingResult.getAllErrors());
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<TenderField> selected;
+        TenderCursor after;
+        try {
+            selected = TenderField.parse(fields);
+            after = cursor != null && !cursor.isBlank() ? TenderCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            log.debug("Invalid API search parameters: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        TenderPage page = licitacionService.searchTenderPage(
+                searchRequest.getQueryOrDefault(),
+                searchRequest.getRegionOrDefault(),
+                searchRequest.getProductOrDefault(),
+                searchRequest.getSortByOrDefault(),
+                after,
+                Math.max(1, Math.min(limit, MAX_LIMIT)));
+
+        List<Map<String, Object>> items = page.tenders().stream()
+                .map(tender -> TenderField.project(tender, selected))
+                .toList();
+        String nextCursor = page.nextCursor() != null ? page.nextCursor().encode() : null;
+        return ResponseEntity.ok(new TenderPageDTO(items, nextCursor));
+    }
+
+    @GetMapping("/{code}")
+    public ResponseEntity<Map<String, Object>> tender(@PathVariable String code,
+                                                      @RequestParam(required = false) String fields) {
+        List<TenderField> selected;
+        try {
+            selected = TenderField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return licitacionService.getTenderByCode(code)
+                .map(tender -> {
+                    tenderInterest.recordView(code);
+                    return ResponseEntity.ok(TenderField.project(tender, selected));
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{code}/items")
+    public ResponseEntity<List<TenderItemDTO>> items(@PathVariable String code) {
+        return licitacionService.getTenderByCode(code)
+                .map(tender -> ResponseEntity.ok(tender.getItems().stream().map(TenderItemDTO::from).toList()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Streams every published tender. Defaults to all column fields.
+     *
+     * @param format ndjson (default) or csv
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String fields) {
+
+        TenderExportService.Format exportFormat;
+        List<TenderField> selected;
+        try {
+            exportFormat = TenderExportService.Format.valueOf(format.toUpperCase());
+            selected = fields != null && !fields.isBlank()
+                    ? TenderField.parse(fields)
+                    : Arrays.stream(TenderField.values()).filter(TenderField::isColumn).toList();
+            if (selected.stream().anyMatch(field -> !field.isColumn())) {
+                throw new IllegalArgumentException("items are not available in the export");
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("Invalid export parameters: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        boolean csv = exportFormat == TenderExportService.Format.CSV;
+        StreamingResponseBody body = out -> tenderExportService.export(selected, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"licitaciones." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+}
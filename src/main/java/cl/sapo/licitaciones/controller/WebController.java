@@ -1,9 +1,15 @@
 package cl.sapo.licitaciones.controller;
 
 import cl.sapo.licitaciones.dto.SearchRequestDTO;
+import cl.sapo.licitaciones.dto.SubscriptionRequestDTO;
 import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.entity.Suscripcion;
+import cl.sapo.licitaciones.jfr.RenderEvent;
 import cl.sapo.licitaciones.service.LicitacionService;
+import cl.sapo.licitaciones.service.RegionService;
+import cl.sapo.licitaciones.service.SubscriptionService;
 import cl.sapo.licitaciones.service.SyncService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +34,8 @@ public class WebController {
 
     private final LicitacionService licitacionService;
     private final SyncService syncService;
+    private final RegionService regionService;
+    private final SubscriptionService subscriptionService;
 
     /**
      * Home page with tender list and search form.
@@ -37,7 +45,8 @@ public class WebController {
     public String index(
             @Valid @ModelAttribute SearchRequestDTO searchRequest,
             BindingResult bindingResult,
-            Model model) {
+            Model model,
+            HttpServletRequest request) {
 
         // Handle validation errors
         if (bindingResult.hasErrors()) {
@@ -45,36 +54,42 @@ public class WebController {
             model.addAttribute("tenders", List.of());
             model.addAttribute("searchQuery", "");
             model.addAttribute("searchRegion", "");
+            model.addAttribute("searchProduct", "");
             model.addAttribute("sortBy", "close_date");
             model.addAttribute("rssUrl", "/rss");
             model.addAttribute("totalCount", 0);
+            model.addAttribute("regions", regionService.getRegionCounts());
             model.addAttribute("validationError", "Parámetros de búsqueda inválidos");
             return "index";
         }
 
         String q = searchRequest.getQueryOrDefault();
         String region = searchRequest.getRegionOrDefault();
+        String product = searchRequest.getProductOrDefault();
         String sortBy = searchRequest.getSortByOrDefault();
 
-        log.info("Accessing index page with q='{}', region='{}', sortBy='{}'", q, region, sortBy);
+        log.info("Accessing index page with q='{}', region='{}', product='{}', sortBy='{}'", q, region, product, sortBy);
 
         List<Licitacion> tenders;
 
-        if (q != null || region != null) {
-            tenders = licitacionService.searchTenders(q, region, sortBy);
+        if (q != null || region != null || product != null) {
+            tenders = licitacionService.searchTenders(q, region, product, sortBy);
         } else {
             tenders = licitacionService.getAllTenders(sortBy);
         }
 
         // Build RSS URL
-        String rssUrl = buildRssUrl(q, region);
+        String rssUrl = buildRssUrl(q, region, product);
 
         model.addAttribute("tenders", tenders);
         model.addAttribute("searchQuery", q != null ? q : "");
         model.addAttribute("searchRegion", region != null ? region : "");
+        model.addAttribute("searchProduct", product != null ? product : "");
         model.addAttribute("sortBy", sortBy);
         model.addAttribute("rssUrl", rssUrl);
         model.addAttribute("totalCount", tenders.size());
+        model.addAttribute("regions", regionService.getRegionCounts());
+        request.setAttribute(RenderEvent.ITEMS_ATTRIBUTE, tenders.size());
 
         return "index";
     }
@@ -107,10 +122,48 @@ public class WebController {
         return "redirect:/";
     }
 
+    /**
+     * Saves the current search as a subscription and shows its feed URL.
+     */
+    @PostMapping("/subscriptions")
+    public String createSubscription(
+            @Valid @ModelAttribute SubscriptionRequestDTO subscriptionRequest,
+            BindingResult bindingResult,
+            RedirectAttributes redirectAttributes) {
+
+        String q = subscriptionRequest.getQueryOrDefault();
+        String region = subscriptionRequest.getRegionOrDefault();
+        String product = subscriptionRequest.getProductOrDefault();
+
+        if (bindingResult.hasErrors()) {
+            log.warn("Validation errors in subscription request: {}", bindingResult.getAllErrors());
+            redirectAttributes.addFlashAttribute("message", "No se pudo guardar la búsqueda: parámetros inválidos");
+            redirectAttributes.addFlashAttribute("messageType", "error");
+            return "redirect:/";
+        }
+
+        Suscripcion suscripcion = subscriptionService.create(q, region, product);
+        redirectAttributes.addFlashAttribute("message",
+                "Búsqueda guardada. Feed RSS: " + SubscriptionController.feedUrl(suscripcion.getId()));
+        redirectAttributes.addFlashAttribute("messageType", "info");
+
+        // Back to the same search
+        if (q != null) {
+            redirectAttributes.addAttribute("q", q);
+        }
+        if (region != null) {
+            redirectAttributes.addAttribute("region", region);
+        }
+        if (product != null) {
+            redirectAttributes.addAttribute("product", product);
+        }
+        return "redirect:/";
+    }
+
     /**
      * Builds RSS feed URL with current filters.
      */
-    private String buildRssUrl(String query, String region) {
+    private String buildRssUrl(String query, String region, String product) {
         var builder = ServletUriComponentsBuilder.fromCurrentContextPath()
                 .path("/rss");
 
@@ -122,6 +175,10 @@ public class WebController {
             builder.queryParam("region", region);
         }
 
+        if (product != null && !product.isBlank()) {
+            builder.queryParam("product", product);
+        }
+
         return builder.toUriString();
     }
 }
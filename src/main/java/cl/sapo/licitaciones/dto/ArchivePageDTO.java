@@ -0,0 +1,17 @@
+package cl.sapo.licitaciones.dto;
+
+import java.util.List;
+
+/**
+ * One page of archived tenders.
+ *
+ * @param items   Archived tenders, oldest close date first
+ * @param page    Page number (0-based)
+ * @param hasNext Whether a further page exists
+ */
+public record ArchivePageDTO(
+        List<ArchivedTenderDTO> items,
+        int page,
+        boolean hasNext
+) {
+}
@@ -0,0 +1,36 @@
+package cl.sapo.licitaciones.dto;
+
+import cl.sapo.licitaciones.entity.LicitacionArchivada;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JSON view of an archived (closed) tender with its items.
+ */
+public record ArchivedTenderDTO(
+        String codigoExterno,
+        String nombre,
+        String descripcion,
+        LocalDateTime fechaCierre,
+        LocalDateTime fechaPublicacion,
+        String region,
+        String buyerName,
+        String buyerRut,
+        LocalDateTime archivedAt,
+        List<TenderItemDTO> items
+) {
+    public static ArchivedTenderDTO from(LicitacionArchivada archived) {
+        return new ArchivedTenderDTO(
+                archived.getCodigoExterno(),
+                archived.getNombre(),
+                archived.getDescripcion(),
+                archived.getFechaCierre(),
+                archived.getFechaPublicacion(),
+                archived.getRegion(),
+                archived.getBuyerName(),
+                archived.getBuyerRut(),
+                archived.getArchivedAt(),
+                archived.getItems());
+    }
+}
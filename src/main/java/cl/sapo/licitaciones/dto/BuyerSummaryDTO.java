@@ -0,0 +1,22 @@
+package cl.sapo.licitaciones.dto;
+
+import cl.sapo.licitaciones.entity.Comprador;
+import cl.sapo.licitaciones.entity.Region;
+
+/**
+ * Buyer entry for the buyer ranking endpoint.
+ */
+public record BuyerSummaryDTO(
+        String rut,
+        String nombre,
+        String region,
+        long openTenderCount
+) {
+    public static BuyerSummaryDTO from(Comprador comprador) {
+        return new BuyerSummaryDTO(
+                comprador.getRut(),
+                comprador.getNombre(),
+                Region.fromId(comprador.getRegionId()).map(Region::getNombre).orElse(null),
+                comprador.getOpenTenderCount());
+    }
+}
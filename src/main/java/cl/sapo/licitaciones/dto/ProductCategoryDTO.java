@@ -0,0 +1,9 @@
+package cl.sapo.licitaciones.dto;
+
+import cl.sapo.licitaciones.entity.Unspsc;
+
+/**
+ * A UNSPSC category (segment, family, class or commodity) with its number of published tenders.
+ */
+public record ProductCategoryDTO(String code, Unspsc.Level level, long tenderCount) {
+}
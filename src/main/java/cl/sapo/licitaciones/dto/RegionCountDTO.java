@@ -0,0 +1,11 @@
+package cl.sapo.licitaciones.dto;
+
+/**
+ * Number of published tenders in a canonical region (region picker).
+ */
+public record RegionCountDTO(
+        int id,
+        String nombre,
+        long count
+) {
+}
@@ -16,7 +16,10 @@ public record SearchRequestDTO(
     String region,
     
     @Pattern(regexp = "^(close_date|creation_date)?$", message = "El orden debe ser 'close_date' o 'creation_date'")
-    String sortBy
+    String sortBy,
+    
+    @Pattern(regexp = "^\\s*(\\d{2}|\\d{4}|\\d{6}|\\d{8})?\\s*$", message = "El código de producto debe tener 2, 4, 6 u 8 dígitos (UNSPSC)")
+    String product
     
 ) {
     /**
@@ -33,6 +36,13 @@ public record SearchRequestDTO(
         return region != null && !region.isBlank() ? region.trim() : null;
     }
     
+    /**
+     * Returns UNSPSC product code or category prefix (null-safe).
+     */
+    public String getProductOrDefault() {
+        return product != null && !product.isBlank() ? product.trim() : null;
+    }
+    
     /**
      * Returns sort order with default value.
      */
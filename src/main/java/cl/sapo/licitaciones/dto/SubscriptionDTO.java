@@ -0,0 +1,27 @@
+package cl.sapo.licitaciones.dto;
+
+import cl.sapo.licitaciones.entity.Suscripcion;
+
+import java.time.LocalDateTime;
+
+/**
+ * JSON view of a saved search with the URL of its feed.
+ */
+public record SubscriptionDTO(
+        String id,
+        String q,
+        String region,
+        String product,
+        LocalDateTime createdAt,
+        String feedUrl
+) {
+    public static SubscriptionDTO from(Suscripcion suscripcion, String feedUrl) {
+        return new SubscriptionDTO(
+                suscripcion.getId(),
+                suscripcion.getQuery(),
+                suscripcion.getRegion(),
+                suscripcion.getProductCode(),
+                suscripcion.getCreatedAt(),
+                feedUrl);
+    }
+}
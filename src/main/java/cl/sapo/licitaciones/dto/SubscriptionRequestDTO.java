@@ -0,0 +1,35 @@
+package cl.sapo.licitaciones.dto;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO for creating a saved search. Same filters as SearchRequestDTO.
+ * LIKE wildcards are rejected because subscriptions are matched in memory.
+ */
+public record SubscriptionRequestDTO(
+
+    @Size(max = 200, message = "La consulta de búsqueda no puede exceder 200 caracteres")
+    @Pattern(regexp = "^[^%_]*$", message = "La consulta no puede contener '%' ni '_'")
+    String q,
+
+    @Size(max = 100, message = "El nombre de región no puede exceder 100 caracteres")
+    @Pattern(regexp = "^[^%_]*$", message = "La región no puede contener '%' ni '_'")
+    String region,
+
+    @Pattern(regexp = "^\\s*(\\d{2}|\\d{4}|\\d{6}|\\d{8})?\\s*$", message = "El código de producto debe tener 2, 4, 6 u 8 dígitos (UNSPSC)")
+    String product
+
+) {
+    public String getQueryOrDefault() {
+        return q != null && !q.isBlank() ? q.trim() : null;
+    }
+
+    public String getRegionOrDefault() {
+        return region != null && !region.isBlank() ? region.trim() : null;
+    }
+
+    public String getProductOrDefault() {
+        return product != null && !product.isBlank() ? product.trim() : null;
+    }
+}
@@ -0,0 +1,119 @@
+package cl.sapo.licitaciones.dto;
+
+import cl.sapo.licitaciones.entity.ItemLicitacion;
+import cl.sapo.licitaciones.entity.Licitacion;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Fields selectable with the fields= parameter of the JSON API (sparse fieldsets).
+ * Each field knows its JSON name, its column in the tenders table (for the JDBC export)
+ * and how to read it from an entity.
+ */
+public enum TenderField {
+
+    CODIGO_EXTERNO("codigoExterno", "external_code", String.class, Licitacion::getCodigoExterno),
+    NOMBRE("nombre", "name", String.class, Licitacion::getNombre),
+    DESCRIPCION("descripcion", "description", String.class, Licitacion::getDescripcion),
+    CODIGO_ESTADO("codigoEstado", "status_code", Integer.class, Licitacion::getCodigoEstado),
+    FECHA_CIERRE("fechaCierre", "close_date", LocalDateTime.class, Licitacion::getFechaCierre),
+    FECHA_PUBLICACION("fechaPublicacion", "publication_date", LocalDateTime.class, Licitacion::getFechaPublicacion),
+    REGION("region", "region", String.class, Licitacion::getRegion),
+    REGION_ID("regionId", "region_id", Integer.class, Licitacion::getRegionId),
+    BUYER_NAME("buyerName", "buyer_name", String.class, Licitacion::getBuyerName),
+    BUYER_RUT("buyerRut", "buyer_rut", String.class, Licitacion::getBuyerRut),
+    CREATED_AT("createdAt", "created_at", LocalDateTime.class, Licitacion::getCreatedAt),
+    UPDATED_AT("updatedAt", "updated_at", LocalDateTime.class, Licitacion::getUpdatedAt),
+    /** Not a column: only available in the paginated API, not in the export. */
+    ITEMS("items", null, List.class, TenderField::items);
+
+    /**
+     * Fields returned when fields= is omitted (same as TenderSummaryDTO).
+     */
+    public static final List<TenderField> DEFAULTS = List.of(
+            CODIGO_EXTERNO, NOMBRE, FECHA_CIERRE, FECHA_PUBLICACION, REGION, BUYER_NAME, BUYER_RUT);
+
+    private final String jsonName;
+    private final String column;
+    private final Class<?> type;
+    private final Function<Licitacion, Object> accessor;
+
+    TenderField(String jsonName, String column, Class<?> type, Function<Licitacion, Object> accessor) {
+        this.jsonName = jsonName;
+        this.column = column;
+        this.type = type;
+        this.accessor = accessor;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public boolean isColumn() {
+        return column != null;
+    }
+
+    /**
+     * Parses a comma separated list of JSON names (duplicates ignored, order kept).
+     * Returns DEFAULTS when blank.
+     *
+     * @throws IllegalArgumentException on unknown names
+     */
+    public static List<TenderField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return DEFAULTS;
+        }
+        Set<TenderField> result = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            result.add(fromJsonName(trimmed));
+        }
+        return result.isEmpty() ? DEFAULTS : List.copyOf(result);
+    }
+
+    private static TenderField fromJsonName(String name) {
+        for (TenderField field : values()) {
+            if (field.jsonName.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + name);
+    }
+
+    /**
+     * Projects a tender to the selected fields, in order.
+     */
+    public static Map<String, Object> project(Licitacion tender, List<TenderField> fields) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (TenderField field : fields) {
+            result.put(field.jsonName, field.accessor.apply(tender));
+        }
+        return result;
+    }
+
+    private static Object items(Licitacion tender) {
+        List<TenderItemDTO> items = new ArrayList<>();
+        for (ItemLicitacion item : tender.getItems()) {
+            items.add(TenderItemDTO.from(item));
+        }
+        return items;
+    }
+}
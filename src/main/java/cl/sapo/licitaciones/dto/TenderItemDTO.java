@@ -0,0 +1,23 @@
+package cl.sapo.licitaciones.dto;
+
+import cl.sapo.licitaciones.entity.ItemLicitacion;
+
+/**
+ * JSON view of a tender item.
+ */
+public record TenderItemDTO(
+        String productCode,
+        String productName,
+        String description,
+        Integer quantity,
+        String unitOfMeasure
+) {
+    public static TenderItemDTO from(ItemLicitacion item) {
+        return new TenderItemDTO(
+                item.getProductCode(),
+                item.getProductName(),
+                item.getDescription(),
+                item.getQuantity(),
+                item.getUnitOfMeasure());
+    }
+}
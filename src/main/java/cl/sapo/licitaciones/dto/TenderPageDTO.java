@@ -0,0 +1,16 @@
+package cl.sapo.licitaciones.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of the tender search API.
+ *
+ * @param items      Tenders projected to the requested fields
+ * @param nextCursor Opaque cursor for the next page, null on the last page
+ */
+public record TenderPageDTO(
+        List<Map<String, Object>> items,
+        String nextCursor
+) {
+}
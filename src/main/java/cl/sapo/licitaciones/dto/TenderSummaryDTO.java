@@ -0,0 +1,29 @@
+package cl.sapo.licitaciones.dto;
+
+import cl.sapo.licitaciones.entity.Licitacion;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat JSON view of a tender (without items).
+ */
+public record TenderSummaryDTO(
+        String codigoExterno,
+        String nombre,
+        LocalDateTime fechaCierre,
+        LocalDateTime fechaPublicacion,
+        String region,
+        String buyerName,
+        String buyerRut
+) {
+    public static TenderSummaryDTO from(Licitacion licitacion) {
+        return new TenderSummaryDTO(
+                licitacion.getCodigoExterno(),
+                licitacion.getNombre(),
+                licitacion.getFechaCierre(),
+                licitacion.getFechaPublicacion(),
+                licitacion.getRegion(),
+                licitacion.getBuyerName(),
+                licitacion.getBuyerRut());
+    }
+}
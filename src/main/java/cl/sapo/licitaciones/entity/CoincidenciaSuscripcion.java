@@ -0,0 +1,47 @@
+package cl.sapo.licitaciones.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * A tender that matched a saved search, recorded when the tender was ingested or enriched.
+ * Tender codes are not a foreign key: matches of deleted tenders are pruned by
+ * SubscriptionService and skipped when the feed is resolved.
+ */
+@Entity
+@Table(name = "subscription_matches",
+        uniqueConstraints = @UniqueConstraint(name = "uk_subscription_match", columnNames = {"subscription_id", "tender_code"}),
+        indexes = {
+                @Index(name = "idx_match_subscription_time", columnList = "subscription_id, matched_at"),
+                @Index(name = "idx_match_tender_code", columnList = "tender_code")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CoincidenciaSuscripcion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "subscription_id", nullable = false, length = 36)
+    private String subscriptionId;
+
+    @Column(name = "tender_code", nullable = false)
+    private String tenderCode;
+
+    @Column(name = "matched_at", nullable = false)
+    private LocalDateTime matchedAt;
+
+    @Override
+    public String toString() {
+        return "CoincidenciaSuscripcion{" +
+                "subscriptionId='" + subscriptionId + '\'' +
+                ", tenderCode='" + tenderCode + '\'' +
+                ", matchedAt=" + matchedAt +
+                '}';
+    }
+}
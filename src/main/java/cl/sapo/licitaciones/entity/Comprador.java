@@ -0,0 +1,57 @@
+package cl.sapo.licitaciones.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Buyer dimension (unidad de compra), keyed by RUT.
+ * Maintained during sync from Comprador.RutUnidad/NombreUnidad/RegionUnidad.
+ * openTenderCount is updated for the affected buyers on every tender change,
+ * so buyer rankings are an index scan instead of a GROUP BY over tenders.
+ */
+@Entity
+@Table(name = "buyers", indexes = {
+        @Index(name = "idx_buyer_open_count", columnList = "open_tender_count")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Comprador {
+
+    @Id
+    @Column(name = "rut", nullable = false, length = 50)
+    private String rut;
+
+    @Column(name = "name", length = 500)
+    private String nombre;
+
+    /**
+     * Canonical Region key of the buyer unit.
+     */
+    @Column(name = "region_id")
+    private Integer regionId;
+
+    @Column(name = "open_tender_count", nullable = false)
+    private long openTenderCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public String toString() {
+        return "Comprador{" +
+                "rut='" + rut + '\'' +
+                ", nombre='" + nombre + '\'' +
+                ", openTenderCount=" + openTenderCount +
+                '}';
+    }
+}
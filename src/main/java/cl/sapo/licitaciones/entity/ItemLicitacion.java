@@ -3,12 +3,23 @@ package cl.sapo.licitaciones.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 /**
  * Entity representing a tender item (producto/servicio).
  * Child entity of Licitacion.
+ * The UNSPSC product code is indexed together with its derived segment, family
+ * and class, so category searches are integer equality lookups.
+ * Partitioned like tenders on a copy of the tender's close date. The foreign key is created
+ * by TenderPartitionService: on (tender_code, close_date) when partitioned, on tender_code otherwise.
  */
 @Entity
-@Table(name = "tender_items")
+@Table(name = "tender_items", indexes = {
+        @Index(name = "idx_item_product_code", columnList = "product_code"),
+        @Index(name = "idx_item_product_segment", columnList = "product_segment"),
+        @Index(name = "idx_item_product_family", columnList = "product_family"),
+        @Index(name = "idx_item_product_class", columnList = "product_class")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,6 +34,18 @@ public class ItemLicitacion {
     @Column(name = "product_code")
     private String productCode;
 
+    /**
+     * UNSPSC categories derived from productCode on every write (e.g. 43, 4321, 432115).
+     */
+    @Column(name = "product_segment")
+    private Integer productSegment;
+
+    @Column(name = "product_family")
+    private Integer productFamily;
+
+    @Column(name = "product_class")
+    private Integer productClass;
+
     @Column(name = "product_name", nullable = false)
     private String productName;
 
@@ -36,9 +59,29 @@ public class ItemLicitacion {
     private String unitOfMeasure;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "tender_code", nullable = false)
+    @JoinColumn(name = "tender_code", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Licitacion licitacion;
 
+    /**
+     * Close date of the tender (partition key). Set on insert; later changes of the
+     * tender's close date are cascaded by the database.
+     */
+    @Column(name = "close_date", updatable = false)
+    private LocalDateTime closeDate;
+
+    @PrePersist
+    protected void onCreate() {
+        closeDate = licitacion != null ? licitacion.getFechaCierre() : null;
+        deriveCategories();
+    }
+
+    @PreUpdate
+    protected void deriveCategories() {
+        productSegment = Unspsc.categoryOf(productCode, Unspsc.Level.SEGMENT);
+        productFamily = Unspsc.categoryOf(productCode, Unspsc.Level.FAMILY);
+        productClass = Unspsc.categoryOf(productCode, Unspsc.Level.CLASS);
+    }
+
     @Override
     public String toString() {
         return "ItemLicitacion{" +
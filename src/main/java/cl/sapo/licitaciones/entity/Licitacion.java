@@ -9,12 +9,16 @@ import java.util.List;
 /**
  * Entity representing a public tender (licitación).
  * Flattens the nested API structure with region extracted from Comprador.RegionUnidad.
+ * On PostgreSQL the table is partitioned by close date (see TenderPartitionService),
+ * so its primary key there is (external_code, close_date).
  */
 @Entity
 @Table(name = "tenders", indexes = {
         @Index(name = "idx_tender_code", columnList = "external_code"),
         @Index(name = "idx_tender_status", columnList = "status_code"),
         @Index(name = "idx_tender_region", columnList = "region"),
+        @Index(name = "idx_tender_region_id", columnList = "region_id"),
+        @Index(name = "idx_tender_buyer_rut", columnList = "buyer_rut"),
         @Index(name = "idx_tender_close_date", columnList = "close_date")
 })
 @Getter
@@ -25,7 +29,7 @@ import java.util.List;
 public class Licitacion {
 
     @Id
-    @Column(name = "external_code", nullable = false, unique = true)
+    @Column(name = "external_code", nullable = false)
     private String codigoExterno;
 
     @Column(name = "name", nullable = false, length = 500)
@@ -37,7 +41,7 @@ public class Licitacion {
     @Column(name = "status_code", nullable = false)
     private Integer codigoEstado;
 
-    @Column(name = "close_date")
+    @Column(name = "close_date", nullable = false)
     private LocalDateTime fechaCierre;
 
     @Column(name = "publication_date")
@@ -50,6 +54,13 @@ public class Licitacion {
     @Column(name = "region")
     private String region;
 
+    /**
+     * Numeric key of the canonical Region, derived from region on every write.
+     * Null when the API value could not be resolved to a known region.
+     */
+    @Column(name = "region_id")
+    private Integer regionId;
+
     @Column(name = "buyer_name")
     private String buyerName;
 
@@ -70,11 +81,26 @@ public class Licitacion {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        canonicalizeRegion();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        canonicalizeRegion();
+    }
+
+    /**
+     * Folds the API spelling of the region into the canonical Region name and key.
+     * Unknown values are kept verbatim with no key.
+     */
+    public void canonicalizeRegion() {
+        Region.resolve(region).ifPresentOrElse(
+                resolved -> {
+                    region = resolved.getNombre();
+                    regionId = resolved.getId();
+                },
+                () -> regionId = null);
     }
 
     /**
@@ -0,0 +1,123 @@
+package cl.sapo.licitaciones.entity;
+
+import cl.sapo.licitaciones.dto.TenderItemDTO;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Closed tender moved out of the hot tables by TenderArchiveService.
+ * One row per tender in the archive schema, with its items embedded as a JSON array
+ * (jsonb on PostgreSQL, compressed by TOAST when large), indexed by close date for
+ * date range queries.
+ */
+@Entity
+@Table(name = "tenders", schema = "archive", indexes = {
+        @Index(name = "idx_archive_close_date", columnList = "close_date"),
+        @Index(name = "idx_archive_buyer_rut", columnList = "buyer_rut")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LicitacionArchivada implements Persistable<String> {
+
+    @Id
+    @Column(name = "external_code", nullable = false)
+    private String codigoExterno;
+
+    @Column(name = "name", nullable = false, length = 500)
+    private String nombre;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String descripcion;
+
+    @Column(name = "status_code", nullable = false)
+    private Integer codigoEstado;
+
+    @Column(name = "close_date", nullable = false)
+    private LocalDateTime fechaCierre;
+
+    @Column(name = "publication_date")
+    private LocalDateTime fechaPublicacion;
+
+    @Column(name = "region")
+    private String region;
+
+    @Column(name = "region_id")
+    private Integer regionId;
+
+    @Column(name = "buyer_name")
+    private String buyerName;
+
+    @Column(name = "buyer_rut")
+    private String buyerRut;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "items")
+    @Builder.Default
+    private List<TenderItemDTO> items = new ArrayList<>();
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * Archive rows are only ever inserted: lets save() persist without a lookup by id.
+     */
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    public static LicitacionArchivada from(Licitacion licitacion, LocalDateTime archivedAt) {
+        return LicitacionArchivada.builder()
+                .codigoExterno(licitacion.getCodigoExterno())
+                .nombre(licitacion.getNombre())
+                .descripcion(licitacion.getDescripcion())
+                .codigoEstado(licitacion.getCodigoEstado())
+                .fechaCierre(licitacion.getFechaCierre())
+                .fechaPublicacion(licitacion.getFechaPublicacion())
+                .region(licitacion.getRegion())
+                .regionId(licitacion.getRegionId())
+                .buyerName(licitacion.getBuyerName())
+                .buyerRut(licitacion.getBuyerRut())
+                .items(licitacion.getItems().stream().map(TenderItemDTO::from).toList())
+                .createdAt(licitacion.getCreatedAt())
+                .archivedAt(archivedAt)
+                .build();
+    }
+
+    @Override
+    public String getId() {
+        return codigoExterno;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        newEntity = false;
+    }
+
+    @Override
+    public String toString() {
+        return "LicitacionArchivada{" +
+                "codigoExterno='" + codigoExterno + '\'' +
+                ", nombre='" + nombre + '\'' +
+                ", fechaCierre=" + fechaCierre +
+                '}';
+    }
+}
@@ -0,0 +1,177 @@
+package cl.sapo.licitaciones.entity;
+
+import java.text.Normalizer;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Region dimension: the 16 regions of Chile with their official number as numeric key.
+ * The API sends RegionUnidad in several spellings ("Región Metropolitana de Santiago",
+ * "Metropolitana", "Región del Bío-Bío"...); they are folded here into one canonical value
+ * so that tenders can be filtered by indexed integer equality on tenders.region_id.
+ */
+public enum Region {
+
+    TARAPACA(1, "Región de Tarapacá", List.of("tarapaca"), List.of("i")),
+    ANTOFAGASTA(2, "Región de Antofagasta", List.of("antofagasta"), List.of("ii")),
+    ATACAMA(3, "Región de Atacama", List.of("atacama"), List.of("iii")),
+    COQUIMBO(4, "Región de Coquimbo", List.of("coquimbo"), List.of("iv")),
+    VALPARAISO(5, "Región de Valparaíso", List.of("valparaiso"), List.of("v")),
+    OHIGGINS(6, "Región del Libertador General Bernardo O'Higgins",
+            List.of("libertador general bernardo ohiggins", "libertador bernardo ohiggins", "ohiggins"),
+            List.of("vi")),
+    MAULE(7, "Región del Maule", List.of("maule"), List.of("vii")),
+    BIOBIO(8, "Región del Biobío", List.of("biobio", "bio bio"), List.of("viii")),
+    ARAUCANIA(9, "Región de La Araucanía", List.of("la araucania", "araucania"), List.of("ix")),
+    LOS_LAGOS(10, "Región de Los Lagos", List.of("los lagos"), List.of("x")),
+    AYSEN(11, "Región de Aysén del General Carlos Ibáñez del Campo",
+            List.of("aysen del general carlos ibanez del campo", "aysen", "aisen"),
+            List.of("xi")),
+    MAGALLANES(12, "Región de Magallanes y de la Antártica Chilena",
+            List.of("magallanes y de la antartica chilena", "magallanes y antartica chilena", "magallanes"),
+            List.of("xii")),
+    METROPOLITANA(13, "Región Metropolitana de Santiago",
+            List.of("metropolitana de santiago", "metropolitana", "santiago"),
+            List.of("xiii", "rm")),
+    LOS_RIOS(14, "Región de Los Ríos", List.of("los rios"), List.of("xiv")),
+    ARICA_PARINACOTA(15, "Región de Arica y Parinacota", List.of("arica y parinacota", "arica"), List.of("xv")),
+    NUBLE(16, "Región de Ñuble", List.of("nuble"), List.of("xvi"));
+
+    private final int id;
+    private final String nombre;
+    private final String normalizedNombre;
+    /** Normalized names, matched exactly or as substrings. */
+    private final List<String> names;
+    /** Short codes (roman numeral, "rm"), matched exactly only. */
+    private final List<String> codes;
+
+    Region(int id, String nombre, List<String> names, List<String> codes) {
+        this.id = id;
+        this.nombre = nombre;
+        this.normalizedNombre = normalize(nombre);
+        this.names = names;
+        this.codes = codes;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Canonical display name, stored in tenders.region.
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    public static Optional<Region> fromId(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        for (Region region : values()) {
+            if (region.id == id) {
+                return Optional.of(region);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Resolves an API value (RegionUnidad) to a region at ingest time.
+     * Tries an exact name or code first, then a unique region whose name appears in the value.
+     */
+    public static Optional<Region> resolve(String rawRegion) {
+        String key = toKey(rawRegion);
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        Optional<Region> exact = findExact(key);
+        if (exact.isPresent()) {
+            return exact;
+        }
+
+        Region found = null;
+        for (Region region : values()) {
+            if (region.names.stream().anyMatch(key::contains)) {
+                if (found != null && found != region) {
+                    return Optional.empty(); // Ambiguous
+                }
+                found = region;
+            }
+        }
+        return Optional.ofNullable(found);
+    }
+
+    /**
+     * Resolves user filter input to the set of regions it designates.
+     * An exact name or code selects one region; otherwise every region whose
+     * name contains the input matches (same semantics as the former LIKE '%value%').
+     * Returns an empty set when nothing matches.
+     */
+    public static Set<Region> matching(String input) {
+        String key = toKey(input);
+        if (key == null) {
+            return EnumSet.noneOf(Region.class);
+        }
+
+        Optional<Region> exact = findExact(key);
+        if (exact.isPresent()) {
+            return EnumSet.of(exact.get());
+        }
+
+        String normalizedInput = normalize(input);
+        Set<Region> result = EnumSet.noneOf(Region.class);
+        for (Region region : values()) {
+            if (region.normalizedNombre.contains(normalizedInput)
+                    || region.names.stream().anyMatch(name -> name.contains(key))) {
+                result.add(region);
+            }
+        }
+        return result;
+    }
+
+    private static Optional<Region> findExact(String key) {
+        for (Region region : values()) {
+            if (region.names.contains(key) || region.codes.contains(key)) {
+                return Optional.of(region);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Normalizes and drops the "Región de/del" prefix: "Región del Bío-Bío" becomes "bio bio".
+     */
+    private static String toKey(String value) {
+        String key = normalize(value);
+        if (key == null) {
+            return null;
+        }
+        key = key.replaceAll("[^a-z0-9 ]", " ").replaceAll("\\s+", " ").trim();
+        key = stripPrefix(key, "region ");
+        key = stripPrefix(key, "del ");
+        key = stripPrefix(key, "de ");
+        return key.isEmpty() ? null : key;
+    }
+
+    private static String stripPrefix(String value, String prefix) {
+        return value.startsWith(prefix) ? value.substring(prefix.length()) : value;
+    }
+
+    /**
+     * Lower case, no accents, apostrophes removed ("O'Higgins" and "O´Higgins" become "ohiggins").
+     */
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}+", "")
+                .replaceAll("['´`’]", "")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,55 @@
+package cl.sapo.licitaciones.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Saved search (standing query) of a feed reader.
+ * The id is a random UUID and doubles as the secret of the subscription feed URL.
+ * New and changed tenders are matched against every subscription at ingest time,
+ * so the feed is a lookup in subscription_matches instead of a search per poll.
+ */
+@Entity
+@Table(name = "subscriptions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Suscripcion {
+
+    @Id
+    @Column(name = "id", nullable = false, length = 36)
+    private String id;
+
+    @Column(name = "search_query", length = 200)
+    private String query;
+
+    @Column(name = "region", length = 100)
+    private String region;
+
+    /**
+     * UNSPSC product code or category prefix.
+     */
+    @Column(name = "product_code", length = 8)
+    private String productCode;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @Override
+    public String toString() {
+        return "Suscripcion{" +
+                "id='" + id + '\'' +
+                ", query='" + query + '\'' +
+                ", region='" + region + '\'' +
+                ", productCode='" + productCode + '\'' +
+                '}';
+    }
+}
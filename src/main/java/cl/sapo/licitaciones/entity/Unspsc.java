@@ -0,0 +1,92 @@
+package cl.sapo.licitaciones.entity;
+
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for UNSPSC product codes (CodigoProducto), 8 digits:
+ * segment (2) + family (2) + class (2) + commodity (2), e.g. 43 21 15 03.
+ * A prefix of 2, 4, 6 or 8 digits designates a category at that level.
+ */
+public final class Unspsc {
+
+    private static final Pattern CODE = Pattern.compile("\\d{8}");
+    private static final Pattern PREFIX = Pattern.compile("\\d{2}|\\d{4}|\\d{6}|\\d{8}");
+
+    public enum Level {
+        SEGMENT(2),
+        FAMILY(4),
+        CLASS(6),
+        COMMODITY(8);
+
+        private final int digits;
+
+        Level(int digits) {
+            this.digits = digits;
+        }
+
+        public int getDigits() {
+            return digits;
+        }
+
+        /**
+         * Level designated by a valid prefix.
+         */
+        public static Level of(String prefix) {
+            if (!isValidPrefix(prefix)) {
+                throw new IllegalArgumentException("Invalid UNSPSC prefix: " + prefix);
+            }
+            return switch (prefix.length()) {
+                case 2 -> SEGMENT;
+                case 4 -> FAMILY;
+                case 6 -> CLASS;
+                default -> COMMODITY;
+            };
+        }
+
+        /**
+         * Level below this one, or null for commodities.
+         */
+        public Level child() {
+            return switch (this) {
+                case SEGMENT -> FAMILY;
+                case FAMILY -> CLASS;
+                case CLASS -> COMMODITY;
+                case COMMODITY -> null;
+            };
+        }
+    }
+
+    private Unspsc() {
+    }
+
+    public static boolean isValidPrefix(String prefix) {
+        return prefix != null && PREFIX.matcher(prefix).matches();
+    }
+
+    /**
+     * Whether a full 8-digit code falls under the given category prefix.
+     * Codes that are not full UNSPSC codes never match, as with the derived columns.
+     */
+    public static boolean matches(String code, String prefix) {
+        if (code == null || prefix == null) {
+            return false;
+        }
+        String trimmed = code.trim();
+        return CODE.matcher(trimmed).matches() && trimmed.startsWith(prefix);
+    }
+
+    /**
+     * Numeric category of a full code at the given level (e.g. family of 43211503 is 4321).
+     * Returns null when the code is not a full 8-digit UNSPSC code.
+     */
+    public static Integer categoryOf(String code, Level level) {
+        if (code == null) {
+            return null;
+        }
+        String trimmed = code.trim();
+        if (!CODE.matcher(trimmed).matches()) {
+            return null;
+        }
+        return Integer.parseInt(trimmed.substring(0, level.getDigits()));
+    }
+}
@@ -0,0 +1,29 @@
+package cl.sapo.licitaciones.event;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Payload of a PostgreSQL NOTIFY sent on the tender_changes channel.
+ * Short property names keep the payload under the 8000-byte NOTIFY limit.
+ *
+ * @param generation      Cluster-wide change number (from a database sequence)
+ * @param node            Id of the node that committed the change
+ * @param type            Kind of change
+ * @param codigosExternos Affected tender codes; empty for a bulk change
+ */
+public record TenderChangeNotice(
+        @JsonProperty("g")
+        long generation,
+
+        @JsonProperty("n")
+        String node,
+
+        @JsonProperty("t")
+        TendersChangedEvent.ChangeType type,
+
+        @JsonProperty("c")
+        List<String> codigosExternos
+) {
+}
@@ -0,0 +1,60 @@
+package cl.sapo.licitaciones.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Application event published by SyncService whenever tender rows are written.
+ * Listeners use it as the sync commit hook to invalidate derived data (caches, read models).
+ * Changes committed by other nodes are re-published locally with remote = true.
+ *
+ * @param type            Kind of change that was committed
+ * @param codigosExternos Affected tender codes; empty when the affected set is unknown (bulk change)
+ * @param remote          True when the change was committed by another node
+ */
+public record TendersChangedEvent(
+        ChangeType type,
+        Set<String> codigosExternos,
+        boolean remote
+) {
+
+    public enum ChangeType {
+        /** Tenders inserted or overwritten with basic data (Phase 1). */
+        UPSERTED,
+        /** Existing tenders updated with detail data (Phase 2). Sort keys are unchanged. */
+        ENRICHED,
+        /** Tenders removed because they are no longer published. */
+        DELETED,
+        /** Tenders closed at their close time (TenderExpiryScheduler) or removed by the expiry cleanup. */
+        EXPIRED
+    }
+
+    public TendersChangedEvent {
+        codigosExternos = codigosExternos != null ? Set.copyOf(codigosExternos) : Set.of();
+    }
+
+    public static TendersChangedEvent of(ChangeType type, Collection<String> codigosExternos) {
+        return new TendersChangedEvent(type, Set.copyOf(codigosExternos), false);
+    }
+
+    /**
+     * Event for a change whose affected tenders are not known individually.
+     */
+    public static TendersChangedEvent bulk(ChangeType type) {
+        return new TendersChangedEvent(type, Set.of(), false);
+    }
+
+    /**
+     * Event for a change committed by another node (received through the database).
+     */
+    public static TendersChangedEvent remote(ChangeType type, Collection<String> codigosExternos) {
+        return new TendersChangedEvent(type, Set.copyOf(codigosExternos), true);
+    }
+
+    /**
+     * True when listeners must assume every tender may have changed.
+     */
+    public boolean isBulk() {
+        return codigosExternos.isEmpty();
+    }
+}
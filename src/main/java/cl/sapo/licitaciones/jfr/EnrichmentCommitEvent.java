@@ -0,0 +1,44 @@
+package cl.sapo.licitaciones.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Commit of one enriched tender, including the wait for a database permit.
+ */
+@Name("cl.sapo.licitaciones.EnrichmentCommit")
+@Label("Enrichment Commit")
+@Category({"Licitaciones", "Sync"})
+@Description("Transaction writing the details of one enriched tender")
+@StackTrace(false)
+public class EnrichmentCommitEvent extends Event {
+
+    @Label("Tender Code")
+    String code;
+
+    @Label("Items")
+    int items;
+
+    @Label("Outcome")
+    String outcome;
+
+    public static EnrichmentCommitEvent start(String code) {
+        EnrichmentCommitEvent event = new EnrichmentCommitEvent();
+        event.code = code;
+        event.begin();
+        return event;
+    }
+
+    public void finish(int items, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.items = items;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package cl.sapo.licitaciones.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Generation of an RSS feed or an HTML page.
+ */
+@Name("cl.sapo.licitaciones.Render")
+@Label("Render")
+@Category({"Licitaciones", "Web"})
+@Description("Rendering of an RSS feed or a page")
+@StackTrace(false)
+public class RenderEvent extends Event {
+
+    /**
+     * Request attribute through which a controller reports the number of tenders on the page.
+     */
+    public static final String ITEMS_ATTRIBUTE = RenderEvent.class.getName() + ".items";
+
+    @Label("View")
+    @Description("rss-search, rss-subscription or page")
+    String view;
+
+    @Label("Items")
+    @Description("Tenders rendered")
+    int items;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    public static RenderEvent start(String view) {
+        RenderEvent event = new RenderEvent();
+        event.view = view;
+        event.begin();
+        return event;
+    }
+
+    public void finish(int items, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.items = items;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package cl.sapo.licitaciones.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One sync run or one of its phases (fetch, save, enrich, cleanup).
+ */
+@Name("cl.sapo.licitaciones.SyncPhase")
+@Label("Sync Phase")
+@Category({"Licitaciones", "Sync"})
+@Description("A tender sync run or one of its phases")
+@StackTrace(false)
+public class SyncPhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Tenders")
+    @Description("Tenders handled by the phase")
+    int tenders;
+
+    @Label("Outcome")
+    String outcome;
+
+    public static SyncPhaseEvent start(String phase) {
+        SyncPhaseEvent event = new SyncPhaseEvent();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    public void finish(int tenders, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.tenders = tenders;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package cl.sapo.licitaciones.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call to the Mercado Publico API, from sending the request until the body was read.
+ * Recorded by UpstreamCallRecorder.
+ */
+@Name("cl.sapo.licitaciones.UpstreamCall")
+@Label("Upstream Call")
+@Category({"Licitaciones", "Mercado Publico API"})
+@Description("HTTP call to the Mercado Publico API")
+@StackTrace(false)
+public class UpstreamCallEvent extends Event {
+
+    @Label("Endpoint")
+    @Description("listing (by date) or detail (by tender code)")
+    String endpoint;
+
+    @Label("Code")
+    @Description("Tender code or listing date")
+    String code;
+
+    @Label("Status")
+    @Description("HTTP status, or -1 if no response was received")
+    int status;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+}
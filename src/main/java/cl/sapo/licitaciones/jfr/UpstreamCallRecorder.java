@@ -0,0 +1,125 @@
+package cl.sapo.licitaciones.jfr;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * Emits an UpstreamCallEvent per Mercado Publico API call. The event ends when the
+ * response is closed, so it covers the body transfer, and records the bytes read.
+ * Only the tender code or listing date is taken from the URI, never the ticket.
+ * Does nothing unless a recording has the event enabled.
+ */
+public class UpstreamCallRecorder implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        UpstreamCallEvent event = new UpstreamCallEvent();
+        if (!event.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        event.begin();
+        try {
+            return new RecordingResponse(execution.execute(request, body), event, request.getURI());
+        } catch (IOException | RuntimeException e) {
+            commit(event, request.getURI(), -1, 0);
+            throw e;
+        }
+    }
+
+    private static void commit(UpstreamCallEvent event, URI uri, int status, long bytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(uri).build().getQueryParams();
+            String codigo = params.getFirst("codigo");
+            event.endpoint = codigo != null ? "detail" : "listing";
+            event.code = codigo != null ? codigo : params.getFirst("fecha");
+            event.status = status;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    private static final class RecordingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final UpstreamCallEvent event;
+        private final URI uri;
+        private long bytes;
+        private InputStream body;
+        private boolean closed;
+
+        RecordingResponse(ClientHttpResponse response, UpstreamCallEvent event, URI uri) {
+            this.response = response;
+            this.event = event;
+            this.uri = uri;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(response.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        int b = super.read();
+                        if (b >= 0) {
+                            bytes++;
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int n = super.read(buffer, offset, length);
+                        if (n > 0) {
+                            bytes += n;
+                        }
+                        return n;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+            if (!closed) {
+                closed = true;
+                int status;
+                try {
+                    status = response.getStatusCode().value();
+                } catch (IOException e) {
+                    status = -1;
+                }
+                commit(event, uri, status, bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package cl.sapo.licitaciones.repository;
+
+import cl.sapo.licitaciones.entity.CoincidenciaSuscripcion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for saved search matches.
+ */
+@Repository
+public interface CoincidenciaSuscripcionRepository extends JpaRepository<CoincidenciaSuscripcion, Long> {
+
+    /**
+     * Tender codes of a subscription feed, most recent match first (uses idx_match_subscription_time).
+     */
+    @Query("SELECT m.tenderCode FROM CoincidenciaSuscripcion m WHERE m.subscriptionId = :subscriptionId " +
+           "ORDER BY m.matchedAt DESC, m.id DESC")
+    List<String> findTenderCodes(String subscriptionId, Pageable pageable);
+
+    /**
+     * Existing matches of the given tenders (uses idx_match_tender_code).
+     */
+    List<CoincidenciaSuscripcion> findByTenderCodeIn(Collection<String> tenderCodes);
+
+    @Query("SELECT m.tenderCode FROM CoincidenciaSuscripcion m WHERE m.subscriptionId = :subscriptionId")
+    List<String> findAllTenderCodes(String subscriptionId);
+
+    @Modifying
+    @Query("DELETE FROM CoincidenciaSuscripcion m WHERE m.tenderCode IN :tenderCodes")
+    int deleteByTenderCodeIn(Collection<String> tenderCodes);
+
+    @Modifying
+    @Query("DELETE FROM CoincidenciaSuscripcion m WHERE m.subscriptionId = :subscriptionId")
+    int deleteBySubscriptionId(String subscriptionId);
+
+    /**
+     * Removes matches whose tender no longer exists (after bulk expiry).
+     */
+    @Modifying
+    @Query("DELETE FROM CoincidenciaSuscripcion m WHERE NOT EXISTS " +
+           "(SELECT 1 FROM Licitacion l WHERE l.codigoExterno = m.tenderCode)")
+    int deleteOrphans();
+}
@@ -0,0 +1,20 @@
+package cl.sapo.licitaciones.repository;
+
+import cl.sapo.licitaciones.entity.Comprador;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the buyer dimension.
+ */
+@Repository
+public interface CompradorRepository extends JpaRepository<Comprador, String> {
+
+    /**
+     * Buyers ranked by open tender count (uses idx_buyer_open_count).
+     */
+    List<Comprador> findByOpenTenderCountGreaterThanOrderByOpenTenderCountDesc(long minCount, Pageable pageable);
+}
@@ -0,0 +1,52 @@
+package cl.sapo.licitaciones.repository;
+
+import cl.sapo.licitaciones.entity.ItemLicitacion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for tender items, used for UNSPSC category rollups.
+ * Each rollup groups one level under a parent category using the derived
+ * product_segment/product_family/product_class columns and their indexes.
+ * Rows are [category, number of distinct published tenders].
+ */
+@Repository
+public interface ItemLicitacionRepository extends JpaRepository<ItemLicitacion, Long> {
+
+    @Query("SELECT i.productSegment, COUNT(DISTINCT i.licitacion.codigoExterno) FROM ItemLicitacion i " +
+           "WHERE i.productSegment IS NOT NULL AND i.licitacion.codigoEstado = 5 " +
+           "GROUP BY i.productSegment")
+    List<Object[]> countTendersBySegment();
+
+    @Query("SELECT i.productFamily, COUNT(DISTINCT i.licitacion.codigoExterno) FROM ItemLicitacion i " +
+           "WHERE i.productSegment = :segment AND i.licitacion.codigoEstado = 5 " +
+           "GROUP BY i.productFamily")
+    List<Object[]> countTendersByFamily(Integer segment);
+
+    @Query("SELECT i.productClass, COUNT(DISTINCT i.licitacion.codigoExterno) FROM ItemLicitacion i " +
+           "WHERE i.productFamily = :family AND i.licitacion.codigoEstado = 5 " +
+           "GROUP BY i.productClass")
+    List<Object[]> countTendersByClass(Integer family);
+
+    @Query("SELECT i.productCode, COUNT(DISTINCT i.licitacion.codigoExterno) FROM ItemLicitacion i " +
+           "WHERE i.productClass = :productClass AND i.licitacion.codigoEstado = 5 " +
+           "GROUP BY i.productCode")
+    List<Object[]> countTendersByCommodity(Integer productClass);
+
+    /**
+     * Items stored before the category columns existed, in id order (for batched backfill).
+     */
+    List<ItemLicitacion> findTop500ByProductSegmentIsNullAndProductCodeIsNotNullAndIdGreaterThanOrderByIdAsc(Long id);
+
+    /**
+     * Deletes the items of the given tenders (before a bulk delete of the tenders themselves).
+     */
+    @Modifying
+    @Query("DELETE FROM ItemLicitacion i WHERE i.licitacion.codigoExterno IN :codigos")
+    int deleteByTenderCodes(Collection<String> codigos);
+}
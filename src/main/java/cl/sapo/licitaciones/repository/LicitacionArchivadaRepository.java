@@ -0,0 +1,31 @@
+package cl.sapo.licitaciones.repository;
+
+import cl.sapo.licitaciones.entity.LicitacionArchivada;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for archived (closed) tenders.
+ */
+@Repository
+public interface LicitacionArchivadaRepository extends JpaRepository<LicitacionArchivada, String> {
+
+    /**
+     * Archived tenders that closed in [from, to), oldest first (uses idx_archive_close_date).
+     */
+    Slice<LicitacionArchivada> findByFechaCierreGreaterThanEqualAndFechaCierreLessThanOrderByFechaCierreAscCodigoExternoAsc(
+            LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    /**
+     * Which of the given codes are already archived (an interrupted run may have copied them).
+     */
+    @Query("SELECT a.codigoExterno FROM LicitacionArchivada a WHERE a.codigoExterno IN :codigos")
+    List<String> findArchivedCodes(Collection<String> codigos);
+}
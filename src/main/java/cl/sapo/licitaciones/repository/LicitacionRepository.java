@@ -1,6 +1,7 @@
 package cl.sapo.licitaciones.repository;
 
 import cl.sapo.licitaciones.entity.Licitacion;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +26,11 @@ public interface LicitacionRepository extends JpaRepository<Licitacion, String>,
      * Find tenders by region (case insensitive).
      */
     List<Licitacion> findByRegionIgnoreCase(String region);
+
+    /**
+     * Find tenders by canonical region key.
+     */
+    List<Licitacion> findByRegionId(Integer regionId);
     
     /**
      * Find a tender by external code.
@@ -36,6 +43,77 @@ public interface LicitacionRepository extends JpaRepository<Licitacion, String>,
     @Query("SELECT l FROM Licitacion l LEFT JOIN FETCH l.items WHERE l.codigoExterno = :codigoExterno")
     Optional<Licitacion> findByCodigoExternoWithItems(String codigoExterno);
 
+    /**
+     * Find several tenders by external code with items eagerly loaded.
+     */
+    @Query("SELECT DISTINCT l FROM Licitacion l LEFT JOIN FETCH l.items WHERE l.codigoExterno IN :codigos")
+    List<Licitacion> findAllWithItemsByCodigoExternoIn(Collection<String> codigos);
+
+    /**
+     * Find all tenders with a given status, items eagerly loaded (read model bootstrap).
+     */
+    @Query("SELECT DISTINCT l FROM Licitacion l LEFT JOIN FETCH l.items WHERE l.codigoEstado = :codigoEstado")
+    List<Licitacion> findAllWithItemsByCodigoEstado(Integer codigoEstado);
+
+    /**
+     * Count published tenders per canonical region key.
+     * Each row is [regionId (Integer), count (Long)].
+     */
+    @Query("SELECT l.regionId, COUNT(l) FROM Licitacion l WHERE l.codigoEstado = 5 AND l.regionId IS NOT NULL GROUP BY l.regionId")
+    List<Object[]> countByRegionId();
+
+    /**
+     * Distinct raw region values that have not been resolved to a region key yet.
+     */
+    @Query("SELECT DISTINCT l.region FROM Licitacion l WHERE l.regionId IS NULL AND l.region IS NOT NULL")
+    List<String> findUnresolvedRegions();
+
+    /**
+     * Assigns the canonical region name and key to every row with the given raw value.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Licitacion l SET l.region = :canonical, l.regionId = :regionId WHERE l.region = :raw AND l.regionId IS NULL")
+    int assignRegion(String raw, String canonical, Integer regionId);
+
+    /**
+     * Published tenders of a buyer (uses idx_tender_buyer_rut).
+     */
+    List<Licitacion> findByBuyerRutAndCodigoEstadoOrderByFechaCierreDesc(String buyerRut, Integer codigoEstado);
+
+    /**
+     * Count published tenders of a buyer (uses idx_tender_buyer_rut).
+     */
+    long countByBuyerRutAndCodigoEstado(String buyerRut, Integer codigoEstado);
+
+    /**
+     * Published tender count of several buyers in one query. Each row is [buyerRut, count];
+     * buyers without published tenders have no row.
+     */
+    @Query("SELECT l.buyerRut, COUNT(l) FROM Licitacion l " +
+           "WHERE l.buyerRut IN :ruts AND l.codigoEstado = 5 GROUP BY l.buyerRut")
+    List<Object[]> countPublishedByBuyerRutIn(Collection<String> ruts);
+
+    /**
+     * Buyer RUTs currently referenced by the given tenders.
+     */
+    @Query("SELECT DISTINCT l.buyerRut FROM Licitacion l WHERE l.codigoExterno IN :codigos AND l.buyerRut IS NOT NULL")
+    List<String> findBuyerRutsByCodigoExternoIn(Collection<String> codigos);
+
+    /**
+     * Buyer RUTs of tenders whose close date has passed (before expiry cleanup).
+     */
+    @Query("SELECT DISTINCT l.buyerRut FROM Licitacion l WHERE l.fechaCierre < :now AND l.buyerRut IS NOT NULL")
+    List<String> findBuyerRutsOfExpiredTenders(LocalDateTime now);
+
+    /**
+     * One-off aggregation used to seed the buyer dimension.
+     * Each row is [buyerRut, buyerName, regionId, count].
+     */
+    @Query("SELECT l.buyerRut, MAX(l.buyerName), MAX(l.regionId), COUNT(l) FROM Licitacion l " +
+           "WHERE l.buyerRut IS NOT NULL AND l.codigoEstado = 5 GROUP BY l.buyerRut")
+    List<Object[]> aggregateBuyers();
+
     /**
      * Check if a tender exists by external code.
      */
@@ -50,11 +128,56 @@ public interface LicitacionRepository extends JpaRepository<Licitacion, String>,
     void deleteByCodigoExterno(String codigoExterno);
     
     /**
-     * Delete tenders whose close date has passed.
-     * Returns the number of deleted records.
+     * Codes of closed (no longer published) tenders whose close date is before the given time,
+     * in (close date, code) order after the given position. Keyset pagination for the batched
+     * archival. Tenders closed before droppable that are already archived are skipped: they
+     * stay until their partition is dropped, and must not be read again by every run.
+     */
+    @Query("SELECT l.codigoExterno FROM Licitacion l WHERE l.fechaCierre < :before AND l.codigoEstado <> 5 " +
+           "AND (l.fechaCierre > :afterDate OR (l.fechaCierre = :afterDate AND l.codigoExterno > :afterCode)) " +
+           "AND (l.fechaCierre >= :droppable OR NOT EXISTS " +
+           "(SELECT 1 FROM LicitacionArchivada a WHERE a.codigoExterno = l.codigoExterno)) " +
+           "ORDER BY l.fechaCierre, l.codigoExterno")
+    List<String> findExpiredCodesAfter(LocalDateTime before, LocalDateTime droppable,
+                                       LocalDateTime afterDate, String afterCode, Limit limit);
+
+    /**
+     * Marks closed the published tenders whose close date is before the given time
+     * (those the exact-time expiry missed).
+     */
+    @Modifying
+    @Query("UPDATE Licitacion l SET l.codigoEstado = :status, l.updatedAt = :now " +
+           "WHERE l.codigoEstado = 5 AND l.fechaCierre < :before")
+    int closeExpired(LocalDateTime before, Integer status, LocalDateTime now);
+
+    /**
+     * Bulk delete by code. Items must be deleted first (ItemLicitacionRepository.deleteByTenderCodes).
+     */
+    @Modifying
+    @Query("DELETE FROM Licitacion l WHERE l.codigoExterno IN :codigos")
+    int deleteByCodigoExternoIn(Collection<String> codigos);
+
+    /**
+     * [codigoExterno, fechaCierre] of published tenders, for the expiry timing wheel.
+     */
+    @Query("SELECT l.codigoExterno, l.fechaCierre FROM Licitacion l WHERE l.codigoEstado = 5")
+    List<Object[]> findOpenCloseDates();
+
+    @Query("SELECT l.codigoExterno, l.fechaCierre FROM Licitacion l WHERE l.codigoEstado = 5 AND l.codigoExterno IN :codigos")
+    List<Object[]> findOpenCloseDatesByCodigoExternoIn(Collection<String> codigos);
+
+    /**
+     * Published tenders among the given codes whose close date has passed.
+     */
+    @Query("SELECT l.codigoExterno FROM Licitacion l WHERE l.codigoExterno IN :codigos " +
+           "AND l.codigoEstado = 5 AND l.fechaCierre <= :now")
+    List<String> findDueCodes(Collection<String> codigos, LocalDateTime now);
+
+    /**
+     * Marks published tenders as closed (status 6, Cerrada). Closed rows stay until archived.
      */
-    @Transactional
     @Modifying
-    @Query("DELETE FROM Licitacion l WHERE l.fechaCierre < :now")
-    int deleteExpiredTenders(LocalDateTime now);
+    @Query("UPDATE Licitacion l SET l.codigoEstado = :status, l.updatedAt = :now " +
+           "WHERE l.codigoExterno IN :codigos AND l.codigoEstado = 5")
+    int markClosed(Collection<String> codigos, Integer status, LocalDateTime now);
 }
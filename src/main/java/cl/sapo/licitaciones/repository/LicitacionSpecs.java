@@ -2,9 +2,13 @@ package cl.sapo.licitaciones.repository;
 
 import cl.sapo.licitaciones.entity.ItemLicitacion;
 import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.entity.Region;
+import cl.sapo.licitaciones.entity.Unspsc;
 import jakarta.persistence.criteria.*;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Set;
+
 /**
  * JPA Specifications for Licitacion entity.
  * Uses PostgreSQL ILIKE and unaccent for case-insensitive and accent-insensitive text search.
@@ -12,13 +16,20 @@ import org.springframework.data.jpa.domain.Specification;
 public class LicitacionSpecs {
 
     /**
-     * Search by region (case and accent insensitive).
+     * Search by region.
+     * Input that designates known regions is resolved once to region keys and filtered
+     * with integer equality (uses idx_tender_region_id). Anything else falls back to a
+     * case and accent insensitive substring match on the raw region name.
      */
     public static Specification<Licitacion> hasRegion(String region) {
         return (root, query, builder) -> {
             if (region == null || region.isBlank()) {
                 return builder.conjunction();
             }
+            Set<Region> regions = hasLikeWildcards(region) ? Set.of() : Region.matching(region);
+            if (!regions.isEmpty()) {
+                return root.get("regionId").in(regions.stream().map(Region::getId).toList());
+            }
             // Using unaccent for accent-insensitive search
             Expression<String> unaccentRegion = builder.function(
                 "unaccent", String.class, builder.lower(root.get("region"))
@@ -88,6 +99,31 @@ public class LicitacionSpecs {
         };
     }
 
+    /**
+     * Filter by UNSPSC product code or category prefix (2, 4, 6 or 8 digits).
+     * Category prefixes compare the derived integer columns of the items, so every
+     * level is an equality lookup on an index instead of a LIKE on product_code.
+     */
+    public static Specification<Licitacion> hasProductCode(String prefix) {
+        return (root, query, builder) -> {
+            if (prefix == null || prefix.isBlank()) {
+                return builder.conjunction();
+            }
+
+            Join<Licitacion, ItemLicitacion> itemsJoin = root.join("items", JoinType.INNER);
+            if (query != null) {
+                query.distinct(true);
+            }
+
+            return switch (Unspsc.Level.of(prefix)) {
+                case SEGMENT -> builder.equal(itemsJoin.get("productSegment"), Integer.parseInt(prefix));
+                case FAMILY -> builder.equal(itemsJoin.get("productFamily"), Integer.parseInt(prefix));
+                case CLASS -> builder.equal(itemsJoin.get("productClass"), Integer.parseInt(prefix));
+                case COMMODITY -> builder.equal(itemsJoin.get("productCode"), prefix);
+            };
+        };
+    }
+
     /**
      * Filter by status code.
      */
@@ -104,9 +140,21 @@ public class LicitacionSpecs {
      * Combine multiple specifications with AND logic.
      */
     public static Specification<Licitacion> searchWithFilters(String query, String region) {
+        return searchWithFilters(query, region, null);
+    }
+
+    /**
+     * Combine multiple specifications with AND logic, including a product code filter.
+     */
+    public static Specification<Licitacion> searchWithFilters(String query, String region, String productCode) {
         return searchByText(query)
                 .and(hasRegion(region))
+                .and(hasProductCode(productCode))
                 // Only published tenders
                 .and(hasStatus(5));
     }
+
+    private static boolean hasLikeWildcards(String value) {
+        return value.indexOf('%') >= 0 || value.indexOf('_') >= 0;
+    }
 }
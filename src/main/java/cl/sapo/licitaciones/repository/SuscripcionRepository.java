@@ -0,0 +1,12 @@
+package cl.sapo.licitaciones.repository;
+
+import cl.sapo.licitaciones.entity.Suscripcion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for saved searches.
+ */
+@Repository
+public interface SuscripcionRepository extends JpaRepository<Suscripcion, String> {
+}
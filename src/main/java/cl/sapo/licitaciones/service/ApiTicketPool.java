@@ -0,0 +1,313 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.config.ConcurrencyLimitExceededException;
+import cl.sapo.licitaciones.config.MercadoPublicoProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * The Mercado Publico API tickets (mercadopublico.api.ticket, comma separated) and their health.
+ * Every upstream call borrows one ticket:
+ * - rate limit: one call in flight per ticket, and at least min-interval between its calls
+ * - daily quota: calls per ticket per day (Chilean calendar day), then it waits for the next day
+ * - load balancing: among the tickets free now, the one with the fewest calls today
+ * - health: an auth error (401/403) takes the ticket out of rotation for ban-duration;
+ *   a throttle error (429, or the API's "simultaneous requests" error) for throttle-cooldown,
+ *   doubling while it repeats; error-threshold consecutive server/network errors for error-cooldown
+ * Tickets are identified by their position in the list (#1, #2...) in logs, metrics and
+ * /actuator/apitickets, never by value. The total number of calls in flight is still bounded by
+ * ConcurrencyLimits (one upstream permit per ticket by default).
+ */
+@Service
+@Slf4j
+public class ApiTicketPool {
+
+    private static final String PLACEHOLDER_TICKET = "YOUR_API_KEY_HERE";
+    // Error code of the API for simultaneous requests with the same ticket (sent as HTTP 500)
+    private static final String SIMULTANEOUS_REQUESTS_CODE = "10500";
+    private static final ZoneId QUOTA_ZONE = ZoneId.of("America/Santiago");
+
+    /**
+     * State of one ticket as shown by /actuator/apitickets.
+     */
+    public record TicketStatus(int ticket, boolean inRotation, String outReason, Instant outUntil,
+                               int callsToday, int dailyQuota, long calls, long errors) {
+    }
+
+    /**
+     * One ticket's rate limiter, quota and health. Guarded by the pool's lock.
+     */
+    private static final class Ticket {
+        final int number;
+        final String value;
+        boolean inUse;
+        Instant nextCallAt = Instant.MIN;
+        Instant outUntil = Instant.MIN;
+        String outReason;
+        int consecutiveErrors;
+        int consecutiveThrottles;
+        LocalDate quotaDay;
+        int callsToday;
+        long calls;
+        long errors;
+
+        Ticket(int number, String value) {
+            this.number = number;
+            this.value = value;
+        }
+    }
+
+    private final List<Ticket> tickets = new ArrayList<>();
+    private final Duration minInterval;
+    private final int dailyQuota;
+    private final Duration throttleCooldown;
+    private final Duration banDuration;
+    private final int errorThreshold;
+    private final Duration errorCooldown;
+    private final TenderMetrics tenderMetrics;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    @Autowired
+    public ApiTicketPool(MercadoPublicoProperties properties,
+                         TenderMetrics tenderMetrics,
+                         @Value("${licitaciones.tickets.min-interval:3s}") Duration minInterval,
+                         @Value("${licitaciones.tickets.daily-quota:10000}") int dailyQuota,
+                         @Value("${licitaciones.tickets.throttle-cooldown:1m}") Duration throttleCooldown,
+                         @Value("${licitaciones.tickets.ban-duration:6h}") Duration banDuration,
+                         @Value("${licitaciones.tickets.error-threshold:5}") int errorThreshold,
+                         @Value("${licitaciones.tickets.error-cooldown:30s}") Duration errorCooldown) {
+        this(properties.getTickets(), tenderMetrics, minInterval, dailyQuota, throttleCooldown, banDuration,
+                errorThreshold, errorCooldown, Clock.system(QUOTA_ZONE));
+    }
+
+    ApiTicketPool(List<String> values, TenderMetrics tenderMetrics, Duration minInterval, int dailyQuota,
+                  Duration throttleCooldown, Duration banDuration, int errorThreshold, Duration errorCooldown,
+                  Clock clock) {
+        if (values.isEmpty() || values.contains(PLACEHOLDER_TICKET)) {
+            log.error("API ticket not configured! Set mercadopublico.api.ticket in application.properties");
+            throw new IllegalStateException("Mercado Público API ticket is required");
+        }
+        for (String value : values) {
+            tickets.add(new Ticket(tickets.size() + 1, value));
+        }
+        this.tenderMetrics = tenderMetrics;
+        this.minInterval = minInterval;
+        this.dailyQuota = dailyQuota;
+        this.throttleCooldown = throttleCooldown;
+        this.banDuration = banDuration;
+        this.errorThreshold = errorThreshold;
+        this.errorCooldown = errorCooldown;
+        this.clock = clock;
+        log.info("API ticket pool: {} tickets, {} between calls and {} calls per day each",
+                tickets.size(), minInterval, dailyQuota);
+    }
+
+    public int size() {
+        return tickets.size();
+    }
+
+    /**
+     * Runs an API request with a ticket, waiting at most maxWait for one to be free.
+     * Response errors are recorded against the ticket and rethrown.
+     *
+     * @param request receives the ticket value to put in the URL
+     * @throws ConcurrencyLimitExceededException when no ticket is free in time
+     */
+    public <T> T call(Duration maxWait, Function<String, T> request) {
+        Ticket ticket = acquire(maxWait);
+        String outcome = "error";
+        try {
+            T result = request.apply(ticket.value);
+            outcome = "success";
+            return result;
+        } catch (RestClientResponseException e) {
+            outcome = classify(e);
+            throw e;
+        } finally {
+            release(ticket, outcome);
+        }
+    }
+
+    /**
+     * Blocks until some ticket is in rotation with quota left (it may still be pacing or busy).
+     * Lets background work pause while every ticket is out instead of failing item by item.
+     */
+    public void awaitInRotation() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                Instant now = clock.instant();
+                Instant earliest = null;
+                for (Ticket ticket : tickets) {
+                    Instant back = backInRotationAt(ticket, now);
+                    if (!back.isAfter(now)) {
+                        return;
+                    }
+                    earliest = earliest == null || back.isBefore(earliest) ? back : earliest;
+                }
+                released.await(Duration.between(now, earliest).toMillis() + 1, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<TicketStatus> status() {
+        lock.lock();
+        try {
+            Instant now = clock.instant();
+            LocalDate today = LocalDate.now(clock);
+            return tickets.stream()
+                    .map(t -> new TicketStatus(t.number, !backInRotationAt(t, now).isAfter(now),
+                            t.outUntil.isAfter(now) ? t.outReason : quotaLeft(t, today) ? null : "quota",
+                            t.outUntil.isAfter(now) ? t.outUntil : null,
+                            today.equals(t.quotaDay) ? t.callsToday : 0, dailyQuota, t.calls, t.errors))
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Ticket acquire(Duration maxWait) {
+        lock.lock();
+        try {
+            Instant deadline = clock.instant().plus(maxWait);
+            while (true) {
+                Instant now = clock.instant();
+                LocalDate today = LocalDate.now(clock);
+                Ticket best = null;
+                Instant earliest = deadline;
+                for (Ticket ticket : tickets) {
+                    if (ticket.inUse) {
+                        continue; // Its release signals
+                    }
+                    Instant freeAt = max(ticket.nextCallAt, backInRotationAt(ticket, now));
+                    if (freeAt.isAfter(now)) {
+                        earliest = freeAt.isBefore(earliest) ? freeAt : earliest;
+                    } else if (best == null || callsToday(ticket, today) < callsToday(best, today)) {
+                        best = ticket;
+                    }
+                }
+                if (best != null) {
+                    if (!today.equals(best.quotaDay)) {
+                        best.quotaDay = today;
+                        best.callsToday = 0;
+                    }
+                    best.callsToday++;
+                    best.calls++;
+                    best.inUse = true;
+                    best.nextCallAt = now.plus(minInterval);
+                    return best;
+                }
+                if (!now.isBefore(deadline)) {
+                    throw new ConcurrencyLimitExceededException("No API ticket available after " + maxWait);
+                }
+                try {
+                    released.await(Duration.between(now, earliest).toMillis() + 1, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ConcurrencyLimitExceededException("API ticket wait interrupted");
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Ticket ticket, String outcome) {
+        lock.lock();
+        try {
+            Instant now = clock.instant();
+            ticket.inUse = false;
+            switch (outcome) {
+                case "success", "rejected" -> {
+                    ticket.consecutiveErrors = 0;
+                    ticket.consecutiveThrottles = 0;
+                }
+                case "auth" -> takeOut(ticket, "auth", now.plus(banDuration));
+                case "throttled" -> {
+                    ticket.consecutiveThrottles++;
+                    Duration cooldown = throttleCooldown.multipliedBy(1L << Math.min(ticket.consecutiveThrottles - 1, 16));
+                    takeOut(ticket, "throttled", now.plus(cooldown.compareTo(banDuration) < 0 ? cooldown : banDuration));
+                }
+                default -> {
+                    if (++ticket.consecutiveErrors >= errorThreshold) {
+                        ticket.consecutiveErrors = 0;
+                        takeOut(ticket, "errors", now.plus(errorCooldown));
+                    }
+                }
+            }
+            if (!"success".equals(outcome)) {
+                ticket.errors++;
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        tenderMetrics.ticketCall(ticket.number, outcome);
+    }
+
+    private void takeOut(Ticket ticket, String reason, Instant until) {
+        ticket.outReason = reason;
+        ticket.outUntil = until;
+        log.warn("API ticket #{} out of rotation until {} ({})", ticket.number, until, reason);
+    }
+
+    /**
+     * When the ticket can be used again regardless of pacing: now, the end of its cooldown,
+     * or the next day when today's quota is used up.
+     */
+    private Instant backInRotationAt(Ticket ticket, Instant now) {
+        Instant at = max(now, ticket.outUntil);
+        LocalDate today = LocalDate.now(clock);
+        if (!quotaLeft(ticket, today)) {
+            at = max(at, today.plusDays(1).atStartOfDay(clock.getZone()).toInstant());
+        }
+        return at;
+    }
+
+    private boolean quotaLeft(Ticket ticket, LocalDate today) {
+        return callsToday(ticket, today) < dailyQuota;
+    }
+
+    private static int callsToday(Ticket ticket, LocalDate today) {
+        return today.equals(ticket.quotaDay) ? ticket.callsToday : 0;
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * auth and throttled take the ticket out, error counts toward error-threshold,
+     * rejected (other 4xx: the request's fault) does not affect the ticket.
+     */
+    static String classify(RestClientResponseException e) {
+        int status = e.getStatusCode().value();
+        if (status == 401 || status == 403) {
+            return "auth";
+        }
+        if (status == 429 || e.getResponseBodyAsString().contains(SIMULTANEOUS_REQUESTS_CODE)) {
+            return "throttled";
+        }
+        return status >= 500 ? "error" : "rejected";
+    }
+}
@@ -0,0 +1,163 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.dto.BuyerSummaryDTO;
+import cl.sapo.licitaciones.dto.CompradorDTO;
+import cl.sapo.licitaciones.entity.Comprador;
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.entity.Region;
+import cl.sapo.licitaciones.repository.CompradorRepository;
+import cl.sapo.licitaciones.repository.LicitacionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for the buyer dimension.
+ * SyncService calls upsert() when a tender brings buyer data and refreshCounts()
+ * with the RUTs touched by a change, so counts stay current without full-table aggregations.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CompradorService {
+
+    private static final int STATUS_PUBLISHED = 5;
+
+    private final CompradorRepository compradorRepository;
+    private final LicitacionRepository licitacionRepository;
+    private final TenderReadModel tenderReadModel;
+
+    /**
+     * Creates or updates a buyer from the API Comprador block. Joins the caller's transaction.
+     */
+    @Transactional
+    public void upsert(CompradorDTO dto) {
+        upsertAll(dto != null ? List.of(dto) : List.of());
+    }
+
+    /**
+     * Creates or updates the buyers of a batch of Comprador blocks with one lookup
+     * and one batched save (the last block of a RUT wins). Joins the caller's transaction.
+     */
+    @Transactional
+    public void upsertAll(Collection<CompradorDTO> dtos) {
+        Map<String, CompradorDTO> byRut = new LinkedHashMap<>();
+        for (CompradorDTO dto : dtos) {
+            if (dto != null && dto.rutUnidad() != null && !dto.rutUnidad().isBlank()) {
+                byRut.put(dto.rutUnidad(), dto);
+            }
+        }
+        if (byRut.isEmpty()) {
+            return;
+        }
+
+        Map<String, Comprador> existing = compradorRepository.findAllById(byRut.keySet()).stream()
+                .collect(Collectors.toMap(Comprador::getRut, Function.identity()));
+        List<Comprador> buyers = new ArrayList<>(byRut.size());
+        byRut.forEach((rut, dto) -> {
+            Comprador comprador = existing.getOrDefault(rut, Comprador.builder().rut(rut).build());
+            comprador.setNombre(dto.nombreUnidad());
+            comprador.setRegionId(Region.resolve(dto.regionUnidad()).map(Region::getId).orElse(null));
+            buyers.add(comprador);
+        });
+        compradorRepository.saveAll(buyers);
+    }
+
+    /**
+     * Recomputes the open tender count of the given buyers: one grouped count and one
+     * batched update. Joins the caller's transaction so that counts see its pending changes.
+     */
+    @Transactional
+    public void refreshCounts(Collection<String> ruts) {
+        Set<String> buyerRuts = new HashSet<>();
+        for (String rut : ruts) {
+            if (rut != null) {
+                buyerRuts.add(rut);
+            }
+        }
+        if (buyerRuts.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : licitacionRepository.countPublishedByBuyerRutIn(buyerRuts)) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+        // Managed entities: changed counts are flushed as one JDBC batch
+        for (Comprador comprador : compradorRepository.findAllById(buyerRuts)) {
+            comprador.setOpenTenderCount(counts.getOrDefault(comprador.getRut(), 0L));
+        }
+        log.debug("Refreshed open tender counts for {} buyers", buyerRuts.size());
+    }
+
+    /**
+     * Buyers with open tenders, most active first.
+     */
+    public List<BuyerSummaryDTO> getTopBuyers(int limit) {
+        return compradorRepository
+                .findByOpenTenderCountGreaterThanOrderByOpenTenderCountDesc(0, PageRequest.of(0, limit))
+                .stream()
+                .map(BuyerSummaryDTO::from)
+                .toList();
+    }
+
+    public Optional<Comprador> getBuyer(String rut) {
+        return compradorRepository.findById(rut);
+    }
+
+    /**
+     * Published tenders of a buyer, furthest close date first.
+     */
+    public List<Licitacion> getOpenTenders(String rut) {
+        TenderSnapshot snapshot = tenderReadModel.current();
+        if (snapshot != null) {
+            return snapshot.findByBuyerRut(rut);
+        }
+        return licitacionRepository.findByBuyerRutAndCodigoEstadoOrderByFechaCierreDesc(rut, STATUS_PUBLISHED);
+    }
+
+    /**
+     * Seeds the buyer dimension from existing tenders the first time it is deployed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillBuyers() {
+        try {
+            if (compradorRepository.count() > 0) {
+                return;
+            }
+
+            List<Comprador> buyers = new ArrayList<>();
+            for (Object[] row : licitacionRepository.aggregateBuyers()) {
+                buyers.add(Comprador.builder()
+                        .rut((String) row[0])
+                        .nombre((String) row[1])
+                        .regionId((Integer) row[2])
+                        .openTenderCount((Long) row[3])
+                        .build());
+            }
+
+            if (!buyers.isEmpty()) {
+                compradorRepository.saveAll(buyers);
+                log.info("Buyer dimension seeded with {} buyers", buyers.size());
+            }
+        } catch (Exception e) {
+            log.error("Error seeding buyer dimension", e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.dto.LicitacionDTO;
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.repository.SuscripcionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Tenders waiting for enrichment, highest priority first. The API budget is fixed (one detail
+ * call per tender at SyncService's pace); the order decides which tenders are complete first:
+ *   priority = urgency + 0.5 if it matches a saved search + 0.5 if it matches a popular search
+ *              + 0.25 per doubling of its recent views (at most 1)
+ *   urgency  = 1 day / (1 day + time to close): 1 closing now, 0.5 a day ahead, 0.02 two months ahead
+ * Priorities of the whole queue are recomputed whenever a sync submits new work, since time
+ * to close, views and popular searches move in the meantime. Tenders submitted again replace
+ * their pending entry; tenders that closed while waiting, or were enriched on demand
+ * (remove), are dropped.
+ */
+@Component
+@Slf4j
+public class EnrichmentQueue {
+
+    private static final Duration URGENCY_SCALE = Duration.ofDays(1);
+    private static final double SAVED_SEARCH_WEIGHT = 0.5;
+    private static final double POPULAR_SEARCH_WEIGHT = 0.5;
+    private static final double VIEW_WEIGHT = 0.25;
+    private static final double MAX_VIEW_SCORE = 1.0;
+
+    private record Pending(LicitacionDTO dto, Licitacion tender) {
+    }
+
+    private record Entry(Pending pending, double priority) {
+    }
+
+    private final TenderInterest tenderInterest;
+    private final SuscripcionRepository suscripcionRepository;
+
+    private final Map<String, Pending> pending = new HashMap<>();
+    private PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparingDouble(Entry::priority).reversed());
+
+    public EnrichmentQueue(TenderInterest tenderInterest, SuscripcionRepository suscripcionRepository) {
+        this.tenderInterest = tenderInterest;
+        this.suscripcionRepository = suscripcionRepository;
+    }
+
+    /**
+     * Adds tenders from the API listing with their mapped entities (same order) and
+     * reprioritizes everything that is waiting.
+     */
+    public void submit(List<LicitacionDTO> dtos, List<Licitacion> tenders) {
+        // Interest signals are read outside the lock
+        List<SearchResultCache.Key> savedSearches = suscripcionRepository.findAll().stream()
+                .map(s -> SearchResultCache.Key.of(s.getQuery(), s.getRegion(), s.getProductCode(), null))
+                .toList();
+        List<SearchResultCache.Key> popularSearches = tenderInterest.popularSearches();
+        LocalDateTime now = LocalDateTime.now();
+
+        synchronized (this) {
+            for (int i = 0; i < dtos.size(); i++) {
+                pending.put(dtos.get(i).codigoExterno(), new Pending(dtos.get(i), tenders.get(i)));
+            }
+
+            PriorityQueue<Entry> reprioritized = new PriorityQueue<>(Math.max(1, pending.size()), queue.comparator());
+            for (Pending p : pending.values()) {
+                reprioritized.add(new Entry(p, priority(p.tender(), now, savedSearches, popularSearches)));
+            }
+            queue = reprioritized;
+            log.info("Enrichment queue: {} tenders ({} submitted, {} saved and {} popular searches)",
+                    pending.size(), dtos.size(), savedSearches.size(), popularSearches.size());
+        }
+    }
+
+    /**
+     * Removes and returns the highest priority tender that is still open, or null when none is left.
+     */
+    public synchronized LicitacionDTO poll() {
+        LocalDateTime now = LocalDateTime.now();
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            Pending p = entry.pending();
+            if (!pending.remove(p.dto().codigoExterno(), p)) {
+                continue; // Removed since the queue was built
+            }
+            if (p.tender().getFechaCierre() != null && p.tender().getFechaCierre().isAfter(now)) {
+                return p.dto();
+            }
+        }
+        return null;
+    }
+
+    public synchronized boolean contains(String codigoExterno) {
+        return pending.containsKey(codigoExterno);
+    }
+
+    /**
+     * Takes a tender out of the queue (it was enriched some other way).
+     */
+    public synchronized void remove(String codigoExterno) {
+        pending.remove(codigoExterno);
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    double priority(Licitacion tender, LocalDateTime now,
+                    List<SearchResultCache.Key> savedSearches, List<SearchResultCache.Key> popularSearches) {
+        double priority = urgency(tender.getFechaCierre(), now);
+        if (matchesAny(tender, savedSearches)) {
+            priority += SAVED_SEARCH_WEIGHT;
+        }
+        if (matchesAny(tender, popularSearches)) {
+            priority += POPULAR_SEARCH_WEIGHT;
+        }
+        long views = tenderInterest.views(tender.getCodigoExterno());
+        if (views > 0) {
+            priority += Math.min(MAX_VIEW_SCORE, VIEW_WEIGHT * (Math.log1p(views) / Math.log(2)));
+        }
+        return priority;
+    }
+
+    static double urgency(LocalDateTime fechaCierre, LocalDateTime now) {
+        if (fechaCierre == null) {
+            return 0;
+        }
+        double untilClose = Math.max(0, Duration.between(now, fechaCierre).toSeconds());
+        double scale = URGENCY_SCALE.toSeconds();
+        return scale / (scale + untilClose);
+    }
+
+    private static boolean matchesAny(Licitacion tender, List<SearchResultCache.Key> searches) {
+        for (SearchResultCache.Key search : searches) {
+            if (search.matches(tender)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
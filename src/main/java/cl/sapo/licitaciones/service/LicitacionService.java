@@ -1,20 +1,30 @@
 package cl.sapo.licitaciones.service;
 
+import cl.sapo.licitaciones.config.ReadWriteRoutingDataSource;
 import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.entity.Region;
 import cl.sapo.licitaciones.repository.LicitacionRepository;
 import cl.sapo.licitaciones.repository.LicitacionSpecs;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Service for querying and managing tenders.
+ * Reads are served lock-free from the in-memory TenderReadModel when it is fresh,
+ * falling back to the database otherwise. The read paths are deliberately not
+ * transactional so that a snapshot read never borrows a pooled connection; the
+ * database fallback runs in the repository's own read-only transaction (on a read replica
+ * when configured, except for results that get cached).
  */
 @Service
 @RequiredArgsConstructor
@@ -22,35 +32,127 @@ import java.util.Optional;
 public class LicitacionService {
 
     private final LicitacionRepository licitacionRepository;
+    private final SearchResultCache searchResultCache;
+    private final TenderReadModel tenderReadModel;
+    private final TenderMetrics tenderMetrics;
+    private final TenderInterest tenderInterest;
+    private final OnDemandEnrichmentService onDemandEnrichmentService;
 
     /**
      * Search tenders with optional text query and region filter.
+     * Results are served from the search cache when available.
      */
-    @Transactional(readOnly = true)
     public List<Licitacion> searchTenders(String query, String region, String sortBy) {
-        log.debug("Searching tenders with query='{}', region='{}', sortBy='{}'", query, region, sortBy);
+        return searchTenders(query, region, null, sortBy);
+    }
+
+    /**
+     * Search tenders with optional text query, region and UNSPSC product code or category prefix.
+     */
+    public List<Licitacion> searchTenders(String query, String region, String productCode, String sortBy) {
+        log.debug("Searching tenders with query='{}', region='{}', productCode='{}', sortBy='{}'",
+                query, region, productCode, sortBy);
+
+        SearchResultCache.Key key = SearchResultCache.Key.of(query, region, productCode, sortBy);
+        Specification<Licitacion> spec = LicitacionSpecs.searchWithFilters(query, region, key.productCode());
+        return findCached(key, spec, sortBy);
+    }
+
+    /**
+     * One page of a search. The cursor is the last tender of the previous page (null for the first page).
+     * Pages are cut from the cached result, so paging through a search runs it only once.
+     */
+    public TenderPage searchTenderPage(String query, String region, String productCode, String sortBy,
+                                       TenderCursor cursor, int limit) {
+        List<Licitacion> all = searchTenders(query, region, productCode, sortBy);
 
-        Specification<Licitacion> spec = LicitacionSpecs.searchWithFilters(query, region);
-        Sort sort = getSortOrder(sortBy);
-        if (sort == null) {
-            sort = Sort.unsorted();
+        int from = 0;
+        if (cursor != null) {
+            while (from < all.size() && !cursor.precedes(all.get(from), sortBy)) {
+                from++;
+            }
         }
+        int to = Math.min(from + limit, all.size());
 
-        return licitacionRepository.findAll(spec, sort);
+        List<Licitacion> page = all.subList(from, to);
+        TenderCursor next = to < all.size() ? TenderCursor.after(all.get(to - 1), sortBy) : null;
+        return new TenderPage(List.copyOf(page), next);
     }
 
     /**
      * Get all tenders (published only).
      */
-    @Transactional(readOnly = true)
     public List<Licitacion> getAllTenders(String sortBy) {
         Specification<Licitacion> spec = LicitacionSpecs.hasStatus(5);
-        Sort sort = getSortOrder(sortBy);
-        if (sort == null) {
-            sort = Sort.unsorted();
+        return findCached(SearchResultCache.Key.of(null, null, sortBy), spec, sortBy);
+    }
+
+    /**
+     * Resolves cached codes on a hit. On a miss, searches the read model snapshot
+     * (or runs the specification query when it is stale) and caches the result.
+     */
+    private List<Licitacion> findCached(SearchResultCache.Key key, Specification<Licitacion> spec, String sortBy) {
+        Timer.Sample sample = tenderMetrics.start();
+        tenderInterest.recordSearch(key);
+        // Generation before snapshot: the read model is patched before the cache is invalidated,
+        // so a change landing in between makes put() discard the result instead of caching a
+        // result of the old snapshot under the new generation
+        long generation = searchResultCache.currentGeneration();
+        TenderSnapshot snapshot = tenderReadModel.current();
+
+        List<String> cachedCodigos = searchResultCache.get(key);
+        if (cachedCodigos != null) {
+            List<Licitacion> tenders = snapshot != null ? snapshot.findAllInOrder(cachedCodigos) : findAllInOrder(cachedCodigos);
+            tenderMetrics.search(sample, "cache", key);
+            return tenders;
+        }
+
+        List<Licitacion> tenders;
+        String source;
+        if (snapshot != null && TenderSnapshot.canServe(key.query(), key.region())) {
+            tenders = snapshot.search(key.query(), key.region(), key.productCode(), sortBy);
+            source = "snapshot";
+        } else {
+            Sort sort = getSortOrder(sortBy);
+            Sort order = sort != null ? sort : Sort.unsorted();
+            // Cached until the next change, so it must not come from a lagging replica
+            tenders = ReadWriteRoutingDataSource.onPrimary(() -> licitacionRepository.findAll(spec, order));
+            source = "database";
         }
 
-        return licitacionRepository.findAll(spec, sort);
+        searchResultCache.put(key, tenders.stream().map(Licitacion::getCodigoExterno).toList(), generation);
+        tenderMetrics.search(sample, source, key);
+        return tenders;
+    }
+
+    /**
+     * Published tenders for the given codes, in the given order. Unknown codes are skipped.
+     */
+    public List<Licitacion> getTendersByCodes(List<String> codigos) {
+        TenderSnapshot snapshot = tenderReadModel.current();
+        if (snapshot != null) {
+            return snapshot.findAllInOrder(codigos);
+        }
+        return findAllInOrder(codigos).stream()
+                .filter(l -> l.getCodigoEstado() != null && l.getCodigoEstado() == 5)
+                .toList();
+    }
+
+    /**
+     * Loads tenders by code keeping the given order. Codes deleted meanwhile are skipped.
+     */
+    private List<Licitacion> findAllInOrder(List<String> codigos) {
+        Map<String, Licitacion> byCodigo = new HashMap<>();
+        licitacionRepository.findAllById(codigos).forEach(l -> byCodigo.put(l.getCodigoExterno(), l));
+
+        List<Licitacion> ordered = new ArrayList<>(codigos.size());
+        for (String codigo : codigos) {
+            Licitacion tender = byCodigo.get(codigo);
+            if (tender != null) {
+                ordered.add(tender);
+            }
+        }
+        return ordered;
     }
 
     /**
@@ -59,34 +161,62 @@ public class LicitacionService {
      * - "close_date": Order by close date (furthest in future first)
      */
     private Sort getSortOrder(String sortBy) {
+        // Code as tie-breaker keeps the order total (TenderCursor, TenderSnapshot)
+        Sort tieBreaker = Sort.by(Sort.Direction.ASC, "codigoExterno");
         if ("creation_date".equalsIgnoreCase(sortBy)) {
-            return Sort.by(Sort.Direction.DESC, "createdAt");
+            return Sort.by(Sort.Direction.DESC, "createdAt").and(tieBreaker);
         }
         // Default: close_date - furthest closing date first
-        return Sort.by(Sort.Direction.DESC, "fechaCierre");
+        return Sort.by(Sort.Direction.DESC, "fechaCierre").and(tieBreaker);
     }
 
     /**
-     * Get tenders by region.
+     * Get tenders by region. The input goes through the same canonicalization as ingested
+     * regions (Region.resolve), so any spelling of a known region selects it by key;
+     * unknown values are matched verbatim, as they are stored.
      */
-    @Transactional(readOnly = true)
     public List<Licitacion> getTendersByRegion(String region) {
-        return licitacionRepository.findByRegionIgnoreCase(region);
+        Optional<Region> resolved = Region.resolve(region);
+        TenderSnapshot snapshot = tenderReadModel.current();
+        if (snapshot != null) {
+            return resolved.map(r -> snapshot.findByRegionId(r.getId()))
+                    .orElseGet(() -> snapshot.findByRegionIgnoreCase(region));
+        }
+        return resolved.map(r -> licitacionRepository.findByRegionId(r.getId()))
+                .orElseGet(() -> licitacionRepository.findByRegionIgnoreCase(region));
     }
 
     /**
-     * Get tender by external code.
+     * Get tender by external code, with its items. A tender still waiting for enrichment
+     * is enriched first (OnDemandEnrichmentService), so it comes with region, buyer and items.
      */
-    @Transactional(readOnly = true)
     public Optional<Licitacion> getTenderByCode(@org.springframework.lang.NonNull String codigoExterno) {
-        return licitacionRepository.findById(codigoExterno);
+        if (onDemandEnrichmentService.enrichIfPending(codigoExterno)) {
+            // Just committed: a replica may not have it yet
+            return ReadWriteRoutingDataSource.onPrimary(() -> findTenderByCode(codigoExterno));
+        }
+        return findTenderByCode(codigoExterno);
+    }
+
+    private Optional<Licitacion> findTenderByCode(String codigoExterno) {
+        TenderSnapshot snapshot = tenderReadModel.current();
+        if (snapshot != null) {
+            Optional<Licitacion> tender = snapshot.find(codigoExterno);
+            if (tender.isPresent()) {
+                return tender;
+            }
+        }
+        return licitacionRepository.findByCodigoExternoWithItems(codigoExterno);
     }
 
     /**
      * Count total tenders.
      */
-    @Transactional(readOnly = true)
     public long countTenders() {
+        TenderSnapshot snapshot = tenderReadModel.current();
+        if (snapshot != null) {
+            return snapshot.size();
+        }
         return licitacionRepository.count();
     }
 }
@@ -0,0 +1,123 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.config.ConcurrencyLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Read-through enrichment: a tender requested while it still waits in the EnrichmentQueue
+ * (no region, buyer or items yet) is enriched right away, in the request, instead of when the
+ * background worker reaches it.
+ * - The upstream call goes through the shared permit (ConcurrencyLimits), waiting at most
+ *   on-demand.wait for it; when the API is busy the request gets the basic data and the
+ *   tender stays queued
+ * - Single-flight: concurrent requests for the same code wait for the first one's call
+ * - The result is stored like a background enrichment (ENRICHED event: read model and search
+ *   cache are updated on commit) and the tender leaves the queue, so it is fetched once.
+ *   It also leaves the queue when the API has no detail for it; when the call fails
+ *   (error status, timeout) it stays queued for the background worker
+ */
+@Service
+@Slf4j
+public class OnDemandEnrichmentService {
+
+    // Followers only wait for the call already in flight
+    private static final Duration MAX_FOLLOWER_WAIT = Duration.ofSeconds(5);
+
+    private final SyncService syncService;
+    private final EnrichmentQueue enrichmentQueue;
+    private final TenderMetrics tenderMetrics;
+    private final boolean enabled;
+    private final Duration maxUpstreamWait;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    public OnDemandEnrichmentService(SyncService syncService,
+                                     EnrichmentQueue enrichmentQueue,
+                                     TenderMetrics tenderMetrics,
+                                     @Value("${licitaciones.enrichment.on-demand.enabled:true}") boolean enabled,
+                                     @Value("${licitaciones.enrichment.on-demand.wait:1s}") Duration maxUpstreamWait) {
+        this.syncService = syncService;
+        this.enrichmentQueue = enrichmentQueue;
+        this.tenderMetrics = tenderMetrics;
+        this.enabled = enabled;
+        this.maxUpstreamWait = maxUpstreamWait;
+    }
+
+    /**
+     * Enriches the tender now if it is still waiting for enrichment.
+     *
+     * @return true when the tender was enriched by this or a concurrent request
+     */
+    public boolean enrichIfPending(String codigoExterno) {
+        if (!enabled || !enrichmentQueue.contains(codigoExterno)) {
+            return false;
+        }
+
+        CompletableFuture<Boolean> flight = new CompletableFuture<>();
+        CompletableFuture<Boolean> leader = inFlight.putIfAbsent(codigoExterno, flight);
+        if (leader != null) {
+            return await(codigoExterno, leader);
+        }
+
+        boolean enriched = false;
+        try {
+            enriched = enrich(codigoExterno);
+        } finally {
+            inFlight.remove(codigoExterno, flight);
+            flight.complete(enriched);
+        }
+        return enriched;
+    }
+
+    private boolean enrich(String codigoExterno) {
+        // The background worker may have taken it meanwhile
+        if (!enrichmentQueue.contains(codigoExterno)) {
+            return false;
+        }
+        try {
+            boolean enriched = syncService.enrichTender(codigoExterno, maxUpstreamWait);
+            // Enriched, or the API has no detail: the worker would only repeat the same call
+            enrichmentQueue.remove(codigoExterno);
+            tenderMetrics.enrichment(enriched ? "enriched" : "not_found");
+            if (enriched) {
+                tenderMetrics.tendersWritten("enriched", 1);
+                log.debug("Tender {} enriched on demand", codigoExterno);
+            }
+            return enriched;
+        } catch (ConcurrencyLimitExceededException e) {
+            // API busy: serve the basic data, the tender stays queued
+            log.debug("Upstream busy, tender {} left for background enrichment", codigoExterno);
+            tenderMetrics.enrichment("deferred");
+            return false;
+        } catch (UpstreamCallException e) {
+            log.debug("Tender {} left for background enrichment: {}", codigoExterno, e.getMessage());
+            tenderMetrics.enrichment("error");
+            return false;
+        } catch (RuntimeException e) {
+            log.error("Error enriching tender {} on demand: {}", codigoExterno, e.getMessage());
+            tenderMetrics.enrichment("error");
+            return false;
+        }
+    }
+
+    private boolean await(String codigoExterno, CompletableFuture<Boolean> leader) {
+        try {
+            return leader.get(MAX_FOLLOWER_WAIT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("Gave up waiting for on-demand enrichment of {}", codigoExterno);
+            return false;
+        }
+    }
+}
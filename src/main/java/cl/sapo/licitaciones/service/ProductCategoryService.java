@@ -0,0 +1,110 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.dto.ProductCategoryDTO;
+import cl.sapo.licitaciones.entity.ItemLicitacion;
+import cl.sapo.licitaciones.entity.Unspsc;
+import cl.sapo.licitaciones.event.TendersChangedEvent;
+import cl.sapo.licitaciones.repository.ItemLicitacionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for UNSPSC product category rollups (segment, family, class, commodity)
+ * and for deriving the category columns of items stored before they existed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCategoryService {
+
+    private final ItemLicitacionRepository itemLicitacionRepository;
+    private final TenderReadModel tenderReadModel;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Child categories of a prefix with their number of published tenders, most used first.
+     * A null prefix returns the segments. Commodities have no children.
+     */
+    public List<ProductCategoryDTO> getChildCategories(String prefix) {
+        Unspsc.Level level = prefix == null ? Unspsc.Level.SEGMENT : Unspsc.Level.of(prefix).child();
+        if (level == null) {
+            return List.of();
+        }
+
+        Map<String, Long> counts;
+        TenderSnapshot snapshot = tenderReadModel.current();
+        if (snapshot != null) {
+            counts = snapshot.countByProductCategory(prefix);
+        } else {
+            counts = new HashMap<>();
+            for (Object[] row : countFromDatabase(prefix, level)) {
+                counts.put(String.valueOf(row[0]), (Long) row[1]);
+            }
+        }
+
+        List<ProductCategoryDTO> result = new ArrayList<>();
+        counts.forEach((code, count) -> result.add(new ProductCategoryDTO(code, level, count)));
+        result.sort(Comparator.comparingLong(ProductCategoryDTO::tenderCount).reversed()
+                .thenComparing(ProductCategoryDTO::code));
+        return result;
+    }
+
+    private List<Object[]> countFromDatabase(String prefix, Unspsc.Level level) {
+        return switch (level) {
+            case SEGMENT -> itemLicitacionRepository.countTendersBySegment();
+            case FAMILY -> itemLicitacionRepository.countTendersByFamily(Integer.parseInt(prefix));
+            case CLASS -> itemLicitacionRepository.countTendersByClass(Integer.parseInt(prefix));
+            case COMMODITY -> itemLicitacionRepository.countTendersByCommodity(Integer.parseInt(prefix));
+        };
+    }
+
+    /**
+     * Derives the category columns of items saved before they existed, in batches.
+     * Runs before the read model is loaded, like the region backfill.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillCategories() {
+        try {
+            int updated = 0;
+            long lastId = 0;
+            List<ItemLicitacion> batch;
+            do {
+                batch = itemLicitacionRepository
+                        .findTop500ByProductSegmentIsNullAndProductCodeIsNotNullAndIdGreaterThanOrderByIdAsc(lastId);
+                List<ItemLicitacion> changed = new ArrayList<>();
+                for (ItemLicitacion item : batch) {
+                    lastId = item.getId();
+                    Integer segment = Unspsc.categoryOf(item.getProductCode(), Unspsc.Level.SEGMENT);
+                    if (segment != null) {
+                        item.setProductSegment(segment);
+                        item.setProductFamily(Unspsc.categoryOf(item.getProductCode(), Unspsc.Level.FAMILY));
+                        item.setProductClass(Unspsc.categoryOf(item.getProductCode(), Unspsc.Level.CLASS));
+                        changed.add(item);
+                    }
+                }
+                itemLicitacionRepository.saveAll(changed);
+                updated += changed.size();
+            } while (!batch.isEmpty());
+
+            if (updated > 0) {
+                log.info("Product category backfill: {} items categorized", updated);
+                eventPublisher.publishEvent(TendersChangedEvent.bulk(TendersChangedEvent.ChangeType.UPSERTED));
+            }
+        } catch (Exception e) {
+            log.error("Error during product category backfill", e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.dto.RegionCountDTO;
+import cl.sapo.licitaciones.entity.Region;
+import cl.sapo.licitaciones.event.TendersChangedEvent;
+import cl.sapo.licitaciones.repository.LicitacionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service for the region dimension: per-region counts for the region picker
+ * and canonicalization of region values stored before region_id existed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RegionService {
+
+    private final LicitacionRepository licitacionRepository;
+    private final TenderReadModel tenderReadModel;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * All regions in official order with their number of published tenders.
+     */
+    public List<RegionCountDTO> getRegionCounts() {
+        Map<Integer, Long> counts;
+        TenderSnapshot snapshot = tenderReadModel.current();
+        if (snapshot != null) {
+            counts = snapshot.countByRegionId();
+        } else {
+            counts = new HashMap<>();
+            for (Object[] row : licitacionRepository.countByRegionId()) {
+                counts.put((Integer) row[0], (Long) row[1]);
+            }
+        }
+
+        List<RegionCountDTO> result = new ArrayList<>();
+        for (Region region : Region.values()) {
+            result.add(new RegionCountDTO(region.getId(), region.getNombre(), counts.getOrDefault(region.getId(), 0L)));
+        }
+        return result;
+    }
+
+    /**
+     * Resolves raw region values left from earlier versions to the region dimension.
+     * Runs before the read model is loaded so that it starts from canonical data.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillRegions() {
+        try {
+            int updated = 0;
+            for (String raw : licitacionRepository.findUnresolvedRegions()) {
+                Optional<Region> region = Region.resolve(raw);
+                if (region.isPresent()) {
+                    updated += licitacionRepository.assignRegion(raw, region.get().getNombre(), region.get().getId());
+                } else {
+                    log.warn("Unknown region value left unresolved: '{}'", raw);
+                }
+            }
+
+            if (updated > 0) {
+                log.info("Region backfill: {} tenders assigned to a canonical region", updated);
+                eventPublisher.publishEvent(TendersChangedEvent.bulk(TendersChangedEvent.ChangeType.UPSERTED));
+            }
+        } catch (Exception e) {
+            log.error("Error during region backfill", e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.config.ReadWriteRoutingDataSource;
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.event.TendersChangedEvent;
+import cl.sapo.licitaciones.repository.LicitacionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded in-process cache of search results (Caffeine, W-TinyLFU eviction).
+ * Stores the ordered list of tender codes per search so that popular queries skip
+ * the LicitacionSpecs scan. A hit is served without the database only when the
+ * TenderReadModel is on; otherwise the rows are still loaded by primary key.
+ * Entries have no TTL: they are invalidated by the TendersChangedEvent that
+ * SyncService publishes after each commit.
+ */
+@Component
+@Slf4j
+public class SearchResultCache {
+
+    private final Cache<Key, List<String>> cache;
+    private final LicitacionRepository licitacionRepository;
+    private final int preciseInvalidationLimit;
+
+    /**
+     * Incremented on every invalidation. Lets readers detect that data changed
+     * while their query was running, so they don't cache a stale result.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public SearchResultCache(LicitacionRepository licitacionRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${licitaciones.search-cache.maximum-size:500}") long maximumSize,
+                             @Value("${licitaciones.search-cache.precise-invalidation-limit:200}") int preciseInvalidationLimit) {
+        this.licitacionRepository = licitacionRepository;
+        this.preciseInvalidationLimit = preciseInvalidationLimit;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "searchResults");
+    }
+
+    /**
+     * Cache key. Query and region are stored normalized (lower case, no accents)
+     * because the database search is case and accent insensitive.
+     */
+    public record Key(String query, String region, String productCode, String sortBy) {
+
+        public static Key of(String query, String region, String sortBy) {
+            return of(query, region, null, sortBy);
+        }
+
+        public static Key of(String query, String region, String productCode, String sortBy) {
+            return new Key(
+                    TenderMatcher.normalize(query),
+                    TenderMatcher.normalize(region),
+                    productCode != null && !productCode.isBlank() ? productCode.trim() : null,
+                    sortBy != null ? sortBy.toLowerCase() : null);
+        }
+
+        boolean matches(Licitacion tender) {
+            return TenderMatcher.matches(tender, query, region, productCode);
+        }
+    }
+
+    /**
+     * Returns the cached tender codes for a search, or null on a miss.
+     */
+    public List<String> get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Current invalidation generation. Read it before running the query and pass it to put().
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a result unless an invalidation happened since the query started.
+     * The generation is checked again after the insert: an invalidation that bumped it
+     * between the first check and the insert may have scanned the cache before the entry
+     * was there, so the entry is removed (entries have no TTL to clean it up later).
+     */
+    public void put(Key key, List<String> codigos, long generationAtStart) {
+        if (generation.get() != generationAtStart) {
+            log.debug("Discarding search result for {}: data changed during query", key);
+            return;
+        }
+        List<String> value = List.copyOf(codigos);
+        cache.put(key, value);
+        if (generation.get() != generationAtStart) {
+            cache.asMap().remove(key, value);
+            log.debug("Discarding search result for {}: data changed while caching it", key);
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Sync commit hook. Invalidates only the entries whose result can differ:
+     * - Deleted tenders: entries that contain them.
+     * - Upserted tenders: entries that contain them (sort keys may have moved) or that they now match.
+     * - Enriched tenders: entries whose membership changes (sort keys are not touched by enrichment).
+     * Bulk or very large changes drop the whole cache.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onTendersChanged(TendersChangedEvent event) {
+        generation.incrementAndGet();
+
+        if (event.isBulk() || event.codigosExternos().size() > preciseInvalidationLimit) {
+            log.debug("Invalidating whole search cache after {} change", event.type());
+            cache.invalidateAll();
+            return;
+        }
+
+        Set<String> changed = event.codigosExternos();
+        Map<String, Licitacion> current = switch (event.type()) {
+            case DELETED, EXPIRED -> Map.of();
+            case UPSERTED, ENRICHED -> ReadWriteRoutingDataSource.onPrimary(
+                            () -> licitacionRepository.findAllWithItemsByCodigoExternoIn(changed)).stream()
+                    .collect(Collectors.toMap(Licitacion::getCodigoExterno, Function.identity()));
+        };
+
+        Set<Key> stale = new HashSet<>();
+        cache.asMap().forEach((key, codigos) -> {
+            if (isStale(event.type(), key, codigos, changed, current)) {
+                stale.add(key);
+            }
+        });
+        cache.invalidateAll(stale);
+
+        log.debug("Search cache: {} change on {} tenders invalidated {} entries",
+                event.type(), changed.size(), stale.size());
+    }
+
+    private boolean isStale(TendersChangedEvent.ChangeType type, Key key, List<String> codigos,
+                            Set<String> changed, Map<String, Licitacion> current) {
+        for (String codigo : changed) {
+            boolean contained = codigos.contains(codigo);
+            Licitacion tender = current.get(codigo);
+            boolean matchesNow = tender != null && key.matches(tender);
+
+            if (contained && (type != TendersChangedEvent.ChangeType.ENRICHED || !matchesNow)) {
+                return true;
+            }
+            if (!contained && matchesNow) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,218 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.entity.CoincidenciaSuscripcion;
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.entity.Suscripcion;
+import cl.sapo.licitaciones.event.TendersChangedEvent;
+import cl.sapo.licitaciones.repository.CoincidenciaSuscripcionRepository;
+import cl.sapo.licitaciones.repository.LicitacionRepository;
+import cl.sapo.licitaciones.repository.SuscripcionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Saved searches matched at ingest time (percolation).
+ * Every tender that SyncService upserts or enriches is evaluated against all
+ * subscriptions with TenderMatcher, and the result is recorded in
+ * subscription_matches. A feed poll is then an index lookup on its own matches
+ * instead of a full search, moving the cost from polls x tenders to
+ * changed tenders x subscriptions.
+ */
+@Service
+@Slf4j
+public class SubscriptionService {
+
+    private static final int PERCOLATION_BATCH_SIZE = 500;
+
+    private final SuscripcionRepository suscripcionRepository;
+    private final CoincidenciaSuscripcionRepository coincidenciaRepository;
+    private final LicitacionRepository licitacionRepository;
+    private final LicitacionService licitacionService;
+    private final TransactionTemplate matchTransaction;
+    private final int feedSize;
+
+    public SubscriptionService(SuscripcionRepository suscripcionRepository,
+                               CoincidenciaSuscripcionRepository coincidenciaRepository,
+                               LicitacionRepository licitacionRepository,
+                               LicitacionService licitacionService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${licitaciones.subscriptions.feed-size:100}") int feedSize) {
+        this.suscripcionRepository = suscripcionRepository;
+        this.coincidenciaRepository = coincidenciaRepository;
+        this.licitacionRepository = licitacionRepository;
+        this.licitacionService = licitacionService;
+        this.feedSize = feedSize;
+        // Own transaction so that a failed match write (e.g. two nodes percolating the
+        // same tender) is rolled back and logged without affecting the sync
+        this.matchTransaction = new TransactionTemplate(transactionManager);
+        this.matchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * A subscription with its filters normalized once for matching.
+     */
+    private record Filter(String id, String query, String region, String productCode) {
+
+        static Filter of(Suscripcion suscripcion) {
+            return new Filter(
+                    suscripcion.getId(),
+                    TenderMatcher.normalize(suscripcion.getQuery()),
+                    TenderMatcher.normalize(suscripcion.getRegion()),
+                    suscripcion.getProductCode());
+        }
+
+        boolean matches(Licitacion tender) {
+            return TenderMatcher.matches(tender, query, region, productCode);
+        }
+    }
+
+    /**
+     * Saves a search and seeds its feed with the currently published tenders that match it.
+     */
+    @Transactional
+    public Suscripcion create(String query, String region, String productCode) {
+        Suscripcion suscripcion = suscripcionRepository.save(Suscripcion.builder()
+                .id(UUID.randomUUID().toString())
+                .query(query)
+                .region(region)
+                .productCode(productCode)
+                .build());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CoincidenciaSuscripcion> matches = new ArrayList<>();
+        for (Licitacion tender : licitacionService.searchTenders(query, region, productCode, "close_date")) {
+            matches.add(CoincidenciaSuscripcion.builder()
+                    .subscriptionId(suscripcion.getId())
+                    .tenderCode(tender.getCodigoExterno())
+                    .matchedAt(now)
+                    .build());
+        }
+        coincidenciaRepository.saveAll(matches);
+
+        log.info("Subscription {} created with {} initial matches", suscripcion.getId(), matches.size());
+        return suscripcion;
+    }
+
+    public Optional<Suscripcion> getSubscription(String id) {
+        return suscripcionRepository.findById(id);
+    }
+
+    @Transactional
+    public boolean delete(String id) {
+        if (!suscripcionRepository.existsById(id)) {
+            return false;
+        }
+        coincidenciaRepository.deleteBySubscriptionId(id);
+        suscripcionRepository.deleteById(id);
+        log.info("Subscription {} deleted", id);
+        return true;
+    }
+
+    /**
+     * Most recently matched tenders of a subscription that are still published.
+     */
+    public List<Licitacion> getFeed(String id) {
+        List<String> codigos = coincidenciaRepository.findTenderCodes(id, PageRequest.of(0, feedSize));
+        return licitacionService.getTendersByCodes(codigos);
+    }
+
+    /**
+     * Sync commit hook. Percolates upserted and enriched tenders against all subscriptions
+     * and prunes matches of deleted and expired tenders. Remote events are skipped: the node that
+     * ingested the tenders already wrote the shared match table.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTendersChanged(TendersChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+
+        try {
+            matchTransaction.executeWithoutResult(status -> applyChange(event));
+        } catch (Exception e) {
+            log.error("Error matching subscriptions after {} change", event.type(), e);
+        }
+    }
+
+    private void applyChange(TendersChangedEvent event) {
+        switch (event.type()) {
+            // Tenders closed by the expiry ticker are still in the table: prune them by code.
+            // Bulk events (cleanup) only leave matches of tenders that are gone
+            case DELETED, EXPIRED -> {
+                if (event.isBulk()) {
+                    coincidenciaRepository.deleteOrphans();
+                } else {
+                    coincidenciaRepository.deleteByTenderCodeIn(event.codigosExternos());
+                }
+            }
+            case UPSERTED, ENRICHED -> {
+                // Bulk upserts come from backfills that don't change what a tender matches
+                if (!event.isBulk()) {
+                    percolate(event.codigosExternos());
+                }
+            }
+        }
+    }
+
+    private void percolate(Set<String> codigos) {
+        List<Filter> filters = suscripcionRepository.findAll().stream().map(Filter::of).toList();
+        if (filters.isEmpty()) {
+            return;
+        }
+
+        List<String> pending = new ArrayList<>(codigos);
+        int added = 0;
+        int removed = 0;
+        for (int from = 0; from < pending.size(); from += PERCOLATION_BATCH_SIZE) {
+            List<String> batch = pending.subList(from, Math.min(from + PERCOLATION_BATCH_SIZE, pending.size()));
+
+            Map<String, CoincidenciaSuscripcion> existing = new HashMap<>();
+            for (CoincidenciaSuscripcion match : coincidenciaRepository.findByTenderCodeIn(batch)) {
+                existing.put(match.getSubscriptionId() + '|' + match.getTenderCode(), match);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            List<CoincidenciaSuscripcion> toAdd = new ArrayList<>();
+            List<CoincidenciaSuscripcion> toRemove = new ArrayList<>();
+            for (Licitacion tender : licitacionRepository.findAllWithItemsByCodigoExternoIn(batch)) {
+                for (Filter filter : filters) {
+                    CoincidenciaSuscripcion match = existing.get(filter.id() + '|' + tender.getCodigoExterno());
+                    boolean matches = filter.matches(tender);
+                    if (matches && match == null) {
+                        toAdd.add(CoincidenciaSuscripcion.builder()
+                                .subscriptionId(filter.id())
+                                .tenderCode(tender.getCodigoExterno())
+                                .matchedAt(now)
+                                .build());
+                    } else if (!matches && match != null) {
+                        toRemove.add(match);
+                    }
+                }
+            }
+
+            coincidenciaRepository.saveAll(toAdd);
+            coincidenciaRepository.deleteAll(toRemove);
+            added += toAdd.size();
+            removed += toRemove.size();
+        }
+
+        log.debug("Percolated {} tenders against {} subscriptions: {} new matches, {} removed",
+                codigos.size(), filters.size(), added, removed);
+    }
+}
@@ -1,14 +1,18 @@
 package cl.sapo.licitaciones.service;
 
-import cl.sapo.licitaciones.dto.ItemDTO;
+import cl.sapo.licitaciones.config.ConcurrencyLimitExceededException;
+import cl.sapo.licitaciones.config.ConcurrencyLimits;
+import cl.sapo.licitaciones.dto.CompradorDTO;
 import cl.sapo.licitaciones.dto.LicitacionApiResponse;
 import cl.sapo.licitaciones.dto.LicitacionDTO;
-import cl.sapo.licitaciones.entity.ItemLicitacion;
 import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.event.TendersChangedEvent;
+import cl.sapo.licitaciones.jfr.EnrichmentCommitEvent;
+import cl.sapo.licitaciones.jfr.SyncPhaseEvent;
 import cl.sapo.licitaciones.repository.LicitacionRepository;
-import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -18,13 +22,17 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientResponseException;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service responsible for synchronizing tenders from Mercado Publico API.
@@ -35,35 +43,52 @@ import java.util.stream.Collectors;
 public class SyncService {
 
     private static final DateTimeFormatter API_DATE_FORMATTER = DateTimeFormatter.ofPattern("ddMMyyyy");
-    private static final DateTimeFormatter API_DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
     private static final int STATUS_PUBLISHED = 5; // Only tenders with status "Publicada"
 
     private final RestClient mercadoPublicoRestClient;
     private final LicitacionRepository licitacionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CompradorService compradorService;
+    private final ConcurrencyLimits concurrencyLimits;
+    private final TenderPartitionService tenderPartitionService;
+    private final TenderArchiveService tenderArchiveService;
+    private final TenderMetrics tenderMetrics;
+    private final TenderMapper tenderMapper;
+    private final EnrichmentQueue enrichmentQueue;
+    private final ApiTicketPool apiTicketPool;
     private final SyncService self; // Self-injection for @Transactional to work in @Async
     
-    private volatile boolean syncInProgress = false;
+    // Compare-and-set: scheduled and manual triggers may race on different threads
+    private final AtomicBoolean syncInProgress = new AtomicBoolean(false);
+    // Enrichment workers (at most one per API ticket) drain the queue; syncs only add to it
+    private final AtomicInteger enrichmentWorkers = new AtomicInteger();
     
     public SyncService(RestClient mercadoPublicoRestClient, 
                       LicitacionRepository licitacionRepository,
+                      ApplicationEventPublisher eventPublisher,
+                      CompradorService compradorService,
+                      ConcurrencyLimits concurrencyLimits,
+                      TenderPartitionService tenderPartitionService,
+                      TenderArchiveService tenderArchiveService,
+                      TenderMetrics tenderMetrics,
+                      TenderMapper tenderMapper,
+                      EnrichmentQueue enrichmentQueue,
+                      ApiTicketPool apiTicketPool,
                       @Lazy SyncService self) {
         this.mercadoPublicoRestClient = mercadoPublicoRestClient;
         this.licitacionRepository = licitacionRepository;
+        this.eventPublisher = eventPublisher;
+        this.compradorService = compradorService;
+        this.concurrencyLimits = concurrencyLimits;
+        this.tenderPartitionService = tenderPartitionService;
+        this.tenderArchiveService = tenderArchiveService;
+        this.tenderMetrics = tenderMetrics;
+        this.tenderMapper = tenderMapper;
+        this.enrichmentQueue = enrichmentQueue;
+        this.apiTicketPool = apiTicketPool;
         this.self = self;
     }
 
-    @Value("${mercadopublico.api.ticket}")
-    private String apiTicket;
-
-    @PostConstruct
-    public void validateConfig() {
-        if (apiTicket == null || "YOUR_API_KEY_HERE".equals(apiTicket)) {
-            log.error("API ticket not configured! Set mercadopublico.api.ticket in application.properties");
-            throw new IllegalStateException("Mercado Público API ticket is required");
-        }
-        log.info("API ticket validated successfully");
-    }
-
     /**
      * Scheduled sync task that runs every hour at minute 0.
      * Fetches tenders from Mercado Publico API and persists them.
@@ -74,119 +99,228 @@ public class SyncService {
      */
     @Scheduled(cron = "0 0 * * * *")
     public void syncTenders() {
-        if (syncInProgress) {
+        if (!syncInProgress.compareAndSet(false, true)) {
             log.warn("Sync already in progress, skipping this execution");
             return;
         }
         
-        syncInProgress = true;
         try {
             performSync();
         } finally {
-            syncInProgress = false;
+            syncInProgress.set(false);
         }
     }
     
     /**
      * Performs the actual synchronization logic.
+     * Each phase is timed as a metric and, when a flight recording is running, as a JFR event.
      */
     private void performSync() {
         log.info("Starting tender synchronization...");
+        SyncPhaseEvent run = SyncPhaseEvent.start("run");
+        int runTenders = 0;
+        String runOutcome = "error";
 
         try {
             // Use yesterday's date to avoid "fecha mayor a la actual" error
             String formattedDate = LocalDate.now().minusDays(1).format(API_DATE_FORMATTER);
-            LicitacionApiResponse response = fetchTendersFromApi(formattedDate);
+            Timer.Sample fetch = tenderMetrics.start();
+            SyncPhaseEvent fetchEvent = SyncPhaseEvent.start("fetch");
+            LicitacionApiResponse response = concurrencyLimits.withUpstream(() -> fetchTendersFromApi(formattedDate));
 
             if (response == null || response.listado() == null) {
+                tenderMetrics.syncPhase(fetch, "fetch", "empty");
+                fetchEvent.finish(0, "empty");
+                runOutcome = "empty";
                 log.warn("No tenders received from API");
                 return;
             }
+            tenderMetrics.syncPhase(fetch, "fetch", "success");
+            fetchEvent.finish(response.listado().size(), "success");
 
             log.info("Fetched {} tenders from API", response.cantidad());
 
             // PHASE 1: Quick save with basic data
-            List<LicitacionDTO> validBasicTenders = response.listado().stream()
-                    .filter(this::isValidTender)
-                    .collect(Collectors.toList());
+            // Validated and mapped in one pass: each date is parsed once
+            LocalDateTime now = LocalDateTime.now();
+            List<LicitacionDTO> validBasicTenders = new ArrayList<>(response.listado().size());
+            List<Licitacion> mappedTenders = new ArrayList<>(response.listado().size());
+            for (LicitacionDTO dto : response.listado()) {
+                Licitacion tender = tenderMapper.toValidEntity(dto, now);
+                if (tender != null) {
+                    validBasicTenders.add(dto);
+                    mappedTenders.add(tender);
+                }
+            }
 
             log.info("PHASE 1: Saving {} tenders with basic information (fast)", validBasicTenders.size());
-            int savedCount = processAndSaveTenders(response.listado(), validBasicTenders);
+            Timer.Sample save = tenderMetrics.start();
+            SyncPhaseEvent saveEvent = SyncPhaseEvent.start("save");
+            int savedCount;
+            try {
+                savedCount = concurrencyLimits.withDatabase(
+                        () -> processAndSaveTenders(response.listado(), validBasicTenders, mappedTenders));
+            } catch (RuntimeException e) {
+                tenderMetrics.syncPhase(save, "save", "error");
+                saveEvent.finish(mappedTenders.size(), "error");
+                throw e;
+            }
+            tenderMetrics.syncPhase(save, "save", "success");
+            saveEvent.finish(savedCount, "success");
+            runTenders = savedCount;
             log.info("PHASE 1 completed: {} tenders now visible in UI", savedCount);
 
-            // PHASE 2: Enrich with detailed data in background (async)
-            log.info("PHASE 2: Starting background enrichment for {} tenders (will take ~{} seconds)...", 
-                    validBasicTenders.size(), validBasicTenders.size() * 3);
-            
-            enrichTendersInBackground(validBasicTenders);
+            // PHASE 2: Enrich with detailed data in background (async), most urgent and most wanted first.
+            // Tenders still waiting from the previous sync are reprioritized together with the new ones.
+            enrichmentQueue.submit(validBasicTenders, mappedTenders);
+            log.info("PHASE 2: {} tenders queued for background enrichment ({} API tickets)",
+                    enrichmentQueue.size(), apiTicketPool.size());
+            startEnrichment();
+            runOutcome = "success";
 
         } catch (Exception e) {
             log.error("Error during tender synchronization", e);
+        } finally {
+            run.finish(runTenders, runOutcome);
         }
     }
     
     /**
-     * Enriches tenders with detailed information in background.
-     * This runs asynchronously so it doesn't block the main sync.
+     * Starts enrichment workers up to one per API ticket. Each call is paced per ticket
+     * (ApiTicketPool), so throughput grows with the number of tickets.
+     */
+    private void startEnrichment() {
+        int running;
+        while ((running = enrichmentWorkers.get()) < apiTicketPool.size() && !enrichmentQueue.isEmpty()) {
+            if (enrichmentWorkers.compareAndSet(running, running + 1)) {
+                self.enrichQueuedTenders();
+            }
+        }
+    }
+
+    /**
+     * Enriches queued tenders with detailed information in background, highest priority
+     * first (see EnrichmentQueue), until the queue is empty.
+     * This runs asynchronously so it doesn't block the main sync, and keeps running across
+     * syncs: the next sync adds its tenders to the queue instead of waiting.
      */
     @Async
-    public void enrichTendersInBackground(List<LicitacionDTO> basicTenders) {
-        log.info("Background enrichment started for {} tenders", basicTenders.size());
+    public void enrichQueuedTenders() {
+        try {
+            drainEnrichmentQueue();
+        } finally {
+            enrichmentWorkers.decrementAndGet();
+        }
+        // Work submitted while this worker was stopping
+        if (!Thread.currentThread().isInterrupted() && !enrichmentQueue.isEmpty()) {
+            startEnrichment();
+        }
+    }
+
+    private void drainEnrichmentQueue() {
+        log.info("Background enrichment started for {} tenders", enrichmentQueue.size());
+        Timer.Sample enrich = tenderMetrics.start();
+        SyncPhaseEvent enrichEvent = SyncPhaseEvent.start("enrich");
         
+        int processed = 0;
         int enrichedCount = 0;
         int errorCount = 0;
-        for (int i = 0; i < basicTenders.size(); i++) {
-            LicitacionDTO basicDto = basicTenders.get(i);
+        String outcome = "success";
+        while (true) {
+            LicitacionDTO basicDto;
+            try {
+                // Calls are paced per ticket by ApiTicketPool (licitaciones.tickets.min-interval);
+                // pause while every ticket is out of rotation instead of failing each tender
+                apiTicketPool.awaitInRotation();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Background enrichment interrupted after {} tenders, {} left in queue",
+                        processed, enrichmentQueue.size());
+                outcome = "interrupted";
+                break;
+            }
+            if ((basicDto = enrichmentQueue.poll()) == null) {
+                break;
+            }
+            tenderMetrics.setEnrichmentQueue(enrichmentQueue.size() + 1);
+            processed++;
+            String codigoExterno = basicDto.codigoExterno();
             
             try {
-                LicitacionDTO detailedDto = fetchTenderDetail(basicDto.codigoExterno());
-                if (detailedDto != null) {
-                    // Update existing tender with detailed information
-                    // Use self-injection to ensure @Transactional proxy is invoked
-                    self.updateTenderWithDetails(basicDto.codigoExterno(), detailedDto);
+                if (enrichTender(codigoExterno, concurrencyLimits.getAcquireTimeout())) {
+                    tenderMetrics.enrichment("enriched");
                     enrichedCount++;
                 } else {
+                    tenderMetrics.enrichment("not_found");
                     errorCount++;
                 }
                 
                 // Log progress every 50 tenders OR every 10 minutes (whichever comes first)
-                if ((i + 1) % 50 == 0) {
-                    log.info("Background enrichment progress: {}/{} tenders processed ({} enriched, {} errors)", 
-                            i + 1, basicTenders.size(), enrichedCount, errorCount);
+                if (processed % 50 == 0) {
+                    log.info("Background enrichment progress: {} tenders processed ({} enriched, {} errors), {} queued", 
+                            processed, enrichedCount, errorCount, enrichmentQueue.size());
                 }
                 
-                // Wait 3 seconds between requests to avoid rate limiting
-                if (i < basicTenders.size() - 1) {
-                    Thread.sleep(3000);
-                }
-                
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.warn("Background enrichment interrupted at tender {}/{}", i + 1, basicTenders.size());
-                break;
             } catch (Exception e) {
-                log.error("Error enriching tender {}: {}", basicDto.codigoExterno(), e.getMessage());
+                log.error("Error enriching tender {}: {}", codigoExterno, e.getMessage());
+                tenderMetrics.enrichment("error");
                 errorCount++;
             }
         }
+        tenderMetrics.setEnrichmentQueue(enrichmentQueue.size());
+        tenderMetrics.tendersWritten("enriched", enrichedCount);
+        tenderMetrics.syncPhase(enrich, "enrich", outcome);
+        enrichEvent.finish(enrichedCount, outcome);
         
         log.info("Background enrichment completed: {}/{} tenders enriched successfully, {} errors", 
-                enrichedCount, basicTenders.size(), errorCount);
+                enrichedCount, processed, errorCount);
     }
     
+    /**
+     * Fetches the detail of one tender and stores it (see updateTenderWithDetails).
+     * Used by the background worker and by on-demand enrichment (OnDemandEnrichmentService).
+     *
+     * @param maxUpstreamWait longest wait for the upstream permit, and then for an API ticket
+     * @return false when the API has no detail for the tender
+     * @throws UpstreamCallException when the API call failed (the tender may still have a detail)
+     * @throws ConcurrencyLimitExceededException when no permit or API ticket is free within maxUpstreamWait
+     */
+    public boolean enrichTender(String codigoExterno, Duration maxUpstreamWait) {
+        LicitacionDTO detailedDto = concurrencyLimits.withUpstream(
+                () -> fetchTenderDetail(codigoExterno, maxUpstreamWait), maxUpstreamWait);
+        if (detailedDto == null) {
+            return false;
+        }
+        // Update existing tender with detailed information
+        // Use self-injection to ensure @Transactional proxy is invoked
+        EnrichmentCommitEvent commitEvent = EnrichmentCommitEvent.start(codigoExterno);
+        try {
+            concurrencyLimits.runWithDatabase(() -> self.updateTenderWithDetails(codigoExterno, detailedDto));
+        } catch (RuntimeException e) {
+            commitEvent.finish(itemCount(detailedDto), "error");
+            throw e;
+        }
+        commitEvent.finish(itemCount(detailedDto), "success");
+        return true;
+    }
+
     /**
      * Updates an existing tender with detailed information.
      * Uses REQUIRES_NEW to ensure independent transaction in async context.
+     * Listeners of the ENRICHED event run after this transaction commits.
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void updateTenderWithDetails(String codigoExterno, LicitacionDTO detailedDto) {
         // Fetch with items eagerly loaded to avoid LazyInitializationException
         licitacionRepository.findByCodigoExternoWithItems(codigoExterno).ifPresent(licitacion -> {
+            String previousBuyerRut = licitacion.getBuyerRut();
+            
             // Update with detailed information (keep existing basic data)
             if (detailedDto.comprador() != null) {
                 licitacion.setBuyerName(detailedDto.comprador().nombreUnidad());
                 licitacion.setRegion(detailedDto.comprador().regionUnidad());
                 licitacion.setBuyerRut(detailedDto.comprador().rutUnidad());
+                compradorService.upsert(detailedDto.comprador());
             }
             
             if (detailedDto.descripcion() != null && !detailedDto.descripcion().isBlank()) {
@@ -200,34 +334,54 @@ public class SyncService {
                 
                 // Add new items
                 detailedDto.items().listado().stream()
-                    .map(itemDto -> mapItemToEntity(itemDto, licitacion))
+                    .map(itemDto -> tenderMapper.toItem(itemDto, licitacion))
                     .forEach(licitacion::addItem);
             }
             
             licitacionRepository.save(licitacion);
+            compradorService.refreshCounts(buyerRuts(previousBuyerRut, licitacion.getBuyerRut()));
+            eventPublisher.publishEvent(TendersChangedEvent.of(
+                    TendersChangedEvent.ChangeType.ENRICHED, List.of(codigoExterno)));
         });
     }
 
     /**
      * Scheduled cleanup task that runs every day at midnight.
-     * Removes tenders whose close date has passed.
+     * Moves tenders whose close date has passed to the archive in small batches
+     * (TenderArchiveService), then drops the weekly partitions that were fully archived.
+     * Not transactional: each batch commits on its own, and detaching a partition needs
+     * a lock that an open transaction reading tenders would hold.
      */
     @Scheduled(cron = "0 0 0 * * *")
-    @Transactional
     public void cleanupExpiredTenders() {
         log.info("Starting cleanup of expired tenders...");
+        SyncPhaseEvent cleanup = SyncPhaseEvent.start("cleanup");
+        int cleanupTenders = 0;
+        String cleanupOutcome = "error";
         
         try {
             LocalDateTime now = LocalDateTime.now();
-            int deletedCount = licitacionRepository.deleteExpiredTenders(now);
-            
-            if (deletedCount > 0) {
-                log.info("Deleted {} expired tenders", deletedCount);
+            List<String> affectedBuyers = concurrencyLimits.withDatabase(
+                    () -> licitacionRepository.findBuyerRutsOfExpiredTenders(now));
+            TenderArchiveService.Result archived = tenderArchiveService.archiveExpired(now);
+            int droppedCount = tenderPartitionService.dropExpiredPartitions(archived.watermark());
+            int removedCount = archived.deleted() + droppedCount;
+            tenderMetrics.tendersWritten("archived", archived.archived());
+            cleanupTenders = removedCount;
+            cleanupOutcome = "success";
+
+            if (removedCount > 0) {
+                log.info("Archived {} expired tenders, removed {} ({} by dropping partitions)",
+                        archived.archived(), removedCount, droppedCount);
+                concurrencyLimits.runWithDatabase(() -> compradorService.refreshCounts(affectedBuyers));
+                eventPublisher.publishEvent(TendersChangedEvent.bulk(TendersChangedEvent.ChangeType.EXPIRED));
             } else {
                 log.info("No expired tenders found");
             }
         } catch (Exception e) {
             log.error("Error during expired tenders cleanup", e);
+        } finally {
+            cleanup.finish(cleanupTenders, cleanupOutcome);
         }
     }
 
@@ -240,19 +394,16 @@ public class SyncService {
             log.info("Fetching tenders for date: {}", date); // No ticket in logs
             String url = "/licitaciones.json?fecha={date}&ticket={ticket}";
 
-            return mercadoPublicoRestClient
+            return apiTicketPool.call(concurrencyLimits.getAcquireTimeout(), ticket -> mercadoPublicoRestClient
                     .get()
-                    .uri(url, date, apiTicket)
+                    .uri(url, date, ticket)
                     .retrieve()
-                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                        (request, response) -> {
-                            log.error("HTTP Error {}: {} (API call failed)", 
-                                response.getStatusCode(), response.getStatusText());
-                        })
-                    .body(LicitacionApiResponse.class);
+                    .body(LicitacionApiResponse.class));
         } catch (RestClientResponseException e) {
             log.error("API Error: Status {} (details hidden for security)", e.getStatusCode());
             return null;
+        } catch (ConcurrencyLimitExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Unexpected error calling API: {}", e.getMessage());
             return null;
@@ -260,24 +411,22 @@ public class SyncService {
     }
 
     /**
-     * Fetches detailed tender data by codigo externo.
-     * Logs sanitized to prevent API ticket exposure.
+     * Fetches detailed tender data by codigo externo. Returns null only when the API answers
+     * without the tender. Logs sanitized to prevent API ticket exposure.
+     *
+     * @throws UpstreamCallException when the call fails (error status, timeout, I/O error)
+     * @throws ConcurrencyLimitExceededException when no API ticket is free within maxWait
      */
-    private LicitacionDTO fetchTenderDetail(String codigoExterno) {
+    private LicitacionDTO fetchTenderDetail(String codigoExterno, Duration maxWait) {
         try {
             log.debug("Fetching tender detail: {}", codigoExterno); // No ticket/URL in logs
             String url = "/licitaciones.json?codigo={codigo}&ticket={ticket}";
             
-            LicitacionApiResponse response = mercadoPublicoRestClient
+            LicitacionApiResponse response = apiTicketPool.call(maxWait, ticket -> mercadoPublicoRestClient
                     .get()
-                    .uri(url, codigoExterno, apiTicket)
+                    .uri(url, codigoExterno, ticket)
                     .retrieve()
-                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                        (request, httpResponse) -> {
-                            log.error("HTTP Error {} for tender {} (details hidden)", 
-                                httpResponse.getStatusCode(), codigoExterno);
-                        })
-                    .body(LicitacionApiResponse.class);
+                    .body(LicitacionApiResponse.class));
 
             if (response != null && response.listado() != null && !response.listado().isEmpty()) {
                 return response.listado().get(0);
@@ -289,118 +438,41 @@ public class SyncService {
         } catch (RestClientResponseException e) {
             log.error("API Error for tender {}: Status {} (details hidden)", 
                 codigoExterno, e.getStatusCode());
-            return null;
+            throw new UpstreamCallException("Tender detail request failed with status " + e.getStatusCode().value());
+        } catch (ConcurrencyLimitExceededException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Error fetching tender {}: {}", codigoExterno, e.getMessage());
-            return null;
+            log.error("Error fetching tender {}: {}", codigoExterno, e.getClass().getSimpleName());
+            throw new UpstreamCallException("Tender detail request failed: " + e.getClass().getSimpleName());
         }
     }
 
-    /**
-     * Validates if a tender should be processed.
-     * Criteria:
-     * - Status must be 5 (Published)
-     * - Close date must be in the future
-     */
-    private boolean isValidTender(LicitacionDTO dto) {
-        if (dto.codigoEstado() == null || dto.codigoEstado() != STATUS_PUBLISHED) {
-            return false;
-        }
-
-        String closeDateStr = getCloseDateString(dto);
-        if (closeDateStr == null) {
-            return false;
-        }
-
-        try {
-            LocalDateTime closeDate = parseDateTime(closeDateStr);
-            return closeDate.isAfter(LocalDateTime.now());
-        } catch (Exception e) {
-            log.warn("Invalid close date for tender {}: {}", dto.codigoExterno(), closeDateStr);
-            return false;
-        }
-    }
-    
-    /**
-     * Gets close date from DTO, checking both Fechas and direct FechaCierre.
-     */
-    private String getCloseDateString(LicitacionDTO dto) {
-        if (dto.fechas() != null && dto.fechas().fechaCierre() != null) {
-            return dto.fechas().fechaCierre();
-        }
-        return dto.fechaCierre();
-    }
-    
-    /**
-     * Gets publication date from DTO, checking both Fechas and direct FechaPublicacion.
-     */
-    private String getPublicationDateString(LicitacionDTO dto) {
-        if (dto.fechas() != null && dto.fechas().fechaPublicacion() != null) {
-            return dto.fechas().fechaPublicacion();
-        }
-        return dto.fechaPublicacion();
-    }
-
-    /**
-     * Maps DTO to Entity, flattening the nested structure.
-     * Extracts region from Comprador.RegionUnidad.
-     */
-    private Licitacion mapToEntity(LicitacionDTO dto) {
-        String closeDateStr = getCloseDateString(dto);
-        String publicationDateStr = getPublicationDateString(dto);
-        
-        Licitacion licitacion = Licitacion.builder()
-                .codigoExterno(dto.codigoExterno())
-                .nombre(dto.nombre())
-                .descripcion(dto.descripcion())
-                .codigoEstado(dto.codigoEstado())
-                .fechaCierre(closeDateStr != null ? parseDateTime(closeDateStr) : null)
-                .fechaPublicacion(publicationDateStr != null ? parseDateTime(publicationDateStr) : null)
-                .build();
-
-        // Extract region from Comprador
-        if (dto.comprador() != null) {
-            licitacion.setRegion(dto.comprador().regionUnidad());
-            licitacion.setBuyerName(dto.comprador().nombreUnidad());
-            licitacion.setBuyerRut(dto.comprador().rutUnidad());
-        }
-
-        // Map items
-        if (dto.items() != null && dto.items().listado() != null) {
-            List<ItemLicitacion> items = dto.items().listado().stream()
-                    .map(itemDto -> mapItemToEntity(itemDto, licitacion))
-                    .collect(Collectors.toList());
-
-            items.forEach(licitacion::addItem);
-        }
-
-        return licitacion;
-    }
-
-    /**
-     * Maps ItemDTO to ItemLicitacion entity.
-     */
-    private ItemLicitacion mapItemToEntity(ItemDTO dto, Licitacion licitacion) {
-        return ItemLicitacion.builder()
-                .productCode(dto.codigoProducto())
-                .productName(dto.nombreProducto())
-                .description(dto.descripcion())
-                .quantity(dto.cantidad())
-                .unitOfMeasure(dto.unidadMedida())
-                .licitacion(licitacion)
-                .build();
-    }
-
     /**
      * Processes all tenders from API: upserts valid ones and deletes inactive ones.
      * 
      * @param basicList All tenders from API (basic data)
      * @param detailedTenders Valid detailed tenders to save
+     * @param mappedTenders The same tenders mapped to entities
      * @return Number of tenders processed
      */
     @Transactional
-    private int processAndSaveTenders(List<LicitacionDTO> basicList, List<LicitacionDTO> detailedTenders) {
+    private int processAndSaveTenders(List<LicitacionDTO> basicList, List<LicitacionDTO> detailedTenders,
+                                      List<Licitacion> mappedTenders) {
         int processedCount = 0;
+        List<String> deletedCodigos = new ArrayList<>();
+        List<String> savedCodigos = new ArrayList<>();
+        
+        // Buyers whose open tender count may change: current owners of these tenders plus new ones
+        Set<String> affectedBuyers = new HashSet<>(licitacionRepository.findBuyerRutsByCodigoExternoIn(
+                basicList.stream().map(LicitacionDTO::codigoExterno).toList()));
+        List<CompradorDTO> buyers = new ArrayList<>();
+        for (LicitacionDTO dto : detailedTenders) {
+            if (dto.comprador() != null && dto.comprador().rutUnidad() != null) {
+                buyers.add(dto.comprador());
+                affectedBuyers.add(dto.comprador().rutUnidad());
+            }
+        }
+        compradorService.upsertAll(buyers);
         
         // First, check all tenders from API and delete those with status != 5
         for (LicitacionDTO basicDto : basicList) {
@@ -411,21 +483,19 @@ public class SyncService {
                 if (licitacionRepository.existsByCodigoExterno(codigoExterno)) {
                     licitacionRepository.deleteByCodigoExterno(codigoExterno);
                     log.info("Deleted inactive tender: {} (status: {})", codigoExterno, basicDto.codigoEstado());
+                    deletedCodigos.add(codigoExterno);
                     processedCount++;
                 }
             }
         }
         
         // Then, upsert valid detailed tenders
-        List<Licitacion> mappedTenders = detailedTenders.stream()
-                .map(this::mapToEntity)
-                .collect(Collectors.toList());
-        
         for (Licitacion tender : mappedTenders) {
             if (tender != null) {
                 try {
                     // save() does upsert automatically
                     licitacionRepository.save(tender);
+                    savedCodigos.add(tender.getCodigoExterno());
                     processedCount++;
                     log.debug("Saved/updated tender: {}", tender.getCodigoExterno());
                 } catch (Exception e) {
@@ -436,28 +506,36 @@ public class SyncService {
             }
         }
         
+        compradorService.refreshCounts(affectedBuyers);
+        
+        // Notify caches once per phase instead of once per row
+        tenderMetrics.tendersWritten("deleted", deletedCodigos.size());
+        tenderMetrics.tendersWritten("upserted", savedCodigos.size());
+        if (!deletedCodigos.isEmpty()) {
+            eventPublisher.publishEvent(TendersChangedEvent.of(TendersChangedEvent.ChangeType.DELETED, deletedCodigos));
+        }
+        if (!savedCodigos.isEmpty()) {
+            eventPublisher.publishEvent(TendersChangedEvent.of(TendersChangedEvent.ChangeType.UPSERTED, savedCodigos));
+        }
+        
         return processedCount;
     }
 
+    private int itemCount(LicitacionDTO dto) {
+        return dto.items() != null && dto.items().listado() != null ? dto.items().listado().size() : 0;
+    }
+
     /**
-     * Parses datetime string from API format.
-     * Handles variable millisecond precision (2-3 digits) from API.
+     * Non-null buyer RUTs among the given values.
      */
-    private LocalDateTime parseDateTime(String dateTimeStr) {
-        if (dateTimeStr == null || dateTimeStr.isBlank()) {
-            return null;
-        }
-
-        try {
-            // Remove milliseconds if present (API returns variable precision)
-            String normalized = dateTimeStr.contains(".") 
-                ? dateTimeStr.substring(0, dateTimeStr.indexOf("."))
-                : dateTimeStr;
-            return LocalDateTime.parse(normalized, API_DATETIME_FORMATTER);
-        } catch (Exception e) {
-            log.warn("Failed to parse datetime: {}", dateTimeStr);
-            return null;
+    private Set<String> buyerRuts(String... ruts) {
+        Set<String> result = new HashSet<>();
+        for (String rut : ruts) {
+            if (rut != null) {
+                result.add(rut);
+            }
         }
+        return result;
     }
 
     /**
@@ -472,7 +550,7 @@ public class SyncService {
      * Check if sync is currently in progress.
      */
     public boolean isSyncInProgress() {
-        return syncInProgress;
+        return syncInProgress.get();
     }
 
     /**
@@ -480,7 +558,7 @@ public class SyncService {
      */
     @Async
     public CompletableFuture<String> triggerSyncAsync() {
-        if (syncInProgress) {
+        if (syncInProgress.get()) {
             log.warn("Sync already in progress, rejecting new sync request");
             return CompletableFuture.completedFuture("Sync already in progress");
         }
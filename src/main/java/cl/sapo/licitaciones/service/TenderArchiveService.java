@@ -0,0 +1,182 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.config.ConcurrencyLimits;
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.entity.LicitacionArchivada;
+import cl.sapo.licitaciones.repository.ItemLicitacionRepository;
+import cl.sapo.licitaciones.repository.LicitacionArchivadaRepository;
+import cl.sapo.licitaciones.repository.LicitacionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Moves closed tenders from the hot tables into the archive (archive.tenders), in small
+ * batches so that expiry never holds long locks or produces one huge transaction:
+ * - each batch copies up to batch-size tenders with their items and deletes them, in its own
+ *   transaction holding a database permit;
+ * - batches are separated by a pause, and a run stops after max-duration (the next run
+ *   continues where it left off).
+ * Only closed tenders are archived: published tenders whose close date passed without the
+ * exact-time expiry closing them (TenderExpiryScheduler) are marked closed first.
+ * Tenders in weekly partitions that closed entirely are only copied: the partition is
+ * dropped afterwards instead (see TenderPartitionService). Copied tenders waiting for their
+ * partition are skipped by later runs, so a run that stops at max-duration does not read
+ * them again. Batches walk the tenders in close date order, so everything before the
+ * returned watermark has been archived.
+ */
+@Service
+@Slf4j
+public class TenderArchiveService {
+
+    private static final LocalDateTime START = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final LicitacionRepository licitacionRepository;
+    private final ItemLicitacionRepository itemLicitacionRepository;
+    private final LicitacionArchivadaRepository archiveRepository;
+    private final TenderPartitionService tenderPartitionService;
+    private final ConcurrencyLimits concurrencyLimits;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration pause;
+    private final Duration maxDuration;
+
+    public TenderArchiveService(LicitacionRepository licitacionRepository,
+                                ItemLicitacionRepository itemLicitacionRepository,
+                                LicitacionArchivadaRepository archiveRepository,
+                                TenderPartitionService tenderPartitionService,
+                                ConcurrencyLimits concurrencyLimits,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${licitaciones.archive.batch-size:1000}") int batchSize,
+                                @Value("${licitaciones.archive.pause:200ms}") Duration pause,
+                                @Value("${licitaciones.archive.max-duration:10m}") Duration maxDuration) {
+        this.licitacionRepository = licitacionRepository;
+        this.itemLicitacionRepository = itemLicitacionRepository;
+        this.archiveRepository = archiveRepository;
+        this.tenderPartitionService = tenderPartitionService;
+        this.concurrencyLimits = concurrencyLimits;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.maxDuration = maxDuration;
+    }
+
+    /**
+     * Outcome of an archival run.
+     *
+     * @param archived  tenders copied to the archive
+     * @param deleted   tenders deleted from the hot tables (the rest go with their partition)
+     * @param watermark every tender closed before this time is archived
+     */
+    public record Result(int archived, int deleted, LocalDateTime watermark) {
+    }
+
+    private record Batch(int archived, int deleted, Licitacion last) {
+    }
+
+    /**
+     * Archives the tenders closed before the given time.
+     */
+    public Result archiveExpired(LocalDateTime now) {
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+        // Rows closed before this week are in partitions that get dropped as a whole
+        LocalDateTime droppable = tenderPartitionService.isActive()
+                ? TenderPartitionService.weekOf(now).atStartOfDay()
+                : START;
+
+        Integer missed = concurrencyLimits.withDatabase(() -> transactionTemplate.execute(
+                status -> licitacionRepository.closeExpired(now, TenderExpiryScheduler.STATUS_CLOSED, now)));
+        if (missed != null && missed > 0) {
+            log.info("Closed {} published tenders past their close date before archiving", missed);
+        }
+
+        int archived = 0;
+        int deleted = 0;
+        LocalDateTime afterDate = START;
+        String afterCode = "";
+        while (true) {
+            LocalDateTime fromDate = afterDate;
+            String fromCode = afterCode;
+            Batch batch = concurrencyLimits.withDatabase(() -> transactionTemplate.execute(
+                    status -> archiveBatch(now, fromDate, fromCode, droppable)));
+            if (batch == null || batch.last() == null) {
+                return new Result(archived, deleted, now);
+            }
+            archived += batch.archived();
+            deleted += batch.deleted();
+            afterDate = batch.last().getFechaCierre();
+            afterCode = batch.last().getCodigoExterno();
+
+            if (System.nanoTime() > deadline) {
+                log.info("Archival stopped after {} ({} tenders archived), continuing next run", maxDuration, archived);
+                return new Result(archived, deleted, afterDate);
+            }
+            try {
+                Thread.sleep(pause.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new Result(archived, deleted, afterDate);
+            }
+        }
+    }
+
+    private Batch archiveBatch(LocalDateTime now, LocalDateTime afterDate, String afterCode, LocalDateTime droppable) {
+        List<String> codigos = licitacionRepository.findExpiredCodesAfter(
+                now, droppable, afterDate, afterCode, Limit.of(batchSize));
+        if (codigos.isEmpty()) {
+            return new Batch(0, 0, null);
+        }
+
+        List<Licitacion> tenders = licitacionRepository.findAllWithItemsByCodigoExternoIn(codigos).stream()
+                .sorted(Comparator.comparing(Licitacion::getFechaCierre).thenComparing(Licitacion::getCodigoExterno))
+                .toList();
+        if (tenders.isEmpty()) {
+            return new Batch(0, 0, null);
+        }
+
+        Set<String> alreadyArchived = new HashSet<>(archiveRepository.findArchivedCodes(codigos));
+        List<LicitacionArchivada> copies = tenders.stream()
+                .filter(tender -> !alreadyArchived.contains(tender.getCodigoExterno()))
+                .map(tender -> LicitacionArchivada.from(tender, now))
+                .toList();
+        archiveRepository.saveAll(copies);
+
+        List<String> toDelete = tenders.stream()
+                .filter(tender -> !tender.getFechaCierre().isBefore(droppable))
+                .map(Licitacion::getCodigoExterno)
+                .toList();
+        if (!toDelete.isEmpty()) {
+            itemLicitacionRepository.deleteByTenderCodes(toDelete);
+            licitacionRepository.deleteByCodigoExternoIn(toDelete);
+        }
+        return new Batch(copies.size(), toDelete.size(), tenders.get(tenders.size() - 1));
+    }
+
+    /**
+     * Archived tenders that closed between two dates (inclusive), oldest first.
+     */
+    public Slice<LicitacionArchivada> findArchived(LocalDate from, LocalDate to, int page, int size) {
+        return archiveRepository.findByFechaCierreGreaterThanEqualAndFechaCierreLessThanOrderByFechaCierreAscCodigoExternoAsc(
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay(),
+                PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE))));
+    }
+
+    public Optional<LicitacionArchivada> findArchived(String codigoExterno) {
+        return archiveRepository.findById(codigoExterno);
+    }
+}
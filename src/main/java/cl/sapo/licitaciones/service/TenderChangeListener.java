@@ -0,0 +1,161 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.event.TenderChangeNotice;
+import cl.sapo.licitaciones.event.TendersChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Listens on the tender_changes channel and re-publishes changes committed by other
+ * nodes as local TendersChangedEvents, so caches and the read model invalidate precisely.
+ * Uses a dedicated connection outside the Hikari pool, since LISTEN holds it forever.
+ * When notices may have been lost (after a reconnect, or when a generation is skipped)
+ * a bulk change is published instead.
+ */
+@Component
+@ConditionalOnProperty(name = "licitaciones.change-notify.enabled", havingValue = "true")
+@Slf4j
+public class TenderChangeListener implements SmartLifecycle {
+
+    private static final int POLL_TIMEOUT_MS = 5000;
+    private static final long RECONNECT_DELAY_MS = 10000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile boolean running = false;
+    private volatile long lastGeneration = 0;
+    private Thread listenerThread;
+
+    public TenderChangeListener(DataSourceProperties dataSourceProperties,
+                                ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform()
+                .name("tender-change-listener")
+                .daemon(true)
+                .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + TenderChangeNotifier.CHANNEL);
+                }
+                log.info("Listening for tender changes from other nodes");
+
+                if (connectedBefore) {
+                    // Notices sent while disconnected are lost: assume everything changed
+                    resync();
+                }
+                connectedBefore = true;
+                // The first notice on this connection sets the baseline for gap detection
+                lastGeneration = 0;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Tender change listener disconnected: {}. Retrying in {} ms",
+                            e.getMessage(), RECONNECT_DELAY_MS);
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    void handle(String payload) {
+        try {
+            TenderChangeNotice notice = objectMapper.readValue(payload, TenderChangeNotice.class);
+
+            // Own notices count too: generations are cluster-wide. Chunks repeat their generation
+            long previous = lastGeneration;
+            lastGeneration = Math.max(previous, notice.generation());
+            if (previous != 0 && notice.generation() > previous + 1) {
+                log.warn("Tender change notices #{} to #{} were lost, invalidating everything",
+                        previous + 1, notice.generation() - 1);
+                resync();
+            }
+
+            if (TenderChangeNotifier.NODE_ID.equals(notice.node())) {
+                return;
+            }
+
+            log.debug("Received {} change #{} from node {} ({} tenders)",
+                    notice.type(), notice.generation(), notice.node(), notice.codigosExternos().size());
+
+            eventPublisher.publishEvent(TendersChangedEvent.remote(notice.type(), notice.codigosExternos()));
+        } catch (Exception e) {
+            log.warn("Failed to process tender change notice: {}", e.getMessage());
+        }
+    }
+
+    private void resync() {
+        eventPublisher.publishEvent(TendersChangedEvent.remote(TendersChangedEvent.ChangeType.UPSERTED, List.of()));
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /**
+     * Highest generation received on the current connection (for diagnostics).
+     */
+    public long getLastGeneration() {
+        return lastGeneration;
+    }
+}
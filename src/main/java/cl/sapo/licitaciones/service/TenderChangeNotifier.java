@@ -0,0 +1,122 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.config.ReadWriteRoutingDataSource;
+import cl.sapo.licitaciones.event.TenderChangeNotice;
+import cl.sapo.licitaciones.event.TendersChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Publishes committed tender changes to the other nodes through PostgreSQL NOTIFY.
+ * Each notice carries a cluster-wide generation number and the affected codes;
+ * TenderChangeListener on every node turns it back into a local TendersChangedEvent.
+ * Notifiers are serialized until commit, so notices arrive in generation order and a
+ * skipped generation tells the listeners that a notice was lost.
+ */
+@Component
+@ConditionalOnProperty(name = "licitaciones.change-notify.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class TenderChangeNotifier {
+
+    static final String CHANNEL = "tender_changes";
+
+    /** Identifies this JVM so that it ignores its own notices. */
+    static final String NODE_ID = UUID.randomUUID().toString();
+
+    // PostgreSQL rejects NOTIFY payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_BYTES = 7000;
+    private static final int NOTICE_OVERHEAD_BYTES = 120;
+    // Advisory lock key held from nextval to commit by each notifier
+    private static final long GENERATION_LOCK_KEY = 0x74656e646572L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${licitaciones.schema.inspect-on-startup:true}")
+    private boolean inspectSchema;
+
+    @PostConstruct
+    public void createGenerationSequence() {
+        // Pre-validated schema (fast-start profile): the sequence was created by an earlier start
+        if (inspectSchema) {
+            // Not in a transaction: without this it would be routed to a (read-only) replica
+            ReadWriteRoutingDataSource.onWritePool(() -> {
+                jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS tender_change_generation");
+                return null;
+            });
+        }
+        log.info("Cross-node change notifications enabled on channel '{}' (node {})", CHANNEL, NODE_ID);
+    }
+
+    /**
+     * Sends the notice after the sync transaction commits, in its own transaction.
+     * Large code sets are split into several notices with the same generation.
+     * Failures are logged only: a missed notice must never fail a sync.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onTendersChanged(TendersChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+
+        try {
+            // Released on commit: a later generation can't be delivered before this one
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> null, GENERATION_LOCK_KEY);
+            Long generation = jdbcTemplate.queryForObject("SELECT nextval('tender_change_generation')", Long.class);
+            long gen = generation != null ? generation : 0L;
+
+            List<List<String>> chunks = chunk(new ArrayList<>(event.codigosExternos()));
+            for (List<String> codigos : chunks) {
+                String payload = objectMapper.writeValueAsString(
+                        new TenderChangeNotice(gen, NODE_ID, event.type(), codigos));
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, payload);
+            }
+            log.debug("Notified {} change #{} ({} tenders, {} notices)",
+                    event.type(), gen, event.codigosExternos().size(), chunks.size());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Could not notify other nodes of {} change: {}", event.type(), e.getMessage());
+        }
+    }
+
+    /**
+     * Splits codes so that each serialized notice fits in a NOTIFY payload.
+     * A bulk change (no codes) yields a single empty chunk.
+     */
+    private List<List<String>> chunk(List<String> codigos) {
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        int bytes = NOTICE_OVERHEAD_BYTES;
+
+        for (String codigo : codigos) {
+            int size = codigo.length() + 3; // quotes and comma
+            if (bytes + size > MAX_PAYLOAD_BYTES && !current.isEmpty()) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                bytes = NOTICE_OVERHEAD_BYTES;
+            }
+            current.add(codigo);
+            bytes += size;
+        }
+
+        if (!current.isEmpty() || chunks.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,78 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.entity.Licitacion;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Keyset cursor for paginated searches: the sort value and code of the last tender of a page.
+ * Unlike an offset, the next page stays correct when tenders are added or removed meanwhile.
+ * Encoded as URL-safe Base64 so clients treat it as opaque.
+ */
+public record TenderCursor(LocalDateTime sortValue, String codigoExterno) {
+
+    private static final String CREATION_DATE = "creation_date";
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Result order of LicitacionService searches: date descending with nulls first
+     * (as PostgreSQL sorts DESC), then code ascending.
+     */
+    public static Comparator<Licitacion> order(String sortBy) {
+        return Comparator
+                .comparing((Licitacion l) -> sortValue(l, sortBy),
+                        Comparator.nullsFirst(Comparator.<LocalDateTime>reverseOrder()))
+                .thenComparing(Licitacion::getCodigoExterno);
+    }
+
+    public static TenderCursor after(Licitacion tender, String sortBy) {
+        return new TenderCursor(sortValue(tender, sortBy), tender.getCodigoExterno());
+    }
+
+    /**
+     * True when the tender comes after this cursor in the given sort order.
+     */
+    public boolean precedes(Licitacion tender, String sortBy) {
+        return order(sortBy).compare(toProbe(sortBy), tender) < 0;
+    }
+
+    public String encode() {
+        String raw = (sortValue != null ? sortValue.toString() : "") + SEPARATOR + codigoExterno;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the cursor is malformed
+     */
+    public static TenderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            String date = raw.substring(0, separator);
+            return new TenderCursor(date.isEmpty() ? null : LocalDateTime.parse(date), raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    private Licitacion toProbe(String sortBy) {
+        Licitacion probe = Licitacion.builder().codigoExterno(codigoExterno).build();
+        if (CREATION_DATE.equalsIgnoreCase(sortBy)) {
+            probe.setCreatedAt(sortValue);
+        } else {
+            probe.setFechaCierre(sortValue);
+        }
+        return probe;
+    }
+
+    private static LocalDateTime sortValue(Licitacion tender, String sortBy) {
+        return CREATION_DATE.equalsIgnoreCase(sortBy) ? tender.getCreatedAt() : tender.getFechaCierre();
+    }
+}
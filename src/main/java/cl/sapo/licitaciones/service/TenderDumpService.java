@@ -0,0 +1,318 @@
+package cl.sapo.licitaciones.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Properties;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Warm start from a dump file of the open tenders and their items, so that a fresh node or a
+ * wiped database serves a useful UI right away instead of after the next sync and enrichment.
+ * - Export (cron, default half past every hour, after the sync): published tenders that are
+ *   still open and their items are copied out with binary COPY, in one repeatable-read
+ *   transaction, into a zip file (tenders.copy, tender_items.copy, manifest.properties).
+ *   It is written to a temporary file and moved into place, so a dump is never truncated.
+ * - Import (startup, before the read model and the other startup loaders): an empty tenders
+ *   table is filled from the dump with COPY FROM STDIN, and tenders that closed since the dump
+ *   was written are removed in the same transaction. Dumps older than max-age are ignored.
+ *   The hourly sync and enrichment take over from there.
+ * Item ids are not dumped; they are generated again on import. The dump is only readable by
+ * the same schema version (the manifest lists the columns). PostgreSQL only: with another
+ * database, or without licitaciones.dump.path, this does nothing.
+ */
+@Service
+@Slf4j
+public class TenderDumpService {
+
+    static final String TENDERS_ENTRY = "tenders.copy";
+    static final String ITEMS_ENTRY = "tender_items.copy";
+    static final String MANIFEST_ENTRY = "manifest.properties";
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String TENDER_COLUMNS =
+            "external_code, name, description, status_code, close_date, publication_date, " +
+            "region, region_id, buyer_name, buyer_rut, created_at, updated_at";
+    private static final String ITEM_COLUMNS =
+            "product_code, product_segment, product_family, product_class, product_name, " +
+            "description, quantity, unit_of_measure, tender_code, close_date";
+    private static final String OPEN_TENDERS =
+            "SELECT " + TENDER_COLUMNS + " FROM tenders WHERE status_code = 5 AND close_date > localtimestamp";
+    private static final String OPEN_ITEMS =
+            "SELECT " + ITEM_COLUMNS + " FROM tender_items WHERE (tender_code, close_date) IN " +
+            "(SELECT external_code, close_date FROM tenders WHERE status_code = 5 AND close_date > localtimestamp)";
+
+    /**
+     * Contents of a dump, from its manifest.
+     */
+    public record DumpInfo(LocalDateTime createdAt, long tenders, long items) {
+    }
+
+    private final DataSource dataSource;
+    private final TenderMetrics tenderMetrics;
+    private final Path path;
+    private final Duration maxAge;
+    private volatile DumpInfo lastImport;
+
+    public TenderDumpService(@Qualifier("writeDataSource") DataSource dataSource,
+                             TenderMetrics tenderMetrics,
+                             @Value("${licitaciones.dump.path:}") String path,
+                             @Value("${licitaciones.dump.max-age:7d}") Duration maxAge) {
+        this.dataSource = dataSource;
+        this.tenderMetrics = tenderMetrics;
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+        this.maxAge = maxAge;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * What was loaded at startup, or null if nothing was.
+     */
+    public DumpInfo getLastImport() {
+        return lastImport;
+    }
+
+    /**
+     * Loads the dump into an empty database. Runs before the read model, the buyer dimension
+     * and the expiry timers are loaded, like the region backfill, so they see the imported tenders.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void importIfEmpty() {
+        if (path == null || !Files.isRegularFile(path)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            DumpInfo imported = importDump(path);
+            if (imported != null) {
+                lastImport = imported;
+                tenderMetrics.tendersWritten("imported", (int) imported.tenders());
+                log.info("Warm start: loaded {} open tenders and {} items from {} (written {}) in {} ms",
+                        imported.tenders(), imported.items(), path, imported.createdAt(),
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (IOException | SQLException | RuntimeException e) {
+            // The sync fills the database as usual
+            log.warn("Could not load tender dump {}: {}", path, e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${licitaciones.dump.cron:0 30 * * * *}")
+    public void scheduledExport() {
+        if (path == null) {
+            return;
+        }
+        try {
+            DumpInfo exported = export(path);
+            if (exported != null) {
+                log.info("Wrote tender dump {}: {} tenders, {} items", path, exported.tenders(), exported.items());
+            }
+        } catch (IOException | SQLException | RuntimeException e) {
+            log.warn("Could not write tender dump {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the open tenders and their items to target, replacing it atomically.
+     * Returns null when the database is not PostgreSQL.
+     */
+    public DumpInfo export(Path target) throws IOException, SQLException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            DumpInfo info;
+            try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                info = writeDump(zip);
+            }
+            if (info == null) {
+                return null;
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return info;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private DumpInfo writeDump(ZipOutputStream zip) throws IOException, SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return null;
+            }
+            // Tenders and items from the same snapshot of the database
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            connection.setReadOnly(true);
+            try {
+                CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+                LocalDateTime createdAt = queryTimestamp(connection, "SELECT localtimestamp");
+
+                zip.putNextEntry(new ZipEntry(TENDERS_ENTRY));
+                long tenders = copy.copyOut("COPY (" + OPEN_TENDERS + ") TO STDOUT (FORMAT binary)", zip);
+                zip.closeEntry();
+                zip.putNextEntry(new ZipEntry(ITEMS_ENTRY));
+                long items = copy.copyOut("COPY (" + OPEN_ITEMS + ") TO STDOUT (FORMAT binary)", zip);
+                zip.closeEntry();
+
+                DumpInfo info = new DumpInfo(createdAt, tenders, items);
+                zip.putNextEntry(new ZipEntry(MANIFEST_ENTRY));
+                manifest(info).store(zip, "Licitaciones tender dump");
+                zip.closeEntry();
+
+                connection.commit();
+                return info;
+            } catch (IOException | SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Loads a dump if the tenders table is empty. Returns what was loaded, or null when the
+     * database already has tenders, is not PostgreSQL, or the dump is too old.
+     *
+     * @throws IllegalStateException when the dump was written by another schema version
+     */
+    public DumpInfo importDump(Path source) throws IOException, SQLException {
+        try (ZipFile zip = new ZipFile(source.toFile());
+             Connection connection = dataSource.getConnection()) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return null;
+            }
+            DumpInfo info = readManifest(zip);
+            if (info.createdAt().isBefore(LocalDateTime.now().minus(maxAge))) {
+                log.info("Tender dump {} is older than {} (written {}), not loaded", source, maxAge, info.createdAt());
+                return null;
+            }
+
+            DumpInfo imported;
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                // Writers wait (another node loading the same dump, an early sync); readers don't
+                statement.execute("LOCK TABLE tenders IN EXCLUSIVE MODE");
+                try (ResultSet rs = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM tenders)")) {
+                    rs.next();
+                    if (rs.getBoolean(1)) {
+                        connection.rollback();
+                        return null;
+                    }
+                }
+
+                CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+                long tenders;
+                long items;
+                try (InputStream in = zip.getInputStream(entry(zip, TENDERS_ENTRY))) {
+                    tenders = copy.copyIn("COPY tenders (" + TENDER_COLUMNS + ") FROM STDIN (FORMAT binary)", in);
+                }
+                try (InputStream in = zip.getInputStream(entry(zip, ITEMS_ENTRY))) {
+                    items = copy.copyIn("COPY tender_items (" + ITEM_COLUMNS + ") FROM STDIN (FORMAT binary)", in);
+                }
+
+                // Closed since the dump was written (items first: unpartitioned tables have no cascade)
+                items -= statement.executeUpdate("DELETE FROM tender_items WHERE close_date <= localtimestamp");
+                tenders -= statement.executeUpdate("DELETE FROM tenders WHERE close_date <= localtimestamp");
+                connection.commit();
+                imported = new DumpInfo(info.createdAt(), tenders, items);
+            } catch (IOException | SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+
+            // Fresh statistics for the bulk-loaded tables (autovacuum would get there later)
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE tenders");
+                statement.execute("ANALYZE tender_items");
+            } catch (SQLException e) {
+                log.warn("Could not analyze tables after loading the tender dump: {}", e.getMessage());
+            }
+            return imported;
+        }
+    }
+
+    /**
+     * Manifest of the dump at path, or null if there is none.
+     */
+    public DumpInfo readInfo() throws IOException {
+        if (path == null || !Files.isRegularFile(path)) {
+            return null;
+        }
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            return readManifest(zip);
+        }
+    }
+
+    static Properties manifest(DumpInfo info) {
+        Properties manifest = new Properties();
+        manifest.setProperty("version", Integer.toString(FORMAT_VERSION));
+        manifest.setProperty("created-at", info.createdAt().toString());
+        manifest.setProperty("tenders", Long.toString(info.tenders()));
+        manifest.setProperty("items", Long.toString(info.items()));
+        manifest.setProperty("tender-columns", TENDER_COLUMNS);
+        manifest.setProperty("item-columns", ITEM_COLUMNS);
+        return manifest;
+    }
+
+    private static DumpInfo readManifest(ZipFile zip) throws IOException {
+        Properties manifest = new Properties();
+        try (InputStream in = zip.getInputStream(entry(zip, MANIFEST_ENTRY))) {
+            manifest.load(in);
+        }
+        // Binary COPY data is only valid for exactly these columns and types
+        if (!Integer.toString(FORMAT_VERSION).equals(manifest.getProperty("version"))
+                || !TENDER_COLUMNS.equals(manifest.getProperty("tender-columns"))
+                || !ITEM_COLUMNS.equals(manifest.getProperty("item-columns"))) {
+            throw new IllegalStateException("Tender dump was written by another schema version");
+        }
+        return new DumpInfo(LocalDateTime.parse(manifest.getProperty("created-at")),
+                Long.parseLong(manifest.getProperty("tenders")),
+                Long.parseLong(manifest.getProperty("items")));
+    }
+
+    private static ZipEntry entry(ZipFile zip, String name) throws IOException {
+        ZipEntry entry = zip.getEntry(name);
+        if (entry == null) {
+            throw new IOException("Tender dump has no " + name);
+        }
+        return entry;
+    }
+
+    private static LocalDateTime queryTimestamp(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getTimestamp(1).toLocalDateTime();
+        }
+    }
+}
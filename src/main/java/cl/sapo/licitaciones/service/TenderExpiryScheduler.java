@@ -0,0 +1,214 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.config.ConcurrencyLimits;
+import cl.sapo.licitaciones.config.ReadWriteRoutingDataSource;
+import cl.sapo.licitaciones.event.TendersChangedEvent;
+import cl.sapo.licitaciones.repository.LicitacionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Closes published tenders at their exact close time.
+ * The close time of every published tender is kept in a TimingWheel. A ticker thread
+ * advances it every tick; the tenders that came due are marked closed (status 6) in
+ * micro-batches, with their buyers' open counts refreshed. The EXPIRED event of each
+ * batch evicts them from the read model, the search cache and the feeds right after commit. Reads therefore need no
+ * close-date predicate, and the nightly cleanup only archives already closed rows.
+ * The wheel follows sync commits (local and remote): upserts (re)schedule, deletions cancel.
+ * With several nodes every wheel fires, but only the first update finds the rows still
+ * published; the other nodes are evicted by its cross-node notification.
+ */
+@Service
+@Slf4j
+public class TenderExpiryScheduler {
+
+    public static final int STATUS_CLOSED = 6;
+    private static final int BATCH_SIZE = 500;
+
+    private final LicitacionRepository licitacionRepository;
+    private final CompradorService compradorService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcurrencyLimits concurrencyLimits;
+    private final TransactionTemplate transactionTemplate;
+    private final TenderMetrics tenderMetrics;
+    private final boolean enabled;
+    private final Duration tick;
+
+    // The wheel is not thread-safe: commit hooks and the ticker both touch it
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TimingWheel<String> wheel;
+    private final ScheduledExecutorService ticker;
+
+    public TenderExpiryScheduler(LicitacionRepository licitacionRepository,
+                                 CompradorService compradorService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ConcurrencyLimits concurrencyLimits,
+                                 PlatformTransactionManager transactionManager,
+                                 TenderMetrics tenderMetrics,
+                                 @Value("${licitaciones.expiry.enabled:true}") boolean enabled,
+                                 @Value("${licitaciones.expiry.tick:1s}") Duration tick) {
+        this.licitacionRepository = licitacionRepository;
+        this.compradorService = compradorService;
+        this.eventPublisher = eventPublisher;
+        this.concurrencyLimits = concurrencyLimits;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tenderMetrics = tenderMetrics;
+        this.enabled = enabled;
+        this.tick = tick;
+        this.wheel = new TimingWheel<>(tick.toMillis(), System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tender-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads the close times of all published tenders and starts ticking.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("Exact-time tender expiry disabled, tenders close at the nightly cleanup");
+            return;
+        }
+        reload();
+        long period = tick.toMillis();
+        ticker.scheduleAtFixedRate(this::advance, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public int getScheduledCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Sync commit hook (local and remote changes).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTendersChanged(TendersChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (event.isBulk()) {
+                reload();
+                return;
+            }
+            switch (event.type()) {
+                case UPSERTED -> schedule(event.codigosExternos());
+                case DELETED, EXPIRED -> cancel(event.codigosExternos());
+                case ENRICHED -> {
+                    // Enrichment never changes the close date
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to update expiry schedule after {} change: {}", event.type(), e.getMessage());
+        }
+    }
+
+    private void reload() {
+        // From the primary: a lagging replica would miss the latest close dates
+        List<Object[]> closeDates = ReadWriteRoutingDataSource.onPrimary(licitacionRepository::findOpenCloseDates);
+        lock.lock();
+        try {
+            wheel.clear();
+            closeDates.forEach(this::scheduleRow);
+        } finally {
+            lock.unlock();
+        }
+        log.info("Expiry schedule loaded with {} published tenders", closeDates.size());
+    }
+
+    private void schedule(Collection<String> codigos) {
+        List<Object[]> closeDates = ReadWriteRoutingDataSource.onPrimary(
+                () -> licitacionRepository.findOpenCloseDatesByCodigoExternoIn(codigos));
+        lock.lock();
+        try {
+            codigos.forEach(wheel::cancel);
+            closeDates.forEach(this::scheduleRow);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cancel(Collection<String> codigos) {
+        lock.lock();
+        try {
+            codigos.forEach(wheel::cancel);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void scheduleRow(Object[] row) {
+        String codigo = (String) row[0];
+        LocalDateTime fechaCierre = (LocalDateTime) row[1];
+        if (fechaCierre != null) {
+            wheel.schedule(codigo, fechaCierre.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    private void advance() {
+        try {
+            List<String> due;
+            lock.lock();
+            try {
+                due = wheel.advance(System.currentTimeMillis());
+            } finally {
+                lock.unlock();
+            }
+            for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+                close(due.subList(from, Math.min(from + BATCH_SIZE, due.size())));
+            }
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the ticker; missed tenders are closed by the nightly cleanup
+            log.error("Error closing due tenders: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Marks one micro-batch closed. The event is published inside the transaction,
+     * so listeners see the committed state.
+     */
+    private void close(List<String> codigos) {
+        List<String> closed = concurrencyLimits.withDatabase(() -> transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            // Re-checked against the row: the close date may have moved since it was scheduled
+            List<String> due = licitacionRepository.findDueCodes(codigos, now);
+            if (due.isEmpty()) {
+                return due;
+            }
+            licitacionRepository.markClosed(due, STATUS_CLOSED, now);
+            compradorService.refreshCounts(licitacionRepository.findBuyerRutsByCodigoExternoIn(due));
+            eventPublisher.publishEvent(TendersChangedEvent.of(TendersChangedEvent.ChangeType.EXPIRED, due));
+            return due;
+        }));
+        if (closed != null && !closed.isEmpty()) {
+            tenderMetrics.tendersWritten("closed", closed.size());
+            log.debug("Closed {} tenders at their close time", closed.size());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+}
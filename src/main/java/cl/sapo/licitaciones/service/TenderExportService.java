@@ -0,0 +1,130 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.dto.TenderField;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk export of published tenders as NDJSON or CSV.
+ * Rows are streamed from a JDBC cursor (fetch size rows at a time, which on PostgreSQL
+ * requires a transaction) and written as they arrive, so memory use does not depend
+ * on the number of tenders. Bypasses JPA on purpose: no entities, no persistence context.
+ */
+@Service
+@Slf4j
+public class TenderExportService {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public TenderExportService(DataSource dataSource,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               @Value("${licitaciones.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes all published tenders, furthest close date first, with the given column fields.
+     *
+     * @throws IllegalArgumentException when a field is not a column (items)
+     */
+    public void export(List<TenderField> fields, Format format, OutputStream out) throws IOException {
+        for (TenderField field : fields) {
+            if (!field.isColumn()) {
+                throw new IllegalArgumentException("Field not available in export: " + field.getJsonName());
+            }
+        }
+
+        // Column names come from the TenderField enum, never from user input
+        String sql = "SELECT " + fields.stream().map(TenderField::getColumn).collect(Collectors.joining(", ")) +
+                " FROM tenders WHERE status_code = 5 ORDER BY close_date DESC NULLS FIRST, external_code";
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(fields.stream().map(TenderField::getJsonName).collect(Collectors.joining(",")));
+            writer.write('\n');
+        }
+
+        long[] rows = {0};
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                writeRow(writer, format, fields, rs);
+                rows[0]++;
+            }));
+        } catch (UncheckedIOException e) {
+            // Client went away: stop reading the cursor
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} tenders as {}", rows[0], format);
+    }
+
+    private void writeRow(Writer writer, Format format, List<TenderField> fields, ResultSet rs) throws SQLException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (TenderField field : fields) {
+            row.put(field.getJsonName(), rs.getObject(field.getColumn(), field.getType()));
+        }
+
+        try {
+            if (format == Format.NDJSON) {
+                writer.write(objectMapper.writeValueAsString(row));
+            } else {
+                writer.write(row.values().stream().map(TenderExportService::csvValue).collect(Collectors.joining(",")));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * RFC 4180 quoting. Text starting with a formula character (or a tab or carriage return,
+     * which spreadsheets skip before reading one) is prefixed with an apostrophe so it is
+     * not evaluated (CSV injection).
+     */
+    static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,75 @@
+package cl.sapo.licitaciones.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What users looked at recently: tender detail views and searches, counted over a sliding
+ * window (entries expire interest-window after their last hit). Bounded, in memory, per node.
+ * Used to enrich the tenders users care about first (EnrichmentQueue).
+ */
+@Component
+public class TenderInterest {
+
+    private static final int MAX_TRACKED_TENDERS = 20_000;
+    private static final int MAX_TRACKED_SEARCHES = 1_000;
+    private static final int POPULAR_SEARCHES = 20;
+    private static final int MIN_POPULAR_COUNT = 2;
+
+    private final Cache<String, LongAdder> views;
+    private final Cache<SearchResultCache.Key, LongAdder> searches;
+
+    public TenderInterest(@Value("${licitaciones.enrichment.interest-window:24h}") Duration window) {
+        this.views = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_TENDERS)
+                .expireAfterAccess(window)
+                .build();
+        this.searches = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_SEARCHES)
+                .expireAfterAccess(window)
+                .build();
+    }
+
+    public void recordView(String codigoExterno) {
+        views.get(codigoExterno, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Counts a search by its filters (the sort order does not change what it matches).
+     * The unfiltered listing matches every tender and is not counted.
+     */
+    public void recordSearch(SearchResultCache.Key key) {
+        if (key.query() == null && key.region() == null && key.productCode() == null) {
+            return;
+        }
+        searches.get(new SearchResultCache.Key(key.query(), key.region(), key.productCode(), null),
+                k -> new LongAdder()).increment();
+    }
+
+    public long views(String codigoExterno) {
+        // Reading the count must not extend the window
+        LongAdder count = views.policy().getIfPresentQuietly(codigoExterno);
+        return count != null ? count.sum() : 0;
+    }
+
+    /**
+     * The most frequent recent searches, searched at least twice.
+     */
+    public List<SearchResultCache.Key> popularSearches() {
+        return searches.asMap().entrySet().stream()
+                .filter(e -> e.getValue().sum() >= MIN_POPULAR_COUNT)
+                .sorted(Comparator.comparingLong((Map.Entry<SearchResultCache.Key, LongAdder> e) -> e.getValue().sum())
+                        .reversed())
+                .limit(POPULAR_SEARCHES)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
@@ -0,0 +1,190 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.dto.ItemDTO;
+import cl.sapo.licitaciones.dto.LicitacionDTO;
+import cl.sapo.licitaciones.entity.ItemLicitacion;
+import cl.sapo.licitaciones.entity.Licitacion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps Mercado Publico API tenders to entities during ingestion.
+ * Runs once per tender and item of every sync; benchmarked in benchmark/jmh.
+ * Timestamps are parsed straight from their characters (no substring, no formatter,
+ * no exception on bad input), and Phase 1 validates and maps a tender in one pass,
+ * parsing each date once.
+ */
+@Component
+@Slf4j
+public class TenderMapper {
+
+    private static final int STATUS_PUBLISHED = 5; // Only tenders with status "Publicada"
+
+    /**
+     * Validates if a tender should be processed.
+     * Criteria:
+     * - Status must be 5 (Published)
+     * - Close date must be in the future
+     */
+    public boolean isValidTender(LicitacionDTO dto) {
+        return parseValidCloseDate(dto, LocalDateTime.now()) != null;
+    }
+
+    /**
+     * Maps a tender from the API listing if it is valid (see isValidTender), or returns null.
+     */
+    public Licitacion toValidEntity(LicitacionDTO dto, LocalDateTime now) {
+        LocalDateTime fechaCierre = parseValidCloseDate(dto, now);
+        return fechaCierre != null ? toEntity(dto, fechaCierre) : null;
+    }
+
+    /**
+     * Maps DTO to Entity, flattening the nested structure.
+     * Extracts region from Comprador.RegionUnidad.
+     */
+    public Licitacion toEntity(LicitacionDTO dto) {
+        return toEntity(dto, parseDateTime(getCloseDateString(dto)));
+    }
+
+    private Licitacion toEntity(LicitacionDTO dto, LocalDateTime fechaCierre) {
+        List<ItemDTO> itemDtos = dto.items() != null ? dto.items().listado() : null;
+
+        Licitacion licitacion = Licitacion.builder()
+                .codigoExterno(dto.codigoExterno())
+                .nombre(dto.nombre())
+                .descripcion(dto.descripcion())
+                .codigoEstado(dto.codigoEstado())
+                .fechaCierre(fechaCierre)
+                .fechaPublicacion(parseDateTime(getPublicationDateString(dto)))
+                .items(new ArrayList<>(itemDtos != null ? itemDtos.size() : 0))
+                .build();
+
+        // Extract region from Comprador
+        if (dto.comprador() != null) {
+            licitacion.setRegion(dto.comprador().regionUnidad());
+            licitacion.setBuyerName(dto.comprador().nombreUnidad());
+            licitacion.setBuyerRut(dto.comprador().rutUnidad());
+        }
+
+        // Map items
+        if (itemDtos != null) {
+            for (ItemDTO itemDto : itemDtos) {
+                licitacion.addItem(toItem(itemDto, licitacion));
+            }
+        }
+
+        return licitacion;
+    }
+
+    /**
+     * Maps ItemDTO to ItemLicitacion entity.
+     */
+    public ItemLicitacion toItem(ItemDTO dto, Licitacion licitacion) {
+        return ItemLicitacion.builder()
+                .productCode(dto.codigoProducto())
+                .productName(dto.nombreProducto())
+                .description(dto.descripcion())
+                .quantity(dto.cantidad())
+                .unitOfMeasure(dto.unidadMedida())
+                .licitacion(licitacion)
+                .build();
+    }
+
+    /**
+     * Close date of a published tender that closes after now, or null.
+     */
+    private LocalDateTime parseValidCloseDate(LicitacionDTO dto, LocalDateTime now) {
+        if (dto.codigoEstado() == null || dto.codigoEstado() != STATUS_PUBLISHED) {
+            return null;
+        }
+
+        String closeDateStr = getCloseDateString(dto);
+        if (closeDateStr == null) {
+            return null;
+        }
+
+        LocalDateTime closeDate = parseDateTime(closeDateStr);
+        if (closeDate == null) {
+            log.warn("Invalid close date for tender {}: {}", dto.codigoExterno(), closeDateStr);
+            return null;
+        }
+        return closeDate.isAfter(now) ? closeDate : null;
+    }
+
+    /**
+     * Gets close date from DTO, checking both Fechas and direct FechaCierre.
+     */
+    private String getCloseDateString(LicitacionDTO dto) {
+        if (dto.fechas() != null && dto.fechas().fechaCierre() != null) {
+            return dto.fechas().fechaCierre();
+        }
+        return dto.fechaCierre();
+    }
+
+    /**
+     * Gets publication date from DTO, checking both Fechas and direct FechaPublicacion.
+     */
+    private String getPublicationDateString(LicitacionDTO dto) {
+        if (dto.fechas() != null && dto.fechas().fechaPublicacion() != null) {
+            return dto.fechas().fechaPublicacion();
+        }
+        return dto.fechaPublicacion();
+    }
+
+    /**
+     * Parses an API timestamp (yyyy-MM-ddTHH:mm:ss, optionally followed by a fraction of
+     * variable precision, which is dropped). Returns null for anything else.
+     */
+    public LocalDateTime parseDateTime(CharSequence text) {
+        if (text == null || text.length() < 19) {
+            return null;
+        }
+        if (text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return null;
+        }
+        // The API returns 0, 2 or 3 fractional digits; they are not kept
+        if (text.length() > 19 && (text.charAt(19) != '.' || digits(text, 20, text.length() - 20) < 0)) {
+            return null;
+        }
+
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        int second = digits(text, 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+        if (day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second);
+    }
+
+    /**
+     * Value of count decimal digits starting at from, or -1 if any of them is not a digit.
+     */
+    private static int digits(CharSequence text, int from, int count) {
+        if (count < 1 || count > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,127 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.entity.ItemLicitacion;
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.entity.Region;
+import cl.sapo.licitaciones.entity.Unspsc;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory equivalent of the filters in LicitacionSpecs.
+ * Mirrors PostgreSQL unaccent(lower(field)) LIKE '%value%' so that search results
+ * can be evaluated without a database round trip.
+ */
+public final class TenderMatcher {
+
+    private static final int STATUS_PUBLISHED = 5;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private TenderMatcher() {
+    }
+
+    /**
+     * Lower-cases and strips accents, like unaccent(lower(text)).
+     * Returns null for null or blank input.
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(text.trim(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Checks whether a tender satisfies LicitacionSpecs.searchWithFilters(query, region).
+     * Both filters must already be normalized; null means "no filter".
+     */
+    public static boolean matches(Licitacion tender, String normalizedQuery, String normalizedRegion) {
+        return matches(tender, normalizedQuery, normalizedRegion, null);
+    }
+
+    /**
+     * Checks whether a tender satisfies LicitacionSpecs.searchWithFilters(query, region, productCode).
+     */
+    public static boolean matches(Licitacion tender, String normalizedQuery, String normalizedRegion,
+                                  String productCode) {
+        if (tender.getCodigoEstado() == null || tender.getCodigoEstado() != STATUS_PUBLISHED) {
+            return false;
+        }
+        return matchesRegion(tender, normalizedRegion)
+                && matchesProduct(tender, productCode)
+                && matchesText(tender, normalizedQuery);
+    }
+
+    /**
+     * Product filter: some item code falls under the UNSPSC prefix, as in LicitacionSpecs.hasProductCode.
+     */
+    public static boolean matchesProduct(Licitacion tender, String productCode) {
+        if (productCode == null) {
+            return true;
+        }
+        if (tender.getItems() != null) {
+            for (ItemLicitacion item : tender.getItems()) {
+                if (Unspsc.matches(item.getProductCode(), productCode)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Region filter: region keys when the input designates known regions,
+     * otherwise substring (case and accent insensitive), as in LicitacionSpecs.hasRegion.
+     */
+    public static boolean matchesRegion(Licitacion tender, String normalizedRegion) {
+        if (normalizedRegion == null) {
+            return true;
+        }
+        if (hasLikeWildcards(normalizedRegion)) {
+            // SQL LIKE would treat these as wildcards; assume a match to stay conservative
+            return true;
+        }
+        Set<Region> regions = Region.matching(normalizedRegion);
+        if (!regions.isEmpty()) {
+            return tender.getRegionId() != null
+                    && regions.stream().anyMatch(r -> r.getId() == tender.getRegionId());
+        }
+        return contains(tender.getRegion(), normalizedRegion);
+    }
+
+    /**
+     * Text filter over name, description and item descriptions/product names.
+     */
+    public static boolean matchesText(Licitacion tender, String normalizedQuery) {
+        if (normalizedQuery == null) {
+            return true;
+        }
+        if (hasLikeWildcards(normalizedQuery)) {
+            return true;
+        }
+        if (contains(tender.getNombre(), normalizedQuery) || contains(tender.getDescripcion(), normalizedQuery)) {
+            return true;
+        }
+        if (tender.getItems() != null) {
+            for (ItemLicitacion item : tender.getItems()) {
+                if (contains(item.getDescription(), normalizedQuery) || contains(item.getProductName(), normalizedQuery)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(String field, String normalizedValue) {
+        String normalizedField = normalize(field);
+        return normalizedField != null && normalizedField.contains(normalizedValue);
+    }
+
+    private static boolean hasLikeWildcards(String value) {
+        return value.indexOf('%') >= 0 || value.indexOf('_') >= 0;
+    }
+}
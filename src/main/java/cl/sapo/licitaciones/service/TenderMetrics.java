@@ -0,0 +1,115 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.entity.Unspsc;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Application meters, exposed on /actuator/prometheus next to the built-in ones
+ * (http.server.requests, http.client.requests for the Mercado Publico API, hikaricp.*):
+ * - licitaciones.sync.phase: duration of each sync phase (fetch, save, enrich) by outcome
+ * - licitaciones.tenders.written: tenders upserted, deleted, enriched, closed, archived and
+ *   imported (warm start dump)
+ * - licitaciones.enrichment: enrichment attempts by outcome (rate = throughput; deferred = on-demand
+ *   attempt that found the API busy)
+ *   and licitaciones.enrichment.queue: tenders still waiting for enrichment
+ * - licitaciones.api.ticket.calls: Mercado Publico API calls per ticket (position in the list) by
+ *   outcome (success, rejected, error, throttled, auth)
+ * - licitaciones.search: search latency by source (cache, snapshot, database) and query shape
+ * - licitaciones.rss.render / licitaciones.rss.bytes: RSS generation time and size by feed
+ * Tags only carry bounded values (never the query text or a tender code).
+ */
+@Component
+public class TenderMetrics {
+
+    private final MeterRegistry registry;
+    private final AtomicInteger enrichmentQueue = new AtomicInteger();
+
+    public TenderMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("licitaciones.enrichment.queue", enrichmentQueue, AtomicInteger::get)
+                .description("Tenders still waiting for enrichment")
+                .register(registry);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void syncPhase(Timer.Sample sample, String phase, String outcome) {
+        sample.stop(Timer.builder("licitaciones.sync.phase")
+                .description("Duration of a sync phase")
+                .tag("phase", phase)
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    public void tendersWritten(String operation, int count) {
+        if (count > 0) {
+            Counter.builder("licitaciones.tenders.written")
+                    .tag("operation", operation)
+                    .register(registry)
+                    .increment(count);
+        }
+    }
+
+    public void enrichment(String outcome) {
+        Counter.builder("licitaciones.enrichment")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    public void setEnrichmentQueue(int remaining) {
+        enrichmentQueue.set(remaining);
+    }
+
+    public void ticketCall(int ticket, String outcome) {
+        Counter.builder("licitaciones.api.ticket.calls")
+                .tag("ticket", String.valueOf(ticket))
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Records a search. The shape says which filters were used, not their values.
+     */
+    public void search(Timer.Sample sample, String source, SearchResultCache.Key key) {
+        sample.stop(Timer.builder("licitaciones.search")
+                .description("Tender search latency")
+                .tag("source", source)
+                .tag("query", key.query() != null ? "text" : "none")
+                .tag("region", key.region() != null ? "yes" : "no")
+                .tag("product", productShape(key.productCode()))
+                .tag("sort", "creation_date".equals(key.sortBy()) ? "creation_date" : "close_date")
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    public void rss(Timer.Sample sample, String feed, int bytes) {
+        sample.stop(Timer.builder("licitaciones.rss.render")
+                .description("RSS feed generation time")
+                .tag("feed", feed)
+                .register(registry));
+        DistributionSummary.builder("licitaciones.rss.bytes")
+                .description("RSS feed size")
+                .baseUnit("bytes")
+                .tag("feed", feed)
+                .register(registry)
+                .record(bytes);
+    }
+
+    private static String productShape(String productCode) {
+        if (!Unspsc.isValidPrefix(productCode)) {
+            return "none";
+        }
+        return Unspsc.Level.of(productCode).name().toLowerCase();
+    }
+}
@@ -0,0 +1,11 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.entity.Licitacion;
+
+import java.util.List;
+
+/**
+ * A page of search results and the cursor of the next page (null on the last page).
+ */
+public record TenderPage(List<Licitacion> tenders, TenderCursor nextCursor) {
+}
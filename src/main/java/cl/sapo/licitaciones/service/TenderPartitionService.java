@@ -0,0 +1,430 @@
+package cl.sapo.licitaciones.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Weekly range partitions of tenders and tender_items by close date (PostgreSQL 15+ only).
+ * - tenders is partitioned on close_date; tender_items carries a copy of it and references
+ *   (tender_code, close_date) with ON UPDATE/DELETE CASCADE, so an item always lives in
+ *   the same week as its tender and follows it when the close date moves.
+ * - Partitions start on Mondays and are created weeks-ahead in advance. Later close dates
+ *   land in the default partition and are moved out when their week's partition is created.
+ * - Expiry detaches and drops whole weeks that closed before now, instead of deleting rows.
+ * Existing unpartitioned tables are converted on first start. The schema is created here,
+ * before Hibernate's schema update (see DataSourceConfig), on the write pool.
+ * With licitaciones.schema.inspect-on-startup=false (fast-start profile) the tables are assumed
+ * to be partitioned already and startup does not touch the database; the nightly job creates new weeks.
+ * With another database (H2 in tests) or an older PostgreSQL the tables stay plain, with the
+ * item foreign key on tender_code alone, and expiry keeps deleting rows.
+ */
+@Service
+@Slf4j
+public class TenderPartitionService {
+
+    static final String TENDERS = "tenders";
+    static final String ITEMS = "tender_items";
+
+    private static final int MIN_SERVER_VERSION = 150000;
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    // DDL waits at most this long for a lock, so it never queues reads behind it for long
+    private static final String LOCK_TIMEOUT = "SET LOCAL lock_timeout = '5s'";
+
+    private static final String TENDER_COLUMNS =
+            "external_code, name, description, status_code, close_date, publication_date, " +
+            "region, region_id, buyer_name, buyer_rut, created_at, updated_at";
+    // Older schemas allowed tenders without a close date; the partition key can't be null
+    private static final String CLOSE_DATE = "COALESCE(close_date, created_at)";
+    private static final String ITEM_COLUMNS =
+            "id, product_code, product_segment, product_family, product_class, product_name, " +
+            "description, quantity, unit_of_measure, tender_code";
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final int weeksAhead;
+    private final boolean inspectSchema;
+    private volatile boolean active;
+
+    public TenderPartitionService(@Qualifier("writeDataSource") DataSource dataSource,
+                                  @Value("${licitaciones.partitioning.enabled:true}") boolean enabled,
+                                  @Value("${licitaciones.partitioning.weeks-ahead:8}") int weeksAhead,
+                                  @Value("${licitaciones.schema.inspect-on-startup:true}") boolean inspectSchema) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.weeksAhead = weeksAhead;
+        this.inspectSchema = inspectSchema;
+    }
+
+    /**
+     * Whether the tables are partitioned and expiry can drop partitions.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    @FunctionalInterface
+    private interface Work<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    private <T> T inTransaction(Work<T> work) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                T result = work.run(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    @PostConstruct
+    public void ensureSchema() {
+        if (!enabled) {
+            log.info("Tender partitioning disabled");
+            return;
+        }
+        if (!inspectSchema) {
+            // Pre-validated schema: partitions exist weeks-ahead in advance
+            active = true;
+            log.info("Tender partitioning assumed (schema inspection skipped)");
+            return;
+        }
+        try {
+            active = inTransaction(connection -> {
+                if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                    return false;
+                }
+                int version = queryInt(connection, "SELECT current_setting('server_version_num')::int");
+                if (version < MIN_SERVER_VERSION) {
+                    // Older versions turn a cross-partition UPDATE into DELETE + INSERT, which would cascade to items
+                    log.warn("Tender partitioning needs PostgreSQL 15 or later, expiry will delete rows");
+                    return false;
+                }
+
+                String kind = queryString(connection,
+                        "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass('" + TENDERS + "')");
+                if ("p".equals(kind)) {
+                    return true;
+                }
+                if (kind == null) {
+                    createPartitionedTables(connection);
+                    createIndexes(connection);
+                    log.info("Created partitioned tables {} and {}", TENDERS, ITEMS);
+                } else {
+                    migrate(connection);
+                }
+                return true;
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not prepare partitioned tender tables", e);
+        }
+
+        if (active) {
+            ensurePartitions();
+        }
+    }
+
+    /**
+     * Without partitioning, tender_items gets the plain foreign key on tender_code that the
+     * mapping leaves out (it can't exist on the partitioned tables). Runs once Hibernate's
+     * schema update has created the tables; a no-op when the key is already there.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureItemForeignKey() {
+        if (active || !inspectSchema) {
+            return;
+        }
+        try {
+            inTransaction(connection -> {
+                DatabaseMetaData metaData = connection.getMetaData();
+                String table = metaData.storesUpperCaseIdentifiers() ? ITEMS.toUpperCase(Locale.ROOT) : ITEMS;
+                try (ResultSet keys = metaData.getImportedKeys(null, null, table)) {
+                    while (keys.next()) {
+                        if ("tender_code".equalsIgnoreCase(keys.getString("FKCOLUMN_NAME"))) {
+                            return null;
+                        }
+                    }
+                }
+                execute(connection, "ALTER TABLE " + ITEMS + " ADD CONSTRAINT fk_tender_items_tender " +
+                        "FOREIGN KEY (tender_code) REFERENCES " + TENDERS + " (external_code)");
+                log.info("Created foreign key of {} on tender_code", ITEMS);
+                return null;
+            });
+        } catch (SQLException e) {
+            log.warn("Could not create the foreign key of {}: {}", ITEMS, e.getMessage());
+        }
+    }
+
+    /**
+     * Creates the partitions of the current week and of the following weeks-ahead weeks.
+     */
+    @Scheduled(cron = "0 0 1 * * *")
+    public void ensurePartitions() {
+        if (!active) {
+            return;
+        }
+        LocalDate week = weekOf(LocalDateTime.now());
+        for (int i = 0; i <= weeksAhead; i++) {
+            LocalDate start = week.plusWeeks(i);
+            try {
+                inTransaction(connection -> {
+                    createPartition(connection, start);
+                    return null;
+                });
+            } catch (SQLException e) {
+                // Rows keep going to the default partition; retried on the next run
+                log.warn("Could not create tender partition for week {}: {}", start, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Detaches and drops the weekly partitions whose tenders all closed before the given time.
+     * Returns the number of tenders dropped. Rows closed earlier in the current week are
+     * left for the row-level delete.
+     */
+    public int dropExpiredPartitions(LocalDateTime now) {
+        if (!active) {
+            return 0;
+        }
+        int dropped = 0;
+        try {
+            for (LocalDate start : listPartitions()) {
+                if (start.plusWeeks(1).atStartOfDay().isAfter(now)) {
+                    continue;
+                }
+                dropped += inTransaction(connection -> {
+                    execute(connection, LOCK_TIMEOUT);
+                    int count = queryInt(connection, "SELECT count(*) FROM " + partitionName(TENDERS, start));
+                    // Items first: the tenders partition can't be detached while rows reference it
+                    execute(connection, "ALTER TABLE " + ITEMS + " DETACH PARTITION " + partitionName(ITEMS, start));
+                    execute(connection, "DROP TABLE " + partitionName(ITEMS, start));
+                    execute(connection, "ALTER TABLE " + TENDERS + " DETACH PARTITION " + partitionName(TENDERS, start));
+                    execute(connection, "DROP TABLE " + partitionName(TENDERS, start));
+                    return count;
+                });
+                log.info("Dropped tender partition for week {}", start);
+            }
+        } catch (SQLException e) {
+            log.warn("Could not drop expired tender partitions: {}", e.getMessage());
+        }
+        return dropped;
+    }
+
+    private List<LocalDate> listPartitions() throws SQLException {
+        return inTransaction(connection -> {
+            List<LocalDate> weeks = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                    "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname")) {
+                statement.setString(1, TENDERS);
+                try (ResultSet rs = statement.executeQuery()) {
+                    String prefix = TENDERS + "_p";
+                    while (rs.next()) {
+                        String name = rs.getString(1);
+                        if (name.startsWith(prefix)) {
+                            weeks.add(LocalDate.parse(name.substring(prefix.length()), SUFFIX));
+                        }
+                    }
+                }
+            }
+            return weeks;
+        });
+    }
+
+    static LocalDate weekOf(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    static String partitionName(String table, LocalDate weekStart) {
+        return table + "_p" + weekStart.format(SUFFIX);
+    }
+
+    private void createPartitionedTables(Connection connection) throws SQLException {
+        execute(connection, """
+                CREATE TABLE tenders (
+                    external_code VARCHAR(255) NOT NULL,
+                    name VARCHAR(500) NOT NULL,
+                    description TEXT,
+                    status_code INTEGER NOT NULL,
+                    close_date TIMESTAMP(6) NOT NULL,
+                    publication_date TIMESTAMP(6),
+                    region VARCHAR(255),
+                    region_id INTEGER,
+                    buyer_name VARCHAR(255),
+                    buyer_rut VARCHAR(255),
+                    created_at TIMESTAMP(6) NOT NULL,
+                    updated_at TIMESTAMP(6),
+                    CONSTRAINT pk_tenders PRIMARY KEY (external_code, close_date)
+                ) PARTITION BY RANGE (close_date)""");
+        // Deferred: Hibernate inserts new items before it updates a tender whose close date moved
+        execute(connection, """
+                CREATE TABLE tender_items (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+                    product_code VARCHAR(255),
+                    product_segment INTEGER,
+                    product_family INTEGER,
+                    product_class INTEGER,
+                    product_name VARCHAR(255) NOT NULL,
+                    description TEXT,
+                    quantity INTEGER,
+                    unit_of_measure VARCHAR(255),
+                    tender_code VARCHAR(255) NOT NULL,
+                    close_date TIMESTAMP(6) NOT NULL,
+                    CONSTRAINT pk_tender_items PRIMARY KEY (id, close_date),
+                    CONSTRAINT fk_tender_items_tender FOREIGN KEY (tender_code, close_date)
+                        REFERENCES tenders (external_code, close_date)
+                        ON UPDATE CASCADE ON DELETE CASCADE
+                        DEFERRABLE INITIALLY DEFERRED
+                ) PARTITION BY RANGE (close_date)""");
+        execute(connection, "CREATE TABLE " + TENDERS + "_default PARTITION OF " + TENDERS + " DEFAULT");
+        execute(connection, "CREATE TABLE " + ITEMS + "_default PARTITION OF " + ITEMS + " DEFAULT");
+    }
+
+    private void createIndexes(Connection connection) throws SQLException {
+        // The entity @Index definitions are added by Hibernate; this one backs the foreign key cascades
+        execute(connection, "CREATE INDEX IF NOT EXISTS idx_tender_items_tender_code ON " + ITEMS + " (tender_code, close_date)");
+    }
+
+    /**
+     * One-off conversion of the unpartitioned tables, in a single transaction.
+     * Every row is copied: tenders that closed before the current week get partitions for
+     * their weeks too, so the next expiry run archives them and drops those partitions
+     * like any other expired week.
+     */
+    private void migrate(Connection connection) throws SQLException {
+        long start = System.currentTimeMillis();
+        LocalDate currentWeek = weekOf(LocalDateTime.now());
+
+        execute(connection, "ALTER TABLE " + ITEMS + " RENAME TO " + ITEMS + "_unpartitioned");
+        execute(connection, "ALTER TABLE " + TENDERS + " RENAME TO " + TENDERS + "_unpartitioned");
+        createPartitionedTables(connection);
+        List<LocalDate> pastWeeks = queryDates(connection,
+                "SELECT DISTINCT date_trunc('week', " + CLOSE_DATE + ")::date FROM " + TENDERS + "_unpartitioned " +
+                "WHERE " + CLOSE_DATE + " < '" + currentWeek.atStartOfDay() + "'");
+        for (LocalDate week : pastWeeks) {
+            createPartition(connection, week);
+        }
+        for (int i = 0; i <= weeksAhead; i++) {
+            createPartition(connection, currentWeek.plusWeeks(i));
+        }
+
+        int tenders = update(connection,
+                "INSERT INTO " + TENDERS + " (" + TENDER_COLUMNS + ") " +
+                "SELECT " + TENDER_COLUMNS.replace("close_date", CLOSE_DATE + " AS close_date") +
+                " FROM " + TENDERS + "_unpartitioned");
+        int items = update(connection,
+                "INSERT INTO " + ITEMS + " (" + ITEM_COLUMNS + ", close_date) " +
+                "SELECT " + prefixed("i", ITEM_COLUMNS) + ", COALESCE(t.close_date, t.created_at) FROM " + ITEMS + "_unpartitioned i " +
+                "JOIN " + TENDERS + "_unpartitioned t ON t.external_code = i.tender_code");
+        execute(connection, "SELECT setval(pg_get_serial_sequence('" + ITEMS + "', 'id'), " +
+                "COALESCE((SELECT max(id) FROM " + ITEMS + "), 0) + 1, false)");
+
+        execute(connection, "DROP TABLE " + ITEMS + "_unpartitioned, " + TENDERS + "_unpartitioned CASCADE");
+        createIndexes(connection);
+        log.info("Converted {} and {} to weekly partitions: {} tenders and {} items copied ({} past weeks) in {} ms",
+                TENDERS, ITEMS, tenders, items, pastWeeks.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Creates the partitions of one week. Rows of that week already in the default
+     * partitions are moved into the new ones, which are then attached.
+     */
+    private void createPartition(Connection connection, LocalDate weekStart) throws SQLException {
+        String tenders = partitionName(TENDERS, weekStart);
+        String items = partitionName(ITEMS, weekStart);
+        if (queryString(connection, "SELECT to_regclass('" + tenders + "')::text") != null) {
+            return;
+        }
+
+        execute(connection, LOCK_TIMEOUT);
+        String bounds = "FOR VALUES FROM ('" + weekStart.atStartOfDay() + "') TO ('" + weekStart.plusWeeks(1).atStartOfDay() + "')";
+        String range = "close_date >= '" + weekStart.atStartOfDay() + "' AND close_date < '" + weekStart.plusWeeks(1).atStartOfDay() + "'";
+
+        boolean inDefault = queryString(connection,
+                "SELECT 1::text FROM " + TENDERS + "_default WHERE " + range + " LIMIT 1") != null;
+        if (!inDefault) {
+            execute(connection, "CREATE TABLE " + tenders + " PARTITION OF " + TENDERS + " " + bounds);
+            execute(connection, "CREATE TABLE " + items + " PARTITION OF " + ITEMS + " " + bounds);
+            return;
+        }
+
+        execute(connection, "CREATE TABLE " + tenders + " (LIKE " + TENDERS + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        execute(connection, "CREATE TABLE " + items + " (LIKE " + ITEMS + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        execute(connection, "INSERT INTO " + tenders + " SELECT * FROM " + TENDERS + "_default WHERE " + range);
+        execute(connection, "INSERT INTO " + items + " SELECT * FROM " + ITEMS + "_default WHERE " + range);
+        execute(connection, "DELETE FROM " + ITEMS + "_default WHERE " + range);
+        execute(connection, "DELETE FROM " + TENDERS + "_default WHERE " + range);
+        execute(connection, "ALTER TABLE " + TENDERS + " ATTACH PARTITION " + tenders + " " + bounds);
+        execute(connection, "ALTER TABLE " + ITEMS + " ATTACH PARTITION " + items + " " + bounds);
+        log.info("Moved tenders closing in week {} out of the default partition", weekStart);
+    }
+
+    private static String prefixed(String alias, String columns) {
+        return alias + "." + columns.replace(", ", ", " + alias + ".");
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static int update(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeUpdate(sql);
+        }
+    }
+
+    private static List<LocalDate> queryDates(Connection connection, String sql) throws SQLException {
+        List<LocalDate> dates = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                dates.add(rs.getObject(1, LocalDate.class));
+            }
+        }
+        return dates;
+    }
+
+    private static String queryString(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    private static int queryInt(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
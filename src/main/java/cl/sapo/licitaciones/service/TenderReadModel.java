@@ -0,0 +1,141 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.config.ReadWriteRoutingDataSource;
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.event.TendersChangedEvent;
+import cl.sapo.licitaciones.repository.LicitacionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory read model of all published tenders.
+ * Holds an immutable TenderSnapshot behind an atomic reference: readers never lock,
+ * and the sync commit hook publishes a patched copy after every change.
+ * While a patch is pending (or before the first load) the model reports itself stale
+ * and LicitacionService falls back to the database.
+ */
+@Component
+@Slf4j
+public class TenderReadModel {
+
+    private static final int STATUS_PUBLISHED = 5;
+
+    private final LicitacionRepository licitacionRepository;
+    private final boolean enabled;
+
+    private final AtomicReference<TenderSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+    // Lock rather than synchronized: rebuilds run JDBC, which would pin a virtual thread's carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public TenderReadModel(LicitacionRepository licitacionRepository,
+                           @Value("${licitaciones.read-model.enabled:true}") boolean enabled) {
+        this.licitacionRepository = licitacionRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the current snapshot, or null when it is disabled, not loaded yet or stale.
+     */
+    public TenderSnapshot current() {
+        if (!enabled || pendingChanges.get() > 0) {
+            return null;
+        }
+        return snapshot.get();
+    }
+
+    /**
+     * Initial load once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("In-memory read model disabled, reads go to the database");
+            return;
+        }
+        writeLock.lock();
+        try {
+            rebuild();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Sync commit hook. Runs before other listeners so that caches invalidated
+     * afterwards are refilled from the new snapshot.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onTendersChanged(TendersChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        pendingChanges.incrementAndGet();
+        try {
+            writeLock.lock();
+            try {
+                TenderSnapshot base = snapshot.get();
+                if (base == null || event.isBulk()) {
+                    rebuild();
+                } else {
+                    patch(base, event);
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        } catch (RuntimeException e) {
+            // Drop the snapshot so reads fall back to the DB; the next change triggers a full rebuild
+            log.error("Failed to update read model after {} change: {}", event.type(), e.getMessage());
+            snapshot.set(null);
+        } finally {
+            pendingChanges.decrementAndGet();
+        }
+    }
+
+    private void patch(TenderSnapshot base, TendersChangedEvent event) {
+        List<Licitacion> upserted = switch (event.type()) {
+            case DELETED, EXPIRED -> List.of();
+            case UPSERTED, ENRICHED -> ReadWriteRoutingDataSource.onPrimary(
+                    () -> licitacionRepository.findAllWithItemsByCodigoExternoIn(event.codigosExternos()));
+        };
+
+        // Codes that no longer exist in the DB are removed; the rest are replaced
+        Set<String> found = upserted.stream()
+                .map(Licitacion::getCodigoExterno)
+                .collect(Collectors.toSet());
+        List<String> removed = event.codigosExternos().stream()
+                .filter(codigo -> !found.contains(codigo))
+                .toList();
+
+        snapshot.set(base.withChanges(upserted, removed));
+        log.debug("Read model patched after {} change: {} upserted, {} removed",
+                event.type(), upserted.size(), removed.size());
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        // From the primary: a lagging replica would miss changes whose events were already applied
+        List<Licitacion> tenders = ReadWriteRoutingDataSource.onPrimary(
+                () -> licitacionRepository.findAllWithItemsByCodigoEstado(STATUS_PUBLISHED));
+        TenderSnapshot rebuilt = TenderSnapshot.of(tenders);
+        snapshot.set(rebuilt);
+        log.info("Read model rebuilt with {} tenders in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+    }
+}
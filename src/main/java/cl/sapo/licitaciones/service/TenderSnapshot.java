@@ -0,0 +1,311 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.entity.ItemLicitacion;
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.entity.Region;
+import cl.sapo.licitaciones.entity.Unspsc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of all published tenders and their items.
+ * Tenders are detached copies with unmodifiable item lists; they must be treated as read-only.
+ * A new snapshot is built for every change (copy-on-write), so readers never need a lock.
+ */
+public final class TenderSnapshot {
+
+    private static final String CREATION_DATE = "creation_date";
+    private static final int STATUS_PUBLISHED = 5;
+    private static final char FIELD_SEPARATOR = '\u0001';
+
+    // Mirrors Sort.Direction.DESC on PostgreSQL (NULLS FIRST), code as tie-breaker
+    private static final Comparator<Entry> BY_CLOSE_DATE_DESC = Comparator
+            .comparing((Entry e) -> e.tender().getFechaCierre(),
+                    Comparator.nullsFirst(Comparator.<LocalDateTime>reverseOrder()))
+            .thenComparing(e -> e.tender().getCodigoExterno());
+
+    private static final Comparator<Entry> BY_CREATION_DATE_DESC = Comparator
+            .comparing((Entry e) -> e.tender().getCreatedAt(),
+                    Comparator.nullsFirst(Comparator.<LocalDateTime>reverseOrder()))
+            .thenComparing(e -> e.tender().getCodigoExterno());
+
+    private final LocalDateTime builtAt;
+    private final Map<String, Entry> byCodigo;
+    private final List<Entry> byCloseDate;
+    private final List<Entry> byCreationDate;
+    private final Map<String, List<Licitacion>> byBuyerRut;
+
+    /**
+     * A tender with its search fields pre-normalized (lower case, no accents).
+     */
+    record Entry(Licitacion tender, String searchText, String region) {
+    }
+
+    private TenderSnapshot(Map<String, Entry> byCodigo) {
+        this.builtAt = LocalDateTime.now();
+        this.byCodigo = Map.copyOf(byCodigo);
+
+        List<Entry> entries = new ArrayList<>(byCodigo.values());
+        entries.sort(BY_CLOSE_DATE_DESC);
+        this.byCloseDate = List.copyOf(entries);
+        entries.sort(BY_CREATION_DATE_DESC);
+        this.byCreationDate = List.copyOf(entries);
+
+        Map<String, List<Licitacion>> buyers = new HashMap<>();
+        for (Entry entry : byCloseDate) {
+            if (entry.tender().getBuyerRut() != null) {
+                buyers.computeIfAbsent(entry.tender().getBuyerRut(), rut -> new ArrayList<>()).add(entry.tender());
+            }
+        }
+        buyers.replaceAll((rut, tenders) -> List.copyOf(tenders));
+        this.byBuyerRut = Map.copyOf(buyers);
+    }
+
+    /**
+     * Builds a snapshot from managed entities. Items must be initialized.
+     */
+    public static TenderSnapshot of(Collection<Licitacion> tenders) {
+        Map<String, Entry> entries = new HashMap<>();
+        for (Licitacion tender : tenders) {
+            if (isPublished(tender)) {
+                entries.put(tender.getCodigoExterno(), toEntry(tender));
+            }
+        }
+        return new TenderSnapshot(entries);
+    }
+
+    /**
+     * Returns a new snapshot with the given tenders replaced and codes removed.
+     * Upserted tenders that are no longer published are removed as well.
+     */
+    public TenderSnapshot withChanges(Collection<Licitacion> upserted, Collection<String> removed) {
+        Map<String, Entry> entries = new HashMap<>(byCodigo);
+        removed.forEach(entries::remove);
+        for (Licitacion tender : upserted) {
+            if (isPublished(tender)) {
+                entries.put(tender.getCodigoExterno(), toEntry(tender));
+            } else {
+                entries.remove(tender.getCodigoExterno());
+            }
+        }
+        return new TenderSnapshot(entries);
+    }
+
+    /**
+     * In-memory equivalent of LicitacionSpecs.searchWithFilters with the service sort order.
+     * Query and region must be normalized with TenderMatcher.normalize (null means no filter);
+     * productCode is a UNSPSC prefix or null.
+     */
+    public List<Licitacion> search(String normalizedQuery, String normalizedRegion, String productCode,
+                                   String sortBy) {
+        // Same resolution as LicitacionSpecs.hasRegion: region keys first, substring otherwise
+        Set<Integer> regionIds = normalizedRegion != null
+                ? Region.matching(normalizedRegion).stream().map(Region::getId).collect(Collectors.toSet())
+                : Set.of();
+
+        List<Licitacion> result = new ArrayList<>();
+        for (Entry entry : sorted(sortBy)) {
+            if (!regionIds.isEmpty()) {
+                if (!regionIds.contains(entry.tender().getRegionId())) {
+                    continue;
+                }
+            } else if (normalizedRegion != null
+                    && (entry.region() == null || !entry.region().contains(normalizedRegion))) {
+                continue;
+            }
+            if (normalizedQuery != null && !entry.searchText().contains(normalizedQuery)) {
+                continue;
+            }
+            if (!TenderMatcher.matchesProduct(entry.tender(), productCode)) {
+                continue;
+            }
+            result.add(entry.tender());
+        }
+        return result;
+    }
+
+    /**
+     * Number of published tenders per child category of a UNSPSC prefix
+     * (per segment when the prefix is null). A tender counts once per category.
+     */
+    public Map<String, Long> countByProductCategory(String prefix) {
+        Unspsc.Level level = prefix == null ? Unspsc.Level.SEGMENT : Unspsc.Level.of(prefix).child();
+        Map<String, Long> counts = new HashMap<>();
+        if (level == null) {
+            return counts;
+        }
+
+        for (Entry entry : byCloseDate) {
+            Set<String> categories = new HashSet<>();
+            for (ItemLicitacion item : entry.tender().getItems()) {
+                String code = item.getProductCode();
+                if (prefix == null ? Unspsc.categoryOf(code, level) != null : Unspsc.matches(code, prefix)) {
+                    categories.add(code.trim().substring(0, level.getDigits()));
+                }
+            }
+            categories.forEach(category -> counts.merge(category, 1L, Long::sum));
+        }
+        return counts;
+    }
+
+    /**
+     * Published tenders of a buyer, furthest close date first.
+     */
+    public List<Licitacion> findByBuyerRut(String buyerRut) {
+        return buyerRut != null ? byBuyerRut.getOrDefault(buyerRut, List.of()) : List.of();
+    }
+
+    /**
+     * Published tenders with the given canonical region key, furthest close date first.
+     */
+    public List<Licitacion> findByRegionId(int regionId) {
+        List<Licitacion> result = new ArrayList<>();
+        for (Entry entry : byCloseDate) {
+            Integer tenderRegionId = entry.tender().getRegionId();
+            if (tenderRegionId != null && tenderRegionId == regionId) {
+                result.add(entry.tender());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Equivalent of LicitacionRepository.findByRegionIgnoreCase (exact match), for regions
+     * without a canonical key.
+     */
+    public List<Licitacion> findByRegionIgnoreCase(String region) {
+        List<Licitacion> result = new ArrayList<>();
+        for (Entry entry : byCloseDate) {
+            if (region != null && region.equalsIgnoreCase(entry.tender().getRegion())) {
+                result.add(entry.tender());
+            }
+        }
+        return result;
+    }
+
+    public Optional<Licitacion> find(String codigoExterno) {
+        Entry entry = byCodigo.get(codigoExterno);
+        return entry != null ? Optional.of(entry.tender()) : Optional.empty();
+    }
+
+    /**
+     * Resolves codes in the given order, skipping the ones not in the snapshot.
+     */
+    public List<Licitacion> findAllInOrder(List<String> codigos) {
+        List<Licitacion> result = new ArrayList<>(codigos.size());
+        for (String codigo : codigos) {
+            Entry entry = byCodigo.get(codigo);
+            if (entry != null) {
+                result.add(entry.tender());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * LIKE wildcards in user input can't be evaluated in memory; such searches go to the database.
+     */
+    public static boolean canServe(String normalizedQuery, String normalizedRegion) {
+        return !hasLikeWildcards(normalizedQuery) && !hasLikeWildcards(normalizedRegion);
+    }
+
+    /**
+     * Number of tenders per canonical region key (tenders without a key are not counted).
+     */
+    public Map<Integer, Long> countByRegionId() {
+        Map<Integer, Long> counts = new HashMap<>();
+        for (Entry entry : byCloseDate) {
+            Integer regionId = entry.tender().getRegionId();
+            if (regionId != null) {
+                counts.merge(regionId, 1L, Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    public int size() {
+        return byCodigo.size();
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    private List<Entry> sorted(String sortBy) {
+        return CREATION_DATE.equalsIgnoreCase(sortBy) ? byCreationDate : byCloseDate;
+    }
+
+    private static boolean isPublished(Licitacion tender) {
+        return tender.getCodigoEstado() != null && tender.getCodigoEstado() == STATUS_PUBLISHED;
+    }
+
+    private static boolean hasLikeWildcards(String value) {
+        return value != null && (value.indexOf('%') >= 0 || value.indexOf('_') >= 0);
+    }
+
+    private static Entry toEntry(Licitacion source) {
+        Licitacion copy = copyOf(source);
+
+        StringBuilder text = new StringBuilder();
+        appendNormalized(text, copy.getNombre());
+        appendNormalized(text, copy.getDescripcion());
+        for (ItemLicitacion item : copy.getItems()) {
+            appendNormalized(text, item.getDescription());
+            appendNormalized(text, item.getProductName());
+        }
+
+        return new Entry(copy, text.toString(), TenderMatcher.normalize(copy.getRegion()));
+    }
+
+    private static void appendNormalized(StringBuilder text, String field) {
+        String normalized = TenderMatcher.normalize(field);
+        if (normalized != null) {
+            text.append(normalized).append(FIELD_SEPARATOR);
+        }
+    }
+
+    /**
+     * Detached copy of a tender and its items, safe to share between threads.
+     */
+    private static Licitacion copyOf(Licitacion source) {
+        Licitacion copy = Licitacion.builder()
+                .codigoExterno(source.getCodigoExterno())
+                .nombre(source.getNombre())
+                .descripcion(source.getDescripcion())
+                .codigoEstado(source.getCodigoEstado())
+                .fechaCierre(source.getFechaCierre())
+                .fechaPublicacion(source.getFechaPublicacion())
+                .region(source.getRegion())
+                .regionId(source.getRegionId())
+                .buyerName(source.getBuyerName())
+                .buyerRut(source.getBuyerRut())
+                .createdAt(source.getCreatedAt())
+                .updatedAt(source.getUpdatedAt())
+                .build();
+
+        List<ItemLicitacion> items = new ArrayList<>(source.getItems().size());
+        for (ItemLicitacion item : source.getItems()) {
+            items.add(ItemLicitacion.builder()
+                    .id(item.getId())
+                    .productCode(item.getProductCode())
+                    .productName(item.getProductName())
+                    .description(item.getDescription())
+                    .quantity(item.getQuantity())
+                    .unitOfMeasure(item.getUnitOfMeasure())
+                    .licitacion(copy)
+                    .build());
+        }
+        copy.setItems(List.copyOf(items));
+        return copy;
+    }
+}
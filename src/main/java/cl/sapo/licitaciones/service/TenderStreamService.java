@@ -0,0 +1,284 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.config.ReadWriteRoutingDataSource;
+import cl.sapo.licitaciones.dto.TenderSummaryDTO;
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.event.TendersChangedEvent;
+import cl.sapo.licitaciones.repository.LicitacionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Pushes upserted (Phase 1) and enriched (Phase 2) tenders to Server-Sent Events clients.
+ * Every event gets an increasing id and is kept in a bounded replay buffer, so a client
+ * that reconnects with Last-Event-ID receives what it missed (if still buffered).
+ * Ids start from the boot time in microseconds, so ids issued after a restart are
+ * always greater than those of the previous run.
+ * Each client has its own bounded queue drained by its own virtual thread: the sync thread
+ * never blocks on a client, a slow client never delays the others, and each client sees
+ * events in id order. A client whose queue fills up (it reads slower than events arrive)
+ * is disconnected; it can reconnect with Last-Event-ID and catch up from the replay buffer.
+ */
+@Service
+@Slf4j
+public class TenderStreamService {
+
+    public static final String EVENT_UPSERTED = "upserted";
+    public static final String EVENT_ENRICHED = "enriched";
+
+    private static final long HEARTBEAT_SECONDS = 30;
+
+    private final LicitacionRepository licitacionRepository;
+    private final TenderReadModel tenderReadModel;
+    private final int replaySize;
+    private final int maxClients;
+    private final int clientQueueSize;
+    private final Supplier<SseEmitter> emitterFactory;
+
+    private final Object lock = new Object();
+    private final Deque<StreamEvent> replayBuffer = new ArrayDeque<>();
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService heartbeat;
+    private long lastEventId = System.currentTimeMillis() * 1000;
+
+    @Autowired
+    public TenderStreamService(LicitacionRepository licitacionRepository,
+                               TenderReadModel tenderReadModel,
+                               @Value("${licitaciones.stream.replay-size:1000}") int replaySize,
+                               @Value("${licitaciones.stream.max-clients:500}") int maxClients,
+                               @Value("${licitaciones.stream.client-timeout-minutes:30}") long clientTimeoutMinutes,
+                               @Value("${licitaciones.stream.client-queue-size:256}") int clientQueueSize) {
+        this(licitacionRepository, tenderReadModel, replaySize, maxClients, clientQueueSize,
+                () -> new SseEmitter(TimeUnit.MINUTES.toMillis(clientTimeoutMinutes)));
+    }
+
+    TenderStreamService(LicitacionRepository licitacionRepository, TenderReadModel tenderReadModel,
+                        int replaySize, int maxClients, int clientQueueSize, Supplier<SseEmitter> emitterFactory) {
+        this.licitacionRepository = licitacionRepository;
+        this.tenderReadModel = tenderReadModel;
+        this.replaySize = replaySize;
+        this.maxClients = maxClients;
+        this.clientQueueSize = clientQueueSize;
+        this.emitterFactory = emitterFactory;
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tender-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat.scheduleAtFixedRate(this::sendHeartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * A buffered event. The tender is a detached copy with its items, used for filtering on replay.
+     */
+    private record StreamEvent(long id, String name, Licitacion tender) {
+    }
+
+    /**
+     * A connected client with its filters normalized like SearchResultCache keys, and the
+     * queue of events its sender thread has yet to write. A null tender is a heartbeat.
+     */
+    private static final class Client {
+        final SseEmitter emitter;
+        final String query;
+        final String region;
+        final String productCode;
+        final BlockingQueue<StreamEvent> pending;
+        volatile Thread sender;
+
+        Client(SseEmitter emitter, String query, String region, String productCode, int queueSize) {
+            this.emitter = emitter;
+            this.query = query;
+            this.region = region;
+            this.productCode = productCode;
+            this.pending = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        boolean accepts(StreamEvent event) {
+            return TenderMatcher.matches(event.tender(), query, region, productCode);
+        }
+    }
+
+    /**
+     * Registers a client. Returns null when the client limit is reached.
+     *
+     * @param lastEventId Last-Event-ID sent by a reconnecting client, or null
+     */
+    public SseEmitter subscribe(String query, String region, String productCode, Long lastEventId) {
+        if (clients.size() >= maxClients) {
+            log.warn("Tender stream client limit reached ({})", maxClients);
+            return null;
+        }
+
+        SseEmitter emitter = emitterFactory.get();
+        String normalizedQuery = TenderMatcher.normalize(query);
+        String normalizedRegion = TenderMatcher.normalize(region);
+        Client client;
+        synchronized (lock) {
+            // Replay is queued before any live event published after registration. The queue
+            // holds the whole replay on top of its usual size, so catching up never overflows it
+            List<StreamEvent> missed = new ArrayList<>();
+            if (lastEventId != null) {
+                for (StreamEvent event : replayBuffer) {
+                    if (event.id() > lastEventId
+                            && TenderMatcher.matches(event.tender(), normalizedQuery, normalizedRegion, productCode)) {
+                        missed.add(event);
+                    }
+                }
+            }
+            client = new Client(emitter, normalizedQuery, normalizedRegion, productCode,
+                    clientQueueSize + missed.size());
+            client.pending.addAll(missed);
+            clients.add(client);
+            client.sender = Thread.ofVirtual().name("tender-stream-client").start(() -> drain(client));
+        }
+        emitter.onCompletion(() -> disconnect(client));
+        emitter.onTimeout(() -> disconnect(client));
+        emitter.onError(e -> disconnect(client));
+
+        log.debug("Tender stream client connected ({} clients, replaying from {})", clients.size(), lastEventId);
+        return emitter;
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    /**
+     * Sync commit hook. Upserted and enriched tenders are read from the read model
+     * (already patched, this listener runs after it) or from the database.
+     * Bulk changes are not streamed: they come from backfills, not from new tenders.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onTendersChanged(TendersChangedEvent event) {
+        String name = switch (event.type()) {
+            case UPSERTED -> EVENT_UPSERTED;
+            case ENRICHED -> EVENT_ENRICHED;
+            case DELETED, EXPIRED -> null;
+        };
+        if (name == null || event.isBulk()) {
+            return;
+        }
+
+        try {
+            List<Licitacion> tenders = load(event.codigosExternos());
+            synchronized (lock) {
+                List<StreamEvent> published = new ArrayList<>(tenders.size());
+                for (Licitacion tender : tenders) {
+                    StreamEvent streamEvent = new StreamEvent(++lastEventId, name, tender);
+                    replayBuffer.addLast(streamEvent);
+                    published.add(streamEvent);
+                }
+                while (replayBuffer.size() > replaySize) {
+                    replayBuffer.removeFirst();
+                }
+                for (Client client : clients) {
+                    for (StreamEvent streamEvent : published) {
+                        if (client.accepts(streamEvent) && !enqueue(client, streamEvent)) {
+                            break;
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error streaming {} change", event.type(), e);
+        }
+    }
+
+    private List<Licitacion> load(Set<String> codigos) {
+        TenderSnapshot snapshot = tenderReadModel.current();
+        if (snapshot != null) {
+            return snapshot.findAllInOrder(List.copyOf(codigos));
+        }
+        // Entities come with their items fetched, so they stay usable once detached
+        return ReadWriteRoutingDataSource.onPrimary(() -> licitacionRepository.findAllWithItemsByCodigoExternoIn(codigos));
+    }
+
+    /**
+     * Queues an event for the client without blocking. A client that is too far behind
+     * is disconnected instead of holding up the caller.
+     */
+    private boolean enqueue(Client client, StreamEvent event) {
+        if (client.pending.offer(event)) {
+            return true;
+        }
+        log.debug("Dropping tender stream client: {} events behind", client.pending.size());
+        disconnect(client);
+        client.emitter.completeWithError(new IOException("Tender stream client fell behind"));
+        return false;
+    }
+
+    /**
+     * Sender thread of one client: writes its queued events until it is disconnected.
+     */
+    private void drain(Client client) {
+        try {
+            while (clients.contains(client)) {
+                StreamEvent event = client.pending.take();
+                if (event.tender() == null) {
+                    client.emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    client.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.id()))
+                            .name(event.name())
+                            .data(TenderSummaryDTO.from(event.tender()), MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (InterruptedException e) {
+            // Disconnected while waiting for events
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping tender stream client: {}", e.getMessage());
+            disconnect(client);
+            client.emitter.completeWithError(e);
+        }
+    }
+
+    private void disconnect(Client client) {
+        if (clients.remove(client) && client.sender != null && client.sender != Thread.currentThread()) {
+            client.sender.interrupt();
+        }
+    }
+
+    /**
+     * SSE comment that keeps idle connections open through proxies and detects gone clients.
+     * Queued like an event, so it is never written concurrently with one.
+     */
+    private void sendHeartbeat() {
+        StreamEvent keepAlive = new StreamEvent(0, null, null);
+        for (Client client : clients) {
+            enqueue(client, keepAlive);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        for (Client client : clients) {
+            disconnect(client);
+            client.emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package cl.sapo.licitaciones.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel: schedules keys for a deadline and hands them back once it
+ * has passed. Scheduling and cancelling are O(1); advancing costs one bucket per tick
+ * plus the occasional cascade of a higher-level bucket into the lower levels.
+ * Each level has WHEEL_SIZE buckets; a bucket at level l spans WHEEL_SIZE^l ticks.
+ * A key sits at the lowest level whose span still separates its deadline from the
+ * current tick, and moves down a level every time the wheel below wraps around.
+ * Deadlines beyond the top level wait in an overflow set until they come in range.
+ * Keys are never returned early, and at most one tick late. Not thread-safe.
+ */
+final class TimingWheel<K> {
+
+    private static final int BITS = 6;
+    private static final int WHEEL_SIZE = 1 << BITS;
+    private static final int MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<List<Set<Entry<K>>>> levels = new ArrayList<>(LEVELS);
+    private final Set<Entry<K>> overflow = new HashSet<>();
+    private final List<K> due = new ArrayList<>();
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private long currentTick;
+
+    private static final class Entry<K> {
+        final K key;
+        final long tick;
+        Set<Entry<K>> bucket;
+
+        Entry(K key, long tick) {
+            this.key = key;
+            this.tick = tick;
+        }
+    }
+
+    TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+        for (int l = 0; l < LEVELS; l++) {
+            List<Set<Entry<K>>> buckets = new ArrayList<>(WHEEL_SIZE);
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                buckets.add(new HashSet<>());
+            }
+            levels.add(buckets);
+        }
+    }
+
+    /**
+     * Schedules a key, replacing its previous deadline if it had one.
+     */
+    void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        Entry<K> entry = new Entry<>(key, Math.ceilDiv(deadlineMillis, tickMillis));
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.bucket != null) {
+            entry.bucket.remove(entry);
+        } else {
+            due.remove(key);
+        }
+        return true;
+    }
+
+    boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void clear() {
+        entries.values().forEach(entry -> {
+            if (entry.bucket != null) {
+                entry.bucket.clear();
+            }
+        });
+        entries.clear();
+        overflow.clear();
+        due.clear();
+    }
+
+    /**
+     * Moves the wheel to the given time and returns the keys whose deadline has passed.
+     */
+    List<K> advance(long nowMillis) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < target) {
+            currentTick++;
+            cascade();
+            Set<Entry<K>> bucket = levels.get(0).get((int) (currentTick & MASK));
+            for (Entry<K> entry : bucket) {
+                entry.bucket = null;
+                due.add(entry.key);
+            }
+            bucket.clear();
+        }
+
+        List<K> expired = new ArrayList<>(due);
+        due.clear();
+        expired.forEach(entries::remove);
+        return expired;
+    }
+
+    /**
+     * When the lower digits of the current tick roll over to zero, the entries of the
+     * matching higher-level buckets are re-placed, highest level first.
+     */
+    private void cascade() {
+        int wrapped = 0;
+        while (wrapped < LEVELS && (currentTick & ((1L << (BITS * (wrapped + 1))) - 1)) == 0) {
+            wrapped++;
+        }
+        if (wrapped == LEVELS) {
+            replace(overflow);
+        }
+        for (int l = Math.min(wrapped, LEVELS - 1); l >= 1; l--) {
+            replace(levels.get(l).get((int) ((currentTick >>> (BITS * l)) & MASK)));
+        }
+    }
+
+    private void replace(Set<Entry<K>> bucket) {
+        List<Entry<K>> moved = new ArrayList<>(bucket);
+        bucket.clear();
+        moved.forEach(this::place);
+    }
+
+    private void place(Entry<K> entry) {
+        if (entry.tick <= currentTick) {
+            entry.bucket = null;
+            due.add(entry.key);
+            return;
+        }
+        for (int l = 0; l < LEVELS; l++) {
+            // Same digits above level l: the deadline is reached before this level wraps
+            if ((entry.tick >>> (BITS * (l + 1))) == (currentTick >>> (BITS * (l + 1)))) {
+                Set<Entry<K>> bucket = levels.get(l).get((int) ((entry.tick >>> (BITS * l)) & MASK));
+                bucket.add(entry);
+                entry.bucket = bucket;
+                return;
+            }
+        }
+        overflow.add(entry);
+        entry.bucket = overflow;
+    }
+}
@@ -0,0 +1,13 @@
+package cl.sapo.licitaciones.service;
+
+/**
+ * Thrown when a call to the Mercado Publico API failed (error status, timeout, I/O error),
+ * as opposed to the API answering that it has no data. The message never carries the
+ * request URL, which contains the API ticket.
+ */
+public class UpstreamCallException extends RuntimeException {
+
+    public UpstreamCallException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,86 @@
+package cl.sapo.licitaciones.controller;
+
+import cl.sapo.licitaciones.entity.LicitacionArchivada;
+import cl.sapo.licitaciones.repository.LicitacionArchivadaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the archive API.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ArchiveControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LicitacionArchivadaRepository archiveRepository;
+
+    @AfterEach
+    void cleanup() {
+        archiveRepository.deleteAll();
+    }
+
+    @Test
+    void testSearchByCloseDateRange() throws Exception {
+        archiveRepository.saveAll(List.of(
+                archived("ARC-1", LocalDateTime.of(2026, 1, 10, 15, 0)),
+                archived("ARC-2", LocalDateTime.of(2026, 1, 31, 23, 59)),
+                archived("ARC-3", LocalDateTime.of(2026, 2, 1, 0, 0))));
+
+        mockMvc.perform(get("/api/archive/tenders").param("from", "2026-01-01").param("to", "2026-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].codigoExterno").value("ARC-1"))
+                .andExpect(jsonPath("$.items[1].codigoExterno").value("ARC-2"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        mockMvc.perform(get("/api/archive/tenders")
+                        .param("from", "2026-01-01").param("to", "2026-02-28").param("size", "2"))
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void testRejectsInvertedRange() throws Exception {
+        mockMvc.perform(get("/api/archive/tenders").param("from", "2026-02-01").param("to", "2026-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testLookupByCode() throws Exception {
+        archiveRepository.save(archived("ARC-4", LocalDateTime.of(2026, 1, 10, 15, 0)));
+
+        mockMvc.perform(get("/api/archive/tenders/ARC-4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre").value("Tender ARC-4"));
+        mockMvc.perform(get("/api/archive/tenders/MISSING"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static LicitacionArchivada archived(String code, LocalDateTime fechaCierre) {
+        return LicitacionArchivada.builder()
+                .codigoExterno(code)
+                .nombre("Tender " + code)
+                .codigoEstado(6)
+                .fechaCierre(fechaCierre)
+                .createdAt(fechaCierre.minusDays(20))
+                .archivedAt(fechaCierre.plusDays(1))
+                .build();
+    }
+}
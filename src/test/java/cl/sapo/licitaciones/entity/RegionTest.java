@@ -0,0 +1,41 @@
+package cl.sapo.licitaciones.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for Region alias and accent folding.
+ */
+class RegionTest {
+
+    @Test
+    void testResolveApiSpellings() {
+        assertThat(Region.resolve("Región Metropolitana de Santiago")).contains(Region.METROPOLITANA);
+        assertThat(Region.resolve("Metropolitana")).contains(Region.METROPOLITANA);
+        assertThat(Region.resolve("Región del Bío-Bío")).contains(Region.BIOBIO);
+        assertThat(Region.resolve("Región del Libertador General Bernardo O´Higgins")).contains(Region.OHIGGINS);
+        assertThat(Region.resolve("Región de Magallanes y de la Antártica")).contains(Region.MAGALLANES);
+        assertThat(Region.resolve("Extranjero")).isEmpty();
+        assertThat(Region.resolve(null)).isEmpty();
+    }
+
+    @Test
+    void testMatchingUserInput() {
+        assertThat(Region.matching("valparaiso")).containsExactly(Region.VALPARAISO);
+        assertThat(Region.matching("RM")).containsExactly(Region.METROPOLITANA);
+        assertThat(Region.matching("Región de Los Lagos")).containsExactly(Region.LOS_LAGOS);
+        assertThat(Region.matching("lagos")).containsExactly(Region.LOS_LAGOS);
+        assertThat(Region.matching("region")).hasSize(16);
+        assertThat(Region.matching("atlantida")).isEmpty();
+    }
+
+    @Test
+    void testCanonicalizeRegionOnEntity() {
+        Licitacion tender = Licitacion.builder().region("Región de Valparaíso").build();
+        tender.canonicalizeRegion();
+
+        assertThat(tender.getRegionId()).isEqualTo(5);
+        assertThat(tender.getRegion()).isEqualTo("Región de Valparaíso");
+    }
+}
@@ -0,0 +1,39 @@
+package cl.sapo.licitaciones.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for UNSPSC category derivation and prefix matching.
+ */
+class UnspscTest {
+
+    @Test
+    void testCategoryOf() {
+        assertThat(Unspsc.categoryOf("43211503", Unspsc.Level.SEGMENT)).isEqualTo(43);
+        assertThat(Unspsc.categoryOf("43211503", Unspsc.Level.FAMILY)).isEqualTo(4321);
+        assertThat(Unspsc.categoryOf(" 43211503 ", Unspsc.Level.CLASS)).isEqualTo(432115);
+        assertThat(Unspsc.categoryOf("4321", Unspsc.Level.SEGMENT)).isNull();
+        assertThat(Unspsc.categoryOf("ABC", Unspsc.Level.SEGMENT)).isNull();
+        assertThat(Unspsc.categoryOf(null, Unspsc.Level.SEGMENT)).isNull();
+    }
+
+    @Test
+    void testPrefixLevels() {
+        assertThat(Unspsc.Level.of("43")).isEqualTo(Unspsc.Level.SEGMENT);
+        assertThat(Unspsc.Level.of("432115")).isEqualTo(Unspsc.Level.CLASS);
+        assertThat(Unspsc.Level.of("43211503").child()).isNull();
+        assertThat(Unspsc.isValidPrefix("432")).isFalse();
+        assertThatThrownBy(() -> Unspsc.Level.of("4x")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testMatches() {
+        assertThat(Unspsc.matches("43211503", "4321")).isTrue();
+        assertThat(Unspsc.matches("43211503", "43211503")).isTrue();
+        assertThat(Unspsc.matches("43211503", "44")).isFalse();
+        assertThat(Unspsc.matches("4321", "43")).isFalse();
+    }
+}
@@ -0,0 +1,121 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.config.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ticket rotation, quotas and load balancing.
+ */
+class ApiTicketPoolTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-02T15:00:00Z"));
+
+    @Test
+    void testCallsAreSpreadAcrossTickets() {
+        ApiTicketPool pool = pool(List.of("a", "b", "c"), 100);
+        List<String> used = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            used.add(pool.call(Duration.ZERO, ticket -> ticket));
+        }
+        assertThat(used).containsExactly("a", "b", "c", "a", "b", "c");
+    }
+
+    @Test
+    void testAuthErrorTakesTicketOutOfRotation() {
+        ApiTicketPool pool = pool(List.of("a", "b"), 100);
+        assertThatThrownBy(() -> pool.call(Duration.ZERO, ticket -> {
+            throw HttpClientErrorException.create(HttpStatus.UNAUTHORIZED, "Unauthorized", null, null, null);
+        })).isInstanceOf(HttpClientErrorException.class);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(pool.<String>call(Duration.ZERO, ticket -> ticket)).isEqualTo("b");
+        }
+        assertThat(pool.status().get(0).inRotation()).isFalse();
+        assertThat(pool.status().get(0).outReason()).isEqualTo("auth");
+
+        clock.advance(Duration.ofHours(6));
+        assertThat(pool.status().get(0).inRotation()).isTrue();
+    }
+
+    @Test
+    void testDailyQuotaResetsNextDay() {
+        ApiTicketPool pool = pool(List.of("a"), 2);
+        pool.call(Duration.ZERO, ticket -> ticket);
+        pool.call(Duration.ZERO, ticket -> ticket);
+        assertThatThrownBy(() -> pool.call(Duration.ZERO, ticket -> ticket))
+                .isInstanceOf(ConcurrencyLimitExceededException.class);
+        assertThat(pool.status().get(0).outReason()).isEqualTo("quota");
+
+        clock.advance(Duration.ofDays(1));
+        assertThat(pool.<String>call(Duration.ZERO, ticket -> ticket)).isEqualTo("a");
+    }
+
+    @Test
+    void testClassifiesThrottleAndRequestErrors() {
+        byte[] simultaneous = "{\"Codigo\":10500,\"Mensaje\":\"peticiones simultaneas\"}".getBytes(StandardCharsets.UTF_8);
+        assertThat(ApiTicketPool.classify(HttpServerErrorException.create(
+                HttpStatus.INTERNAL_SERVER_ERROR, "Error", null, simultaneous, StandardCharsets.UTF_8))).isEqualTo("throttled");
+        assertThat(ApiTicketPool.classify(HttpClientErrorException.create(
+                HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null))).isEqualTo("throttled");
+        assertThat(ApiTicketPool.classify(HttpClientErrorException.create(
+                HttpStatus.FORBIDDEN, "Forbidden", null, null, null))).isEqualTo("auth");
+        assertThat(ApiTicketPool.classify(HttpClientErrorException.create(
+                HttpStatus.BAD_REQUEST, "Bad Request", null, null, null))).isEqualTo("rejected");
+        assertThat(ApiTicketPool.classify(HttpServerErrorException.create(
+                HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null))).isEqualTo("error");
+    }
+
+    @Test
+    void testRequiresTicket() {
+        assertThatThrownBy(() -> pool(List.of(), 100)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> pool(List.of("YOUR_API_KEY_HERE"), 100)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private ApiTicketPool pool(List<String> tickets, int dailyQuota) {
+        return new ApiTicketPool(tickets, new TenderMetrics(new SimpleMeterRegistry()), Duration.ZERO, dailyQuota,
+                Duration.ofMinutes(1), Duration.ofHours(6), 5, Duration.ofSeconds(30), clock);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("America/Santiago");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
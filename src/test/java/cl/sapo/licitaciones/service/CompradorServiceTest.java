@@ -0,0 +1,104 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.dto.CompradorDTO;
+import cl.sapo.licitaciones.entity.Comprador;
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.entity.Region;
+import cl.sapo.licitaciones.repository.CompradorRepository;
+import cl.sapo.licitaciones.repository.LicitacionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the buyer dimension.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CompradorServiceTest {
+
+    @Autowired
+    private CompradorService compradorService;
+
+    @Autowired
+    private CompradorRepository compradorRepository;
+
+    @Autowired
+    private LicitacionRepository licitacionRepository;
+
+    @AfterEach
+    void cleanup() {
+        licitacionRepository.deleteAll();
+        compradorRepository.deleteAll();
+    }
+
+    @Test
+    void testUpsertAllCreatesAndUpdatesBuyers() {
+        compradorService.upsert(new CompradorDTO("76.000.000-1", "Municipalidad", "Región de Valparaíso"));
+
+        compradorService.upsertAll(List.of(
+                new CompradorDTO("76.000.000-1", "Municipalidad de Viña del Mar", "Región de Valparaíso"),
+                new CompradorDTO("61.000.000-2", "Hospital", "Región del Biobío"),
+                new CompradorDTO(null, "Sin RUT", null)));
+
+        assertThat(compradorRepository.count()).isEqualTo(2);
+        Comprador updated = compradorRepository.findById("76.000.000-1").orElseThrow();
+        assertThat(updated.getNombre()).isEqualTo("Municipalidad de Viña del Mar");
+        assertThat(updated.getRegionId()).isEqualTo(Region.VALPARAISO.getId());
+        assertThat(compradorRepository.findById("61.000.000-2").orElseThrow().getRegionId())
+                .isEqualTo(Region.BIOBIO.getId());
+    }
+
+    @Test
+    void testRefreshCountsCountsPublishedTenders() {
+        compradorService.upsertAll(List.of(
+                new CompradorDTO("76.000.000-1", "Municipalidad", null),
+                new CompradorDTO("61.000.000-2", "Hospital", null)));
+        licitacionRepository.saveAll(List.of(
+                tender("T-1", "76.000.000-1", 5),
+                tender("T-2", "76.000.000-1", 5),
+                tender("T-3", "76.000.000-1", 6)));
+
+        compradorService.refreshCounts(List.of("76.000.000-1", "61.000.000-2"));
+
+        assertThat(compradorRepository.findById("76.000.000-1").orElseThrow().getOpenTenderCount()).isEqualTo(2);
+        assertThat(compradorRepository.findById("61.000.000-2").orElseThrow().getOpenTenderCount()).isZero();
+        assertThat(compradorService.getTopBuyers(10)).hasSize(1);
+    }
+
+    @Test
+    void testBackfillSeedsBuyersFromTenders() {
+        licitacionRepository.saveAll(List.of(
+                tender("T-1", "76.000.000-1", 5),
+                tender("T-2", "76.000.000-1", 5),
+                tender("T-3", "61.000.000-2", 5)));
+
+        compradorService.backfillBuyers();
+
+        assertThat(compradorRepository.findById("76.000.000-1").orElseThrow().getOpenTenderCount()).isEqualTo(2);
+        assertThat(compradorRepository.findById("61.000.000-2").orElseThrow().getOpenTenderCount()).isEqualTo(1);
+
+        // Only the first deployment seeds the dimension
+        licitacionRepository.save(tender("T-4", "99.000.000-3", 5));
+        compradorService.backfillBuyers();
+        assertThat(compradorRepository.existsById("99.000.000-3")).isFalse();
+    }
+
+    private static Licitacion tender(String code, String buyerRut, int status) {
+        return Licitacion.builder()
+                .codigoExterno(code)
+                .nombre("Tender " + code)
+                .codigoEstado(status)
+                .buyerRut(buyerRut)
+                .buyerName("Comprador " + buyerRut)
+                .fechaCierre(LocalDateTime.now().plusDays(5))
+                .build();
+    }
+}
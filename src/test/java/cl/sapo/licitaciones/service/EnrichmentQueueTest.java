@@ -0,0 +1,102 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.dto.LicitacionDTO;
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.entity.Suscripcion;
+import cl.sapo.licitaciones.repository.SuscripcionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the enrichment order.
+ */
+class EnrichmentQueueTest {
+
+    private final SuscripcionRepository suscripcionRepository = mock(SuscripcionRepository.class);
+    private final TenderInterest tenderInterest = new TenderInterest(Duration.ofHours(24));
+    private final EnrichmentQueue queue = new EnrichmentQueue(tenderInterest, suscripcionRepository);
+
+    @Test
+    void testUrgencyDecreasesWithTimeToClose() {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 2, 12, 0);
+        assertThat(EnrichmentQueue.urgency(now, now)).isEqualTo(1.0);
+        assertThat(EnrichmentQueue.urgency(now.plusDays(1), now)).isCloseTo(0.5, within(1e-9));
+        assertThat(EnrichmentQueue.urgency(now.plusDays(3), now)).isCloseTo(0.25, within(1e-9));
+        assertThat(EnrichmentQueue.urgency(now.minusHours(1), now)).isEqualTo(1.0);
+        assertThat(EnrichmentQueue.urgency(null, now)).isZero();
+    }
+
+    @Test
+    void testSoonestClosingFirstAndClosedDropped() {
+        LocalDateTime now = LocalDateTime.now();
+        submit(tender("later", "Sillas", now.plusDays(20)),
+                tender("closed", "Mesas", now.minusMinutes(5)),
+                tender("soon", "Papel", now.plusHours(6)));
+
+        assertThat(queue.size()).isEqualTo(3);
+        assertThat(drain()).containsExactly("soon", "later");
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testSavedSearchesAndViewsRaisePriority() {
+        LocalDateTime now = LocalDateTime.now();
+        when(suscripcionRepository.findAll()).thenReturn(List.of(
+                Suscripcion.builder().query("computadores").build()));
+        for (int i = 0; i < 15; i++) {
+            tenderInterest.recordView("viewed");
+        }
+
+        submit(tender("plain", "Sillas", now.plusDays(2)),
+                tender("subscribed", "Compra de computadores", now.plusDays(10)),
+                tender("viewed", "Mesas", now.plusDays(10)));
+
+        assertThat(drain()).containsExactly("viewed", "subscribed", "plain");
+    }
+
+    @Test
+    void testResubmittedTenderKeepsOneEntry() {
+        LocalDateTime now = LocalDateTime.now();
+        submit(tender("a", "Sillas", now.plusDays(5)));
+        submit(tender("a", "Sillas", now.plusDays(5)), tender("b", "Mesas", now.plusDays(1)));
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(drain()).containsExactly("b", "a");
+    }
+
+    private void submit(Licitacion... tenders) {
+        List<LicitacionDTO> dtos = new ArrayList<>();
+        for (Licitacion tender : tenders) {
+            dtos.add(new LicitacionDTO(tender.getCodigoExterno(), tender.getNombre(), null, 5,
+                    null, null, null, null, null));
+        }
+        queue.submit(dtos, List.of(tenders));
+    }
+
+    private List<String> drain() {
+        List<String> codes = new ArrayList<>();
+        LicitacionDTO dto;
+        while ((dto = queue.poll()) != null) {
+            codes.add(dto.codigoExterno());
+        }
+        return codes;
+    }
+
+    private static Licitacion tender(String code, String nombre, LocalDateTime fechaCierre) {
+        return Licitacion.builder()
+                .codigoExterno(code)
+                .nombre(nombre)
+                .codigoEstado(5)
+                .fechaCierre(fechaCierre)
+                .build();
+    }
+}
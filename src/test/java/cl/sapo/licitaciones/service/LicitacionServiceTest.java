@@ -77,4 +77,27 @@ class LicitacionServiceTest {
         // Cleanup
         licitacionRepository.deleteById("TEST-002");
     }
+
+    @Test
+    void testTendersByRegionAcceptAnySpellingOfTheRegion() {
+        Licitacion tender = Licitacion.builder()
+                .codigoExterno("TEST-003")
+                .nombre("Test Tender")
+                .codigoEstado(5)
+                .region("Región del Bío-Bío")
+                .fechaCierre(LocalDateTime.now().plusDays(5))
+                .build();
+
+        licitacionRepository.save(tender);
+
+        // Stored under the canonical name; old bookmarks and the API spelling still find it
+        assertThat(licitacionService.getTendersByRegion("Región del Biobío")).extracting(Licitacion::getCodigoExterno)
+                .containsExactly("TEST-003");
+        assertThat(licitacionService.getTendersByRegion("bio bio")).extracting(Licitacion::getCodigoExterno)
+                .containsExactly("TEST-003");
+        assertThat(licitacionService.getTendersByRegion("VIII")).extracting(Licitacion::getCodigoExterno)
+                .containsExactly("TEST-003");
+
+        licitacionRepository.deleteById("TEST-003");
+    }
 }
@@ -0,0 +1,104 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.config.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for read-through enrichment of queued tenders.
+ */
+class OnDemandEnrichmentServiceTest {
+
+    private final SyncService syncService = mock(SyncService.class);
+    private final EnrichmentQueue enrichmentQueue = mock(EnrichmentQueue.class);
+    private final OnDemandEnrichmentService service = new OnDemandEnrichmentService(
+            syncService, enrichmentQueue, new TenderMetrics(new SimpleMeterRegistry()), true, Duration.ofSeconds(1));
+
+    @Test
+    void testEnrichedTenderLeavesQueue() {
+        when(enrichmentQueue.contains("T-1")).thenReturn(true);
+        when(syncService.enrichTender("T-1", Duration.ofSeconds(1))).thenReturn(true);
+
+        assertThat(service.enrichIfPending("T-1")).isTrue();
+        verify(enrichmentQueue).remove("T-1");
+    }
+
+    @Test
+    void testTenderWithoutDetailLeavesQueue() {
+        when(enrichmentQueue.contains("T-1")).thenReturn(true);
+        when(syncService.enrichTender(anyString(), any())).thenReturn(false);
+
+        assertThat(service.enrichIfPending("T-1")).isFalse();
+        verify(enrichmentQueue).remove("T-1");
+    }
+
+    @Test
+    void testFailedCallKeepsTenderQueued() {
+        when(enrichmentQueue.contains("T-1")).thenReturn(true);
+        when(syncService.enrichTender(anyString(), any()))
+                .thenThrow(new UpstreamCallException("Tender detail request failed with status 500"));
+
+        assertThat(service.enrichIfPending("T-1")).isFalse();
+        verify(enrichmentQueue, never()).remove(anyString());
+    }
+
+    @Test
+    void testDeferredWhenApiBusy() {
+        when(enrichmentQueue.contains("T-1")).thenReturn(true);
+        when(syncService.enrichTender(anyString(), any()))
+                .thenThrow(new ConcurrencyLimitExceededException("No upstream permit available after PT1S"));
+
+        assertThat(service.enrichIfPending("T-1")).isFalse();
+        verify(enrichmentQueue, never()).remove(anyString());
+    }
+
+    @Test
+    void testTenderNotQueuedIsNotFetched() {
+        assertThat(service.enrichIfPending("T-1")).isFalse();
+        verify(syncService, never()).enrichTender(anyString(), any());
+    }
+
+    @Test
+    void testConcurrentRequestsShareOneCall() throws Exception {
+        CountDownLatch calling = new CountDownLatch(1);
+        CountDownLatch respond = new CountDownLatch(1);
+        when(enrichmentQueue.contains("T-1")).thenReturn(true);
+        when(syncService.enrichTender(anyString(), any())).thenAnswer(invocation -> {
+            calling.countDown();
+            respond.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> leader = executor.submit(() -> service.enrichIfPending("T-1"));
+            assertThat(calling.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Boolean> follower = executor.submit(() -> service.enrichIfPending("T-1"));
+            // Give the follower time to find the call in flight before it completes
+            Thread.sleep(100);
+            respond.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(syncService, times(1)).enrichTender(anyString(), any());
+    }
+}
@@ -0,0 +1,48 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.event.TendersChangedEvent;
+import cl.sapo.licitaciones.repository.LicitacionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the generation check of the search result cache.
+ */
+class SearchResultCacheTest {
+
+    private final SearchResultCache cache = new SearchResultCache(
+            mock(LicitacionRepository.class), new SimpleMeterRegistry(), 100, 200);
+
+    private final SearchResultCache.Key key = SearchResultCache.Key.of("aseo", null, null);
+
+    @Test
+    void testStoresResultOfCurrentGeneration() {
+        long generation = cache.currentGeneration();
+        cache.put(key, List.of("A", "B"), generation);
+
+        assertThat(cache.get(key)).containsExactly("A", "B");
+    }
+
+    @Test
+    void testDiscardsResultComputedBeforeInvalidation() {
+        long generation = cache.currentGeneration();
+        cache.onTendersChanged(TendersChangedEvent.bulk(TendersChangedEvent.ChangeType.EXPIRED));
+        cache.put(key, List.of("A"), generation);
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void testBulkChangeDropsEveryEntry() {
+        cache.put(key, List.of("A"), cache.currentGeneration());
+        cache.onTendersChanged(TendersChangedEvent.bulk(TendersChangedEvent.ChangeType.UPSERTED));
+
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.currentGeneration()).isEqualTo(1);
+    }
+}
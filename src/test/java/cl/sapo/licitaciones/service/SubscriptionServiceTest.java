@@ -0,0 +1,136 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.entity.ItemLicitacion;
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.entity.Suscripcion;
+import cl.sapo.licitaciones.event.TendersChangedEvent;
+import cl.sapo.licitaciones.event.TendersChangedEvent.ChangeType;
+import cl.sapo.licitaciones.repository.CoincidenciaSuscripcionRepository;
+import cl.sapo.licitaciones.repository.LicitacionRepository;
+import cl.sapo.licitaciones.repository.SuscripcionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for saved searches matched at ingest time.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SubscriptionServiceTest {
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private SuscripcionRepository suscripcionRepository;
+
+    @Autowired
+    private CoincidenciaSuscripcionRepository coincidenciaRepository;
+
+    @Autowired
+    private LicitacionRepository licitacionRepository;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @AfterEach
+    void cleanup() {
+        coincidenciaRepository.deleteAll();
+        suscripcionRepository.deleteAll();
+        licitacionRepository.deleteAll();
+        // Tenders are written through the repository (no sync events), so seeding searches stay cached
+        searchResultCache.invalidateAll();
+    }
+
+    @Test
+    void testCreateSeedsFeedWithCurrentMatches() {
+        licitacionRepository.saveAll(List.of(
+                tender("SUB-1", "Compra de computadores", null),
+                tender("SUB-2", "Servicio de aseo", null)));
+
+        Suscripcion suscripcion = subscriptionService.create("computadores", null, null);
+
+        assertThat(subscriptionService.getFeed(suscripcion.getId()))
+                .extracting(Licitacion::getCodigoExterno)
+                .containsExactly("SUB-1");
+    }
+
+    @Test
+    void testIngestAddsAndRemovesMatches() {
+        Suscripcion suscripcion = subscriptionService.create("notebook", null, "4321");
+        Licitacion tender = licitacionRepository.save(tender("SUB-3", "Adquisición de notebooks", "43211503"));
+
+        subscriptionService.onTendersChanged(TendersChangedEvent.of(ChangeType.ENRICHED, List.of("SUB-3")));
+        assertThat(coincidenciaRepository.findAllTenderCodes(suscripcion.getId())).containsExactly("SUB-3");
+
+        // Percolating again keeps a single match
+        subscriptionService.onTendersChanged(TendersChangedEvent.of(ChangeType.UPSERTED, List.of("SUB-3")));
+        assertThat(coincidenciaRepository.findAllTenderCodes(suscripcion.getId())).hasSize(1);
+
+        // No longer published: the match is dropped
+        tender.setCodigoEstado(6);
+        licitacionRepository.save(tender);
+        subscriptionService.onTendersChanged(TendersChangedEvent.of(ChangeType.UPSERTED, List.of("SUB-3")));
+        assertThat(coincidenciaRepository.findAllTenderCodes(suscripcion.getId())).isEmpty();
+    }
+
+    @Test
+    void testRemoteAndBulkUpsertsAreNotPercolated() {
+        Suscripcion suscripcion = subscriptionService.create("notebook", null, null);
+        licitacionRepository.save(tender("SUB-4", "Adquisición de notebooks", null));
+
+        // The node that ingested the tender writes the shared match table
+        subscriptionService.onTendersChanged(TendersChangedEvent.remote(ChangeType.UPSERTED, List.of("SUB-4")));
+        subscriptionService.onTendersChanged(TendersChangedEvent.bulk(ChangeType.UPSERTED));
+        assertThat(coincidenciaRepository.findAllTenderCodes(suscripcion.getId())).isEmpty();
+    }
+
+    @Test
+    void testDeletedTendersLeaveTheFeed() {
+        licitacionRepository.save(tender("SUB-5", "Adquisición de notebooks", null));
+        Suscripcion suscripcion = subscriptionService.create("notebook", null, null);
+        assertThat(coincidenciaRepository.findAllTenderCodes(suscripcion.getId())).containsExactly("SUB-5");
+
+        subscriptionService.onTendersChanged(TendersChangedEvent.of(ChangeType.DELETED, List.of("SUB-5")));
+        assertThat(coincidenciaRepository.findAllTenderCodes(suscripcion.getId())).isEmpty();
+    }
+
+    @Test
+    void testExpiredTendersLeaveTheFeed() {
+        Licitacion tender = licitacionRepository.save(tender("SUB-6", "Adquisición de notebooks", null));
+        licitacionRepository.save(tender("SUB-7", "Notebooks para escuelas", null));
+        Suscripcion suscripcion = subscriptionService.create("notebook", null, null);
+        assertThat(coincidenciaRepository.findAllTenderCodes(suscripcion.getId()))
+                .containsExactlyInAnyOrder("SUB-6", "SUB-7");
+
+        // Closed by the expiry ticker: the row stays, its match goes
+        tender.setCodigoEstado(6);
+        licitacionRepository.save(tender);
+        subscriptionService.onTendersChanged(TendersChangedEvent.of(ChangeType.EXPIRED, List.of("SUB-6")));
+        assertThat(coincidenciaRepository.findAllTenderCodes(suscripcion.getId())).containsExactly("SUB-7");
+        assertThat(subscriptionService.getFeed(suscripcion.getId()))
+                .extracting(Licitacion::getCodigoExterno)
+                .containsExactly("SUB-7");
+    }
+
+    private static Licitacion tender(String code, String nombre, String productCode) {
+        Licitacion tender = Licitacion.builder()
+                .codigoExterno(code)
+                .nombre(nombre)
+                .codigoEstado(5)
+                .fechaCierre(LocalDateTime.now().plusDays(5))
+                .build();
+        if (productCode != null) {
+            tender.addItem(ItemLicitacion.builder().productCode(productCode).productName(nombre).build());
+        }
+        return tender;
+    }
+}
@@ -0,0 +1,99 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.entity.ItemLicitacion;
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.entity.LicitacionArchivada;
+import cl.sapo.licitaciones.repository.LicitacionArchivadaRepository;
+import cl.sapo.licitaciones.repository.LicitacionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the batched archival of closed tenders (plain tables, as on H2).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TenderArchiveServiceTest {
+
+    @Autowired
+    private TenderArchiveService tenderArchiveService;
+
+    @Autowired
+    private LicitacionRepository licitacionRepository;
+
+    @Autowired
+    private LicitacionArchivadaRepository archiveRepository;
+
+    @AfterEach
+    void cleanup() {
+        archiveRepository.deleteAll();
+        licitacionRepository.deleteAll();
+    }
+
+    @Test
+    void testArchivesClosedTendersWithTheirItems() {
+        LocalDateTime now = LocalDateTime.now();
+        Licitacion closed = tender("ARC-1", 6, now.minusDays(2));
+        closed.addItem(ItemLicitacion.builder().productCode("43211503").productName("Notebook").build());
+        licitacionRepository.saveAll(List.of(closed,
+                tender("ARC-2", 5, now.minusHours(1)),
+                tender("ARC-3", 5, now.plusDays(3))));
+
+        TenderArchiveService.Result result = tenderArchiveService.archiveExpired(now);
+
+        assertThat(result.archived()).isEqualTo(2);
+        assertThat(result.deleted()).isEqualTo(2);
+        assertThat(result.watermark()).isEqualTo(now);
+        assertThat(licitacionRepository.findAll()).extracting(Licitacion::getCodigoExterno).containsExactly("ARC-3");
+
+        LicitacionArchivada archived = tenderArchiveService.findArchived("ARC-1").orElseThrow();
+        assertThat(archived.getItems()).hasSize(1);
+        assertThat(archived.getItems().get(0).productCode()).isEqualTo("43211503");
+        // Published past its close date: closed before it is archived
+        assertThat(tenderArchiveService.findArchived("ARC-2").orElseThrow().getCodigoEstado()).isEqualTo(6);
+    }
+
+    @Test
+    void testRerunArchivesOnlyNewlyClosedTenders() {
+        LocalDateTime now = LocalDateTime.now();
+        licitacionRepository.save(tender("ARC-4", 6, now.minusDays(1)));
+        tenderArchiveService.archiveExpired(now);
+
+        licitacionRepository.save(tender("ARC-5", 6, now.minusMinutes(5)));
+        TenderArchiveService.Result result = tenderArchiveService.archiveExpired(now);
+
+        assertThat(result.archived()).isEqualTo(1);
+        assertThat(archiveRepository.count()).isEqualTo(2);
+        assertThat(licitacionRepository.count()).isZero();
+    }
+
+    @Test
+    void testFindArchivedByCloseDateRange() {
+        LocalDateTime now = LocalDateTime.now();
+        licitacionRepository.saveAll(List.of(
+                tender("ARC-6", 6, now.minusDays(10)),
+                tender("ARC-7", 6, now.minusDays(2))));
+        tenderArchiveService.archiveExpired(now);
+
+        assertThat(tenderArchiveService.findArchived(now.minusDays(3).toLocalDate(), now.toLocalDate(), 0, 100))
+                .extracting(LicitacionArchivada::getCodigoExterno)
+                .containsExactly("ARC-7");
+    }
+
+    static Licitacion tender(String code, int status, LocalDateTime fechaCierre) {
+        return Licitacion.builder()
+                .codigoExterno(code)
+                .nombre("Tender " + code)
+                .codigoEstado(status)
+                .fechaCierre(fechaCierre)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.event.TenderChangeNotice;
+import cl.sapo.licitaciones.event.TendersChangedEvent;
+import cl.sapo.licitaciones.event.TendersChangedEvent.ChangeType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for turning notices into remote events and detecting lost notices.
+ */
+class TenderChangeListenerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<TendersChangedEvent> published = new ArrayList<>();
+    private final TenderChangeListener listener = new TenderChangeListener(
+            new DataSourceProperties(), objectMapper, event -> published.add((TendersChangedEvent) event));
+
+    @Test
+    void testConsecutiveNoticesArePublishedAsRemoteEvents() throws Exception {
+        listener.handle(notice(1, "other", List.of("A")));
+        listener.handle(notice(2, TenderChangeNotifier.NODE_ID, List.of("B")));
+        listener.handle(notice(3, "other", List.of("C")));
+        listener.handle(notice(3, "other", List.of("D")));
+
+        // Own notice skipped, chunks of the same generation are not a gap
+        assertThat(published).allMatch(TendersChangedEvent::remote);
+        assertThat(published).extracting(TendersChangedEvent::codigosExternos)
+                .containsExactly(Set.of("A"), Set.of("C"), Set.of("D"));
+        assertThat(listener.getLastGeneration()).isEqualTo(3);
+    }
+
+    @Test
+    void testSkippedGenerationTriggersResync() throws Exception {
+        listener.handle(notice(5, "other", List.of("A")));
+        listener.handle(notice(8, "other", List.of("B")));
+
+        assertThat(published).hasSize(3);
+        assertThat(published.get(1).isBulk()).isTrue();
+        assertThat(published.get(1).type()).isEqualTo(ChangeType.UPSERTED);
+        assertThat(published.get(2).codigosExternos()).containsExactly("B");
+    }
+
+    private String notice(long generation, String node, List<String> codes) throws Exception {
+        return objectMapper.writeValueAsString(new TenderChangeNotice(generation, node, ChangeType.UPSERTED, codes));
+    }
+}
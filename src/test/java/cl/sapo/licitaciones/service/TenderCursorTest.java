@@ -0,0 +1,43 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.entity.Licitacion;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for keyset cursor encoding and ordering.
+ */
+class TenderCursorTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        TenderCursor cursor = new TenderCursor(LocalDateTime.of(2025, 3, 1, 15, 30), "1234-5-LE25");
+        assertThat(TenderCursor.decode(cursor.encode())).isEqualTo(cursor);
+
+        TenderCursor withoutDate = new TenderCursor(null, "1234-5-LE25");
+        assertThat(TenderCursor.decode(withoutDate.encode())).isEqualTo(withoutDate);
+
+        assertThatThrownBy(() -> TenderCursor.decode("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testPrecedesFollowsSortOrder() {
+        Licitacion later = tender("B", LocalDateTime.of(2025, 6, 1, 0, 0));
+        Licitacion earlier = tender("A", LocalDateTime.of(2025, 5, 1, 0, 0));
+        Licitacion sameDate = tender("C", LocalDateTime.of(2025, 6, 1, 0, 0));
+
+        TenderCursor cursor = TenderCursor.after(later, "close_date");
+        assertThat(cursor.precedes(earlier, "close_date")).isTrue();
+        assertThat(cursor.precedes(sameDate, "close_date")).isTrue();
+        assertThat(cursor.precedes(later, "close_date")).isFalse();
+        assertThat(TenderCursor.order("close_date").compare(later, earlier)).isNegative();
+    }
+
+    private Licitacion tender(String codigo, LocalDateTime fechaCierre) {
+        return Licitacion.builder().codigoExterno(codigo).fechaCierre(fechaCierre).build();
+    }
+}
@@ -0,0 +1,112 @@
+package cl.sapo.licitaciones.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Properties;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for reading dump manifests and the startup import guards.
+ */
+class TenderDumpServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final DataSource dataSource = mock(DataSource.class);
+
+    @Test
+    void testReadsManifest() throws IOException {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 2, 15, 30);
+        Path dump = dump(TenderDumpService.manifest(new TenderDumpService.DumpInfo(createdAt, 120, 480)));
+
+        assertThat(service(dump).readInfo()).isEqualTo(new TenderDumpService.DumpInfo(createdAt, 120, 480));
+    }
+
+    @Test
+    void testRejectsDumpOfAnotherSchemaVersion() throws IOException {
+        Properties manifest = TenderDumpService.manifest(
+                new TenderDumpService.DumpInfo(LocalDateTime.of(2026, 3, 2, 15, 30), 1, 1));
+        manifest.setProperty("tender-columns", "external_code, name");
+        Path dump = dump(manifest);
+
+        assertThatThrownBy(() -> service(dump).readInfo()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testRejectsDumpWithoutManifest() throws IOException {
+        Path dump = dump(null);
+
+        assertThatThrownBy(() -> service(dump).readInfo()).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testNoDumpFile() throws Exception {
+        assertThat(service(null).readInfo()).isNull();
+
+        TenderDumpService service = service(directory.resolve("missing.zip"));
+        assertThat(service.readInfo()).isNull();
+        service.importIfEmpty();
+
+        assertThat(service.getLastImport()).isNull();
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void testNothingImportedIntoAnotherDatabase() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.isWrapperFor(any())).thenReturn(false);
+        when(dataSource.getConnection()).thenReturn(connection);
+        Path dump = dump(TenderDumpService.manifest(
+                new TenderDumpService.DumpInfo(LocalDateTime.now().minusHours(1), 10, 20)));
+        TenderDumpService service = service(dump);
+
+        assertThat(service.importDump(dump)).isNull();
+        service.importIfEmpty();
+
+        assertThat(service.getLastImport()).isNull();
+        verify(connection, never()).setAutoCommit(false);
+    }
+
+    private TenderDumpService service(Path path) {
+        return new TenderDumpService(dataSource, new TenderMetrics(new SimpleMeterRegistry()),
+                path == null ? "" : path.toString(), Duration.ofDays(7));
+    }
+
+    /**
+     * A dump file with the given manifest (none when null) and empty COPY entries.
+     */
+    private Path dump(Properties manifest) throws IOException {
+        Path dump = Files.createTempFile(directory, "tenders", ".zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(dump))) {
+            zip.putNextEntry(new ZipEntry(TenderDumpService.TENDERS_ENTRY));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry(TenderDumpService.ITEMS_ENTRY));
+            zip.closeEntry();
+            if (manifest != null) {
+                zip.putNextEntry(new ZipEntry(TenderDumpService.MANIFEST_ENTRY));
+                manifest.store(zip, null);
+                zip.closeEntry();
+            }
+        }
+        return dump;
+    }
+}
@@ -0,0 +1,29 @@
+package cl.sapo.licitaciones.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CSV value escaping.
+ */
+class TenderExportServiceTest {
+
+    @Test
+    void testFormulaPrefixesAreNeutralized() {
+        assertThat(TenderExportService.csvValue("=1+1")).isEqualTo("'=1+1");
+        assertThat(TenderExportService.csvValue("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(TenderExportService.csvValue("\t=1+1")).isEqualTo("'\t=1+1");
+        assertThat(TenderExportService.csvValue("\r=1+1")).isEqualTo("\"'\r=1+1\"");
+        // Only text is neutralized: a negative amount stays a number
+        assertThat(TenderExportService.csvValue(-5)).isEqualTo("-5");
+    }
+
+    @Test
+    void testQuoting() {
+        assertThat(TenderExportService.csvValue(null)).isEmpty();
+        assertThat(TenderExportService.csvValue("Aseo")).isEqualTo("Aseo");
+        assertThat(TenderExportService.csvValue("Sillas, mesas")).isEqualTo("\"Sillas, mesas\"");
+        assertThat(TenderExportService.csvValue("Pulgadas \"32\"")).isEqualTo("\"Pulgadas \"\"32\"\"\"");
+    }
+}
@@ -0,0 +1,73 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.dto.CompradorDTO;
+import cl.sapo.licitaciones.dto.ItemDTO;
+import cl.sapo.licitaciones.dto.ItemsContainerDTO;
+import cl.sapo.licitaciones.dto.LicitacionDTO;
+import cl.sapo.licitaciones.entity.Licitacion;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for API timestamp parsing and DTO mapping.
+ */
+class TenderMapperTest {
+
+    private final TenderMapper mapper = new TenderMapper();
+
+    @Test
+    void testParseDateTimeWithVariablePrecision() {
+        LocalDateTime expected = LocalDateTime.of(2025, 3, 14, 15, 30, 45);
+        assertThat(mapper.parseDateTime("2025-03-14T15:30:45")).isEqualTo(expected);
+        assertThat(mapper.parseDateTime("2025-03-14T15:30:45.17")).isEqualTo(expected);
+        assertThat(mapper.parseDateTime("2025-03-14T15:30:45.173")).isEqualTo(expected);
+        assertThat(mapper.parseDateTime("2024-02-29T00:00:00")).isEqualTo(LocalDateTime.of(2024, 2, 29, 0, 0));
+    }
+
+    @Test
+    void testParseDateTimeRejectsInvalidInput() {
+        assertThat(mapper.parseDateTime(null)).isNull();
+        assertThat(mapper.parseDateTime("")).isNull();
+        assertThat(mapper.parseDateTime("2025-03-14")).isNull();
+        assertThat(mapper.parseDateTime("2025-03-14 15:30:45")).isNull();
+        assertThat(mapper.parseDateTime("2025-13-14T15:30:45")).isNull();
+        assertThat(mapper.parseDateTime("2025-02-29T15:30:45")).isNull();
+        assertThat(mapper.parseDateTime("2025-03-14T24:00:00")).isNull();
+        assertThat(mapper.parseDateTime("2025-03-14T15:30:45.")).isNull();
+        assertThat(mapper.parseDateTime("2025-03-14T15:30:45.1a")).isNull();
+        assertThat(mapper.parseDateTime("2025-03-14T15:30:45Z")).isNull();
+        assertThat(mapper.parseDateTime("20x5-03-14T15:30:45")).isNull();
+    }
+
+    @Test
+    void testToValidEntityMapsPublishedOpenTendersOnly() {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 12, 0);
+        List<ItemDTO> items = List.of(
+                new ItemDTO("43211503", "Notebook", "Equipo portátil", 10, "Unidad"),
+                new ItemDTO("44121701", "Lápices", null, 200, "Caja"));
+        LicitacionDTO open = tender(5, "2025-03-14T15:30:45.17", items);
+
+        Licitacion licitacion = mapper.toValidEntity(open, now);
+        assertThat(licitacion).isNotNull();
+        assertThat(licitacion.getFechaCierre()).isEqualTo(LocalDateTime.of(2025, 3, 14, 15, 30, 45));
+        assertThat(licitacion.getFechaPublicacion()).isEqualTo(LocalDateTime.of(2025, 2, 20, 9, 0));
+        assertThat(licitacion.getBuyerRut()).isEqualTo("61.234.567-8");
+        assertThat(licitacion.getItems()).hasSize(2)
+                .allSatisfy(item -> assertThat(item.getLicitacion()).isSameAs(licitacion));
+
+        assertThat(mapper.toValidEntity(tender(6, "2025-03-14T15:30:45", items), now)).isNull();
+        assertThat(mapper.toValidEntity(tender(5, "2025-02-28T15:30:45", items), now)).isNull();
+        assertThat(mapper.toValidEntity(tender(5, "not a date", items), now)).isNull();
+    }
+
+    private LicitacionDTO tender(int codigoEstado, String fechaCierre, List<ItemDTO> items) {
+        return new LicitacionDTO("1234-5-LE25", "Compra de equipos", "Descripción", codigoEstado,
+                fechaCierre, "2025-02-20T09:00:00.5", null,
+                new CompradorDTO("61.234.567-8", "Municipalidad de Ñuñoa", "Región Metropolitana de Santiago"),
+                new ItemsContainerDTO(items.size(), items));
+    }
+}
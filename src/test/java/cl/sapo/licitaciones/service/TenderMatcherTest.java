@@ -0,0 +1,82 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.entity.ItemLicitacion;
+import cl.sapo.licitaciones.entity.Licitacion;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for TenderMatcher (in-memory equivalent of LicitacionSpecs).
+ */
+class TenderMatcherTest {
+
+    @Test
+    void testNormalizeRemovesAccentsAndCase() {
+        assertThat(TenderMatcher.normalize("  Región de VALPARAÍSO ")).isEqualTo("region de valparaiso");
+        assertThat(TenderMatcher.normalize("   ")).isNull();
+        assertThat(TenderMatcher.normalize(null)).isNull();
+    }
+
+    @Test
+    void testMatchesTextInNameAndItems() {
+        Licitacion tender = Licitacion.builder()
+                .codigoExterno("TEST-001")
+                .nombre("Servicio de aseo")
+                .codigoEstado(5)
+                .region("Región Metropolitana de Santiago")
+                .build();
+        tender.canonicalizeRegion();
+        tender.addItem(ItemLicitacion.builder().productName("Computadores portátiles").build());
+
+        assertThat(TenderMatcher.matches(tender, TenderMatcher.normalize("ASEO"), null)).isTrue();
+        assertThat(TenderMatcher.matches(tender, TenderMatcher.normalize("portatiles"), null)).isTrue();
+        assertThat(TenderMatcher.matches(tender, null, TenderMatcher.normalize("metropolitana"))).isTrue();
+        assertThat(TenderMatcher.matches(tender, TenderMatcher.normalize("impresoras"), null)).isFalse();
+        assertThat(TenderMatcher.matches(tender, null, TenderMatcher.normalize("Biobío"))).isFalse();
+    }
+
+    @Test
+    void testOnlyPublishedTendersMatch() {
+        Licitacion tender = Licitacion.builder()
+                .codigoExterno("TEST-002")
+                .nombre("Servicio de aseo")
+                .codigoEstado(6)
+                .build();
+
+        assertThat(TenderMatcher.matches(tender, null, null)).isFalse();
+    }
+
+    @Test
+    void testMatchesSubscriptionFilters() {
+        Licitacion tender = Licitacion.builder()
+                .codigoExterno("TEST-003")
+                .nombre("Adquisición de equipos")
+                .codigoEstado(5)
+                .region("Región de Valparaíso")
+                .build();
+        tender.canonicalizeRegion();
+        tender.addItem(ItemLicitacion.builder().productCode("43211503").productName("Notebook").build());
+
+        // Query, region and UNSPSC prefix must all match, as for a saved search
+        assertThat(TenderMatcher.matches(tender, TenderMatcher.normalize("notebook"),
+                TenderMatcher.normalize("Valparaiso"), "4321")).isTrue();
+        assertThat(TenderMatcher.matches(tender, null, null, "43211503")).isTrue();
+        assertThat(TenderMatcher.matches(tender, TenderMatcher.normalize("notebook"), null, "4411")).isFalse();
+        assertThat(TenderMatcher.matches(tender, TenderMatcher.normalize("notebook"),
+                TenderMatcher.normalize("Biobío"), "4321")).isFalse();
+    }
+
+    @Test
+    void testProductFilterNeedsItems() {
+        Licitacion tender = Licitacion.builder()
+                .codigoExterno("TEST-004")
+                .nombre("Adquisición de equipos")
+                .codigoEstado(5)
+                .build();
+
+        // Not enriched yet: no items to match a product code against
+        assertThat(TenderMatcher.matches(tender, null, null, "43")).isFalse();
+        assertThat(TenderMatcher.matches(tender, null, null, null)).isTrue();
+    }
+}
@@ -0,0 +1,76 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.event.TendersChangedEvent;
+import cl.sapo.licitaciones.repository.LicitacionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static cl.sapo.licitaciones.service.TenderSnapshotTest.tender;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for loading and patching the read model on change events.
+ */
+class TenderReadModelTest {
+
+    private final LicitacionRepository repository = mock(LicitacionRepository.class);
+
+    @Test
+    void testDisabledModelServesNothing() {
+        TenderReadModel model = new TenderReadModel(repository, false);
+        model.onApplicationReady();
+
+        assertThat(model.current()).isNull();
+    }
+
+    @Test
+    void testAppliesUpsertsAndDeletes() {
+        when(repository.findAllWithItemsByCodigoEstado(5)).thenReturn(List.of(
+                tender("A", "Servicio de aseo", null, 5, 1, 1),
+                tender("B", "Compra de sillas", null, 5, 2, 2)));
+        TenderReadModel model = new TenderReadModel(repository, true);
+        model.onApplicationReady();
+        assertThat(model.current().size()).isEqualTo(2);
+
+        when(repository.findAllWithItemsByCodigoExternoIn(Set.of("A", "C"))).thenReturn(List.of(
+                tender("A", "Servicio de aseo y ornato", null, 5, 1, 1),
+                tender("C", "Compra de mesas", null, 5, 3, 3)));
+        model.onTendersChanged(TendersChangedEvent.of(TendersChangedEvent.ChangeType.UPSERTED, List.of("A", "C")));
+        assertThat(model.current().find("A").orElseThrow().getNombre()).isEqualTo("Servicio de aseo y ornato");
+        assertThat(model.current().find("C")).isPresent();
+
+        model.onTendersChanged(TendersChangedEvent.of(TendersChangedEvent.ChangeType.DELETED, List.of("B")));
+        assertThat(model.current().find("B")).isEmpty();
+        assertThat(model.current().size()).isEqualTo(2);
+    }
+
+    @Test
+    void testUpsertedCodeMissingFromDatabaseIsRemoved() {
+        when(repository.findAllWithItemsByCodigoEstado(5)).thenReturn(List.of(tender("A", "Uno", null, 5, 1, 1)));
+        TenderReadModel model = new TenderReadModel(repository, true);
+        model.onApplicationReady();
+
+        when(repository.findAllWithItemsByCodigoExternoIn(any())).thenReturn(List.<Licitacion>of());
+        model.onTendersChanged(TendersChangedEvent.of(TendersChangedEvent.ChangeType.ENRICHED, List.of("A")));
+
+        assertThat(model.current().size()).isZero();
+    }
+
+    @Test
+    void testFailedPatchDropsSnapshot() {
+        when(repository.findAllWithItemsByCodigoEstado(5)).thenReturn(List.of(tender("A", "Uno", null, 5, 1, 1)));
+        TenderReadModel model = new TenderReadModel(repository, true);
+        model.onApplicationReady();
+
+        when(repository.findAllWithItemsByCodigoExternoIn(any())).thenThrow(new IllegalStateException("down"));
+        model.onTendersChanged(TendersChangedEvent.of(TendersChangedEvent.ChangeType.UPSERTED, List.of("A")));
+
+        assertThat(model.current()).isNull();
+    }
+}
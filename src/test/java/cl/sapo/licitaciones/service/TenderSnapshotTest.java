@@ -0,0 +1,123 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.entity.ItemLicitacion;
+import cl.sapo.licitaciones.entity.Licitacion;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the immutable read model snapshot.
+ */
+class TenderSnapshotTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 12, 0);
+
+    @Test
+    void testOnlyPublishedTendersAreKept() {
+        TenderSnapshot snapshot = TenderSnapshot.of(List.of(
+                tender("A", "Servicio de aseo", "Región de Valparaíso", 5, 3, 1),
+                tender("B", "Compra de sillas", "Región de Valparaíso", 6, 4, 2)));
+
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(snapshot.find("A")).isPresent();
+        assertThat(snapshot.find("B")).isEmpty();
+    }
+
+    @Test
+    void testFindReturnsDetachedCopy() {
+        Licitacion source = tender("A", "Servicio de aseo", null, 5, 3, 1);
+        source.addItem(ItemLicitacion.builder().productName("Detergente").build());
+        TenderSnapshot snapshot = TenderSnapshot.of(List.of(source));
+
+        source.setNombre("Cambiado");
+        Licitacion found = snapshot.find("A").orElseThrow();
+        assertThat(found).isNotSameAs(source);
+        assertThat(found.getNombre()).isEqualTo("Servicio de aseo");
+        assertThat(found.getItems()).extracting(ItemLicitacion::getProductName).containsExactly("Detergente");
+    }
+
+    @Test
+    void testSearchFiltersByTextRegionAndProduct() {
+        Licitacion withItem = tender("C", "Adquisición", "Región Metropolitana de Santiago", 5, 1, 3);
+        withItem.addItem(ItemLicitacion.builder().productCode("43211503").productName("Computadores portátiles").build());
+        TenderSnapshot snapshot = TenderSnapshot.of(List.of(
+                tender("A", "Servicio de aseo", "Región de Valparaíso", 5, 3, 1),
+                tender("B", "Aseo de oficinas", "Región Metropolitana de Santiago", 5, 2, 2),
+                withItem));
+
+        assertThat(codes(snapshot.search(TenderMatcher.normalize("ASEO"), null, null, null))).containsExactly("A", "B");
+        assertThat(codes(snapshot.search(null, TenderMatcher.normalize("metropolitana"), null, null)))
+                .containsExactly("B", "C");
+        assertThat(codes(snapshot.search(TenderMatcher.normalize("portatiles"), null, null, null))).containsExactly("C");
+        assertThat(codes(snapshot.search(null, null, "4321", null))).containsExactly("C");
+        assertThat(snapshot.search(TenderMatcher.normalize("impresoras"), null, null, null)).isEmpty();
+    }
+
+    @Test
+    void testSortsByCloseOrCreationDateDescending() {
+        TenderSnapshot snapshot = TenderSnapshot.of(List.of(
+                tender("A", "Uno", null, 5, 1, 1),
+                tender("B", "Dos", null, 5, 3, 3),
+                tender("C", "Tres", null, 5, 2, 2)));
+
+        assertThat(codes(snapshot.search(null, null, null, null))).containsExactly("B", "C", "A");
+        assertThat(codes(snapshot.search(null, null, null, "creation_date"))).containsExactly("A", "C", "B");
+    }
+
+    @Test
+    void testWithChangesReplacesAndRemoves() {
+        TenderSnapshot snapshot = TenderSnapshot.of(List.of(
+                tender("A", "Servicio de aseo", null, 5, 3, 1),
+                tender("B", "Compra de sillas", null, 5, 2, 2),
+                tender("C", "Compra de mesas", null, 5, 1, 3)));
+
+        TenderSnapshot patched = snapshot.withChanges(
+                List.of(tender("A", "Servicio de aseo y ornato", null, 5, 3, 1),
+                        tender("C", "Compra de mesas", null, 6, 1, 3),
+                        tender("D", "Arriendo", null, 5, 4, 4)),
+                List.of("B"));
+
+        assertThat(codes(patched.search(null, null, null, null))).containsExactly("D", "A");
+        assertThat(patched.find("A").orElseThrow().getNombre()).isEqualTo("Servicio de aseo y ornato");
+        // The original snapshot is untouched
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.find("A").orElseThrow().getNombre()).isEqualTo("Servicio de aseo");
+    }
+
+    @Test
+    void testFindAllInOrderSkipsUnknownCodes() {
+        TenderSnapshot snapshot = TenderSnapshot.of(List.of(
+                tender("A", "Uno", null, 5, 1, 1),
+                tender("B", "Dos", null, 5, 2, 2)));
+
+        assertThat(codes(snapshot.findAllInOrder(List.of("B", "X", "A")))).containsExactly("B", "A");
+    }
+
+    @Test
+    void testCanServeRejectsLikeWildcards() {
+        assertThat(TenderSnapshot.canServe("aseo", null)).isTrue();
+        assertThat(TenderSnapshot.canServe("100%", null)).isFalse();
+        assertThat(TenderSnapshot.canServe(null, "region_x")).isFalse();
+    }
+
+    private static List<String> codes(List<Licitacion> tenders) {
+        return tenders.stream().map(Licitacion::getCodigoExterno).toList();
+    }
+
+    static Licitacion tender(String code, String nombre, String region, int status, int closeInDays, int createdDaysAgo) {
+        Licitacion tender = Licitacion.builder()
+                .codigoExterno(code)
+                .nombre(nombre)
+                .region(region)
+                .codigoEstado(status)
+                .fechaCierre(NOW.plusDays(closeInDays))
+                .createdAt(NOW.minusDays(createdDaysAgo))
+                .build();
+        tender.canonicalizeRegion();
+        return tender;
+    }
+}
@@ -0,0 +1,213 @@
+package cl.sapo.licitaciones.service;
+
+import cl.sapo.licitaciones.dto.TenderSummaryDTO;
+import cl.sapo.licitaciones.entity.Licitacion;
+import cl.sapo.licitaciones.event.TendersChangedEvent;
+import cl.sapo.licitaciones.repository.LicitacionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the SSE fan-out: replay, per-client queues and client removal.
+ */
+class TenderStreamServiceTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\d+)");
+
+    private final LicitacionRepository repository = mock(LicitacionRepository.class);
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final TenderStreamService service = new TenderStreamService(
+            repository, mock(TenderReadModel.class), 100, 10, 2, () -> {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            });
+
+    TenderStreamServiceTest() {
+        when(repository.findAllWithItemsByCodigoExternoIn(any())).thenAnswer(invocation -> {
+            Collection<String> codes = invocation.getArgument(0);
+            return codes.stream().sorted().map(TenderStreamServiceTest::tender).toList();
+        });
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testReconnectingClientReceivesMissedEvents() {
+        service.subscribe(null, null, null, null);
+        RecordingEmitter first = emitters.get(0);
+        publish("T-1");
+        publish("T-2");
+        awaitUntil(() -> first.codes.size() == 2);
+
+        // Reconnects after T-1: T-2 is replayed, then live events follow
+        service.subscribe(null, null, null, first.ids.get(0));
+        RecordingEmitter second = emitters.get(1);
+        publish("T-3");
+        awaitUntil(() -> second.codes.size() == 2 && first.codes.size() == 3);
+
+        assertThat(second.codes).containsExactly("T-2", "T-3");
+        assertThat(first.codes).containsExactly("T-1", "T-2", "T-3");
+    }
+
+    @Test
+    void testReplayLargerThanQueueIsDeliveredAndFiltered() {
+        service.subscribe(null, null, null, null);
+        RecordingEmitter first = emitters.get(0);
+        for (int i = 1; i <= 5; i++) {
+            publish("T-" + i);
+            int sent = i;
+            awaitUntil(() -> first.codes.size() == sent);
+        }
+
+        // Five missed events with a queue of 2: none is lost and the client stays connected
+        service.subscribe(null, null, null, 0L);
+        service.subscribe("T-4", null, null, 0L);
+        awaitUntil(() -> emitters.get(1).codes.size() == 5 && emitters.get(2).codes.size() == 1);
+
+        assertThat(emitters.get(1).codes).containsExactly("T-1", "T-2", "T-3", "T-4", "T-5");
+        assertThat(emitters.get(2).codes).containsExactly("T-4");
+        assertThat(service.getClientCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testClientIsRemovedOnCompletionAndError() {
+        service.subscribe(null, null, null, null);
+        service.subscribe(null, null, null, null);
+        assertThat(service.getClientCount()).isEqualTo(2);
+
+        emitters.get(0).completion.run();
+        assertThat(service.getClientCount()).isEqualTo(1);
+
+        emitters.get(1).error.accept(new IOException("Broken pipe"));
+        assertThat(service.getClientCount()).isZero();
+    }
+
+    @Test
+    void testFailedSendDropsClient() {
+        service.subscribe(null, null, null, null);
+        emitters.get(0).failure = new IOException("Broken pipe");
+
+        publish("T-1");
+
+        awaitUntil(() -> service.getClientCount() == 0);
+    }
+
+    @Test
+    void testSlowClientIsDroppedWithoutDelayingOthers() {
+        service.subscribe(null, null, null, null);
+        service.subscribe(null, null, null, null);
+        RecordingEmitter slow = emitters.get(0);
+        RecordingEmitter fast = emitters.get(1);
+        CountDownLatch stuck = new CountDownLatch(1);
+        slow.gate = stuck;
+
+        // The slow client's queue (2 events) overflows while it is stuck in a send,
+        // the fast one keeps up with every event
+        for (int i = 1; i <= 5; i++) {
+            publish("T-" + i);
+            int sent = i;
+            awaitUntil(() -> fast.codes.size() == sent);
+        }
+        awaitUntil(() -> service.getClientCount() == 1);
+        assertThat(fast.codes).containsExactly("T-1", "T-2", "T-3", "T-4", "T-5");
+        stuck.countDown();
+    }
+
+    private void publish(String code) {
+        service.onTendersChanged(TendersChangedEvent.of(TendersChangedEvent.ChangeType.UPSERTED, List.of(code)));
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private static Licitacion tender(String code) {
+        return Licitacion.builder()
+                .codigoExterno(code)
+                .nombre("Tender " + code)
+                .codigoEstado(5)
+                .fechaCierre(LocalDateTime.now().plusDays(5))
+                .build();
+    }
+
+    /**
+     * Emitter that records what is sent instead of writing to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final List<Long> ids = new CopyOnWriteArrayList<>();
+        final List<String> codes = new CopyOnWriteArrayList<>();
+        volatile CountDownLatch gate;
+        volatile IOException failure;
+        Runnable completion;
+        Consumer<Throwable> error;
+
+        // SseEmitter.send(SseEventBuilder) does not go through the overridable send(Set)
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            for (ResponseBodyEmitter.DataWithMediaType item : builder.build()) {
+                if (item.getData() instanceof TenderSummaryDTO dto) {
+                    codes.add(dto.codigoExterno());
+                } else if (item.getData() instanceof String text) {
+                    Matcher id = EVENT_ID.matcher(text);
+                    if (id.find()) {
+                        ids.add(Long.parseLong(id.group(1)));
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completion = callback;
+        }
+
+        @Override
+        public void onError(Consumer<Throwable> callback) {
+            error = callback;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package cl.sapo.licitaciones.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the hierarchical timing wheel.
+ */
+class TimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    void testKeysFireAtTheirDeadlineNotBefore() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 0);
+        wheel.schedule("soon", 5_500);
+        wheel.schedule("later", 70 * TICK);
+        wheel.schedule("past", -1);
+
+        assertThat(wheel.advance(0)).containsExactly("past");
+        assertThat(wheel.advance(5_000)).isEmpty();
+        assertThat(wheel.advance(6_000)).containsExactly("soon");
+        assertThat(wheel.advance(69 * TICK)).isEmpty();
+        assertThat(wheel.advance(70 * TICK)).containsExactly("later");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void testRescheduleAndCancel() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 0);
+        wheel.schedule("a", 10 * TICK);
+        wheel.schedule("b", 10 * TICK);
+        wheel.schedule("a", 20 * TICK);
+        assertThat(wheel.cancel("b")).isTrue();
+        assertThat(wheel.cancel("missing")).isFalse();
+
+        assertThat(wheel.advance(10 * TICK)).isEmpty();
+        assertThat(wheel.advance(20 * TICK)).containsExactly("a");
+    }
+
+    @Test
+    void testFarDeadlinesCascadeThroughAllLevels() {
+        long start = 1_700_000_000_000L;
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, start);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            // Up to ~300 days ahead: beyond the top level (64^4 seconds, ~194 days)
+            long deadline = start + (long) (random.nextDouble() * 300L * 24 * 3600 * TICK);
+            deadlines.add(deadline);
+            wheel.schedule(i, deadline);
+        }
+
+        long now = start;
+        long step = 3_600 * TICK + 17;
+        int fired = 0;
+        while (wheel.size() > 0) {
+            now += step;
+            for (int key : wheel.advance(now)) {
+                long deadline = deadlines.get(key);
+                assertThat(deadline).isLessThanOrEqualTo(now);
+                assertThat(deadline).isGreaterThan(now - step - TICK);
+                fired++;
+            }
+        }
+        assertThat(fired).isEqualTo(2_000);
+    }
+}